@@ -0,0 +1,200 @@
+package scotch.benchmark;
+
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import scotch.compiler.ClassLoaderResolver;
+import scotch.compiler.Compiler;
+import scotch.compiler.output.GeneratedClass;
+import scotch.compiler.parser.InputParser;
+import scotch.compiler.scanner.Scanner;
+import scotch.compiler.steps.BytecodeGenerator;
+import scotch.compiler.steps.DependencyAccumulator;
+import scotch.compiler.steps.NameAccumulator;
+import scotch.compiler.steps.OperatorAccumulator;
+import scotch.compiler.steps.PrecedenceParser;
+import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
+import scotch.compiler.steps.TypeChecker;
+import scotch.compiler.syntax.definition.DefinitionGraph;
+
+/**
+ * Measures each compiler phase in isolation: the graph produced by the preceding phases is rebuilt before every
+ * invocation, since phases record names and types into shared scopes.
+ */
+@BenchmarkMode(AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompilerBenchmark {
+
+    private static final URI SOURCE = URI.create("benchmark://synthetic");
+
+    @Benchmark
+    public DefinitionGraph parseInput(Source source) {
+        return new InputParser(source.resolver, Scanner.forString(SOURCE, source.lines)).parse();
+    }
+
+    @Benchmark
+    public DefinitionGraph accumulateOperators(ParsedInput input) {
+        return new OperatorAccumulator(input.graph).accumulateOperators();
+    }
+
+    @Benchmark
+    public DefinitionGraph parsePrecedence(AccumulatedOperators input) {
+        return new PrecedenceParser(input.graph).parsePrecedence();
+    }
+
+    @Benchmark
+    public DefinitionGraph accumulateNames(ParsedPrecedence input) {
+        return new NameAccumulator(input.graph).accumulateNames();
+    }
+
+    @Benchmark
+    public DefinitionGraph qualifyNames(AccumulatedNames input) {
+        return new ScopedNameQualifier(input.graph).qualifyNames();
+    }
+
+    @Benchmark
+    public DefinitionGraph accumulateDependencies(QualifiedNames input) {
+        return new DependencyAccumulator(input.graph).accumulateDependencies();
+    }
+
+    @Benchmark
+    public DefinitionGraph checkTypes(AccumulatedDependencies input) {
+        return new TypeChecker(input.graph).checkTypes();
+    }
+
+    @Benchmark
+    public DefinitionGraph analyzeStrictness(CheckedTypes input) {
+        return new StrictnessAnalyzer(input.graph).analyzeStrictness();
+    }
+
+    @Benchmark
+    public List<GeneratedClass> generateBytecode(AnalyzedStrictness input) {
+        return new BytecodeGenerator(input.graph).generateBytecode();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Source {
+
+        @Param({ "100", "1000", "10000" })
+        public int definitions;
+
+        private String[]            lines;
+        private ClassLoaderResolver resolver;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            lines = SyntheticModule.lines("scotch.benchmark.synthetic", definitions);
+            resolver = new ClassLoaderResolver(Optional.empty(), CompilerBenchmark.class.getClassLoader());
+        }
+
+        protected Compiler compiler() {
+            return Compiler.compiler(resolver, SOURCE, lines);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ParsedInput {
+
+        private DefinitionGraph graph;
+
+        @Setup(Level.Invocation)
+        public void setUp(Source source) {
+            graph = source.compiler().parseInput();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AccumulatedOperators {
+
+        private DefinitionGraph graph;
+
+        @Setup(Level.Invocation)
+        public void setUp(Source source) {
+            graph = source.compiler().accumulateOperators();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ParsedPrecedence {
+
+        private DefinitionGraph graph;
+
+        @Setup(Level.Invocation)
+        public void setUp(Source source) {
+            graph = source.compiler().parsePrecedence();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AccumulatedNames {
+
+        private DefinitionGraph graph;
+
+        @Setup(Level.Invocation)
+        public void setUp(Source source) {
+            graph = source.compiler().accumulateNames();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class QualifiedNames {
+
+        private DefinitionGraph graph;
+
+        @Setup(Level.Invocation)
+        public void setUp(Source source) {
+            graph = source.compiler().qualifyNames();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AccumulatedDependencies {
+
+        private DefinitionGraph graph;
+
+        @Setup(Level.Invocation)
+        public void setUp(Source source) {
+            graph = source.compiler().accumulateDependencies();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CheckedTypes {
+
+        private DefinitionGraph graph;
+
+        @Setup(Level.Invocation)
+        public void setUp(Source source) {
+            graph = source.compiler().checkTypes();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AnalyzedStrictness {
+
+        private DefinitionGraph graph;
+
+        @Setup(Level.Invocation)
+        public void setUp(Source source) {
+            graph = source.compiler().analyzeStrictness();
+        }
+    }
+}
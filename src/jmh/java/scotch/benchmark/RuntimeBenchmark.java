@@ -0,0 +1,150 @@
+package scotch.benchmark;
+
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+import static scotch.runtime.IntThunk.intValue;
+import static scotch.runtime.RuntimeSupport.box;
+import static scotch.runtime.RuntimeSupport.unboxInt;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import scotch.compiler.ClassLoaderResolver;
+import scotch.compiler.Compiler;
+import scotch.data.eq.Eq;
+import scotch.data.eq.EqInt;
+import scotch.data.list.ConsList;
+import scotch.data.list.ConsList.ConsCell;
+import scotch.data.num.Num;
+import scotch.data.num.NumInt;
+import scotch.runtime.Applicable;
+import scotch.runtime.Callable;
+import scotch.runtime.SuppliedThunk;
+
+/**
+ * Measures the runtime support used by generated code: thunk evaluation, list traversal and type class dispatch.
+ */
+@BenchmarkMode(AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class RuntimeBenchmark {
+
+    private static final URI SOURCE = URI.create("benchmark://dispatch");
+
+    @Param({ "1000" })
+    public int size;
+
+    @Param({ "200000" })
+    public int chainLength;
+
+    @Param({ "100" })
+    public int count;
+
+    private Callable<Integer>            evaluatedThunk;
+    private Callable<ConsList<Integer>>  list;
+    private Callable<Integer>            one;
+    private Callable<Integer>            two;
+    private Callable<Eq<Integer>>        eqInstance;
+    private Callable<Num<Integer>>       numInstance;
+    private Applicable<Integer, Integer> compiledSum;
+    private Callable<Integer>            compiledSumArgument;
+
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        evaluatedThunk = new SuppliedThunk<>(() -> 42);
+        evaluatedThunk.call();
+        list = ConsList.empty();
+        for (int i = size; i > 0; i--) {
+            list = box(new ConsCell<>(box(i), list));
+        }
+        one = box(1);
+        two = box(2);
+        eqInstance = (Callable) EqInt.instance();
+        numInstance = (Callable) NumInt.instance();
+        compiledSum = compile(
+            "module scotch.benchmark.dispatch",
+            "import scotch.data.eq",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "sumTo :: (Eq a, Num a) => a -> a -> a",
+            "sumTo n acc = if n == 0 then acc else sumTo (n - 1) (acc + n)",
+            "",
+            "run :: Int -> Int",
+            "run n = sumTo n 0"
+        );
+        compiledSumArgument = box(count);
+    }
+
+    @Benchmark
+    public Integer thunkCall_evaluated() {
+        return evaluatedThunk.call();
+    }
+
+    @Benchmark
+    public Integer thunkCall_unevaluated() {
+        return new SuppliedThunk<>(() -> 42).call();
+    }
+
+    @Benchmark
+    public int deepArithmeticChain() {
+        NumInt num = (NumInt) numInstance.call();
+        Callable<Integer> chain = intValue(0);
+        for (int i = 0; i < chainLength; i++) {
+            chain = num.add(chain, intValue(1));
+        }
+        return unboxInt(chain);
+    }
+
+    @Benchmark
+    public int consListTraversal() {
+        int sum = 0;
+        ConsList<Integer> cell = list.call();
+        while (cell instanceof ConsCell) {
+            sum += ((ConsCell<Integer>) cell).getHead().call();
+            cell = ((ConsCell<Integer>) cell).getTail().call();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Boolean eqDispatch() {
+        Applicable<Integer, Applicable<Integer, Boolean>> eq = Eq.<Integer>eq().apply(eqInstance).call();
+        return eq.apply(one).call().apply(two).call();
+    }
+
+    @Benchmark
+    public Integer numDispatch() {
+        Applicable<Integer, Applicable<Integer, Integer>> add = Num.<Integer>add().apply(numInstance).call();
+        return add.apply(one).call().apply(two).call();
+    }
+
+    // applies the compiled function on each call, since a constant such as run = sumTo 100 0 would be memoized
+    @Benchmark
+    public Integer compiledDispatch() {
+        return compiledSum.apply(compiledSumArgument).call();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Applicable<Integer, Integer> compile(String... lines) throws ReflectiveOperationException {
+        ClassLoaderResolver resolver = new ClassLoaderResolver(Optional.empty(), RuntimeBenchmark.class.getClassLoader());
+        resolver.defineAll(Compiler.compiler(resolver, SOURCE, lines).generateBytecode());
+        return (Applicable<Integer, Integer>) resolver.loadClass("scotch.benchmark.dispatch.$$Module")
+            .getMethod("run")
+            .invoke(null);
+    }
+}
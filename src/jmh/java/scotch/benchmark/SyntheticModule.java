@@ -0,0 +1,50 @@
+package scotch.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates source for benchmarking the compiler. Definitions are split into modules of at most 1000 definitions so
+ * no single generated module class exceeds the class file limits.
+ */
+public final class SyntheticModule {
+
+    private static final int DEFINITIONS_PER_MODULE = 1000;
+
+    public static String[] lines(String moduleName, int definitions) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < definitions; i++) {
+            if (i % DEFINITIONS_PER_MODULE == 0) {
+                lines.add("module " + moduleName + (i / DEFINITIONS_PER_MODULE));
+                lines.add("import scotch.data.eq");
+                lines.add("import scotch.data.int");
+                lines.add("import scotch.data.num");
+                lines.add("import scotch.data.ord");
+                lines.add("");
+            }
+            String name = "def" + i;
+            String previous = "def" + (i - 1);
+            switch (i % 4) {
+                case 0:
+                    lines.add(name + " :: Int -> Int");
+                    lines.add(name + " x = x + " + i);
+                    break;
+                case 1:
+                    lines.add(name + " 0 = 1");
+                    lines.add(name + " n = n * " + previous + " (n - 1)");
+                    break;
+                case 2:
+                    lines.add(name + " x y = if x <= y then " + previous + " x else y - x");
+                    break;
+                default:
+                    lines.add(name + " = " + previous + " " + i + " " + (i * 2));
+                    break;
+            }
+        }
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    private SyntheticModule() {
+        // intentionally empty
+    }
+}
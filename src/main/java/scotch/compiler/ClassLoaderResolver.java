@@ -2,18 +2,25 @@ package scotch.compiler;
 
 import static java.lang.management.ManagementFactory.getRuntimeMXBean;
 import static java.util.regex.Pattern.compile;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static scotch.symbol.Symbol.getPackageName;
 import static scotch.symbol.Symbol.getPackagePath;
 import static scotch.symbol.Symbol.toJavaName;
+import static scotch.symbol.SymbolIndex.symbolIndex;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -21,10 +28,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import scotch.compiler.output.GeneratedClass;
 import scotch.symbol.Symbol;
@@ -32,6 +44,7 @@ import scotch.symbol.Symbol.QualifiedSymbol;
 import scotch.symbol.Symbol.SymbolVisitor;
 import scotch.symbol.Symbol.UnqualifiedSymbol;
 import scotch.symbol.SymbolEntry;
+import scotch.symbol.SymbolIndex;
 import scotch.symbol.SymbolResolver;
 import scotch.symbol.descriptor.TypeInstanceDescriptor;
 import scotch.symbol.descriptor.TypeParameterDescriptor;
@@ -41,6 +54,12 @@ import scotch.symbol.type.Type;
 
 public class ClassLoaderResolver extends URLClassLoader implements SymbolResolver {
 
+    private static final Pattern classEntryPattern = compile("(.+)/([^\\./]+)\\.class");
+
+    static {
+        registerAsParallelCapable();
+    }
+
     public static ClassLoaderResolver resolver(Optional<File> optionalOutputPath) {
         return new ClassLoaderResolver(optionalOutputPath, ClassLoaderResolver.class.getClassLoader());
     }
@@ -54,6 +73,9 @@ public class ClassLoaderResolver extends URLClassLoader implements SymbolResolve
     private final Map<List<TypeParameterDescriptor>, Set<TypeInstanceDescriptor>>              typeInstancesByArguments;
     private final Map<String, Set<TypeInstanceDescriptor>>                                     typeInstancesByModule;
     private final Map<String, Set<Class<?>>>                                                   definedClasses;
+    private final Map<String, Set<String>>                                                     modulesByPackage;
+    private final Map<URL, Map<String, List<String>>>                                          jarIndexes;
+    private final ConcurrentMap<String, CompletableFuture<Void>>                               loadedModules;
 
     public ClassLoaderResolver(Optional<File> optionalOutputPath, ClassLoader parent) {
         this(optionalOutputPath, new URL[0], parent);
@@ -62,19 +84,24 @@ public class ClassLoaderResolver extends URLClassLoader implements SymbolResolve
     public ClassLoaderResolver(Optional<File> optionalOutputPath, URL[] urls, ClassLoader parent) {
         super(urls, parent);
         this.optionalOutputPath = optionalOutputPath;
-        this.namedSymbols = new HashMap<>();
-        this.searchedClasses = new HashSet<>();
-        this.searchedUrls = new HashSet<>();
-        this.typeInstances = new HashMap<>();
-        this.typeInstancesByClass = new HashMap<>();
-        this.typeInstancesByArguments = new HashMap<>();
-        this.typeInstancesByModule = new HashMap<>();
-        this.definedClasses = new HashMap<>();
+        this.namedSymbols = new ConcurrentHashMap<>();
+        this.searchedClasses = newKeySet();
+        this.searchedUrls = newKeySet();
+        this.typeInstances = new ConcurrentHashMap<>();
+        this.typeInstancesByClass = new ConcurrentHashMap<>();
+        this.typeInstancesByArguments = new ConcurrentHashMap<>();
+        this.typeInstancesByModule = new ConcurrentHashMap<>();
+        this.definedClasses = new ConcurrentHashMap<>();
+        this.modulesByPackage = new ConcurrentHashMap<>();
+        this.jarIndexes = new ConcurrentHashMap<>();
+        this.loadedModules = new ConcurrentHashMap<>();
     }
 
     public Class<?> define(GeneratedClass generatedClass) {
         writeClass(generatedClass);
-        return define_(generatedClass);
+        Class<?> clazz = define_(generatedClass);
+        scanDefined(ImmutableList.of(clazz));
+        return clazz;
     }
 
     private void writeClass(GeneratedClass generatedClass) {
@@ -85,16 +112,24 @@ public class ClassLoaderResolver extends URLClassLoader implements SymbolResolve
         byte[] bytes = generatedClass.getBytes();
         Class<?> clazz = defineClass(generatedClass.getClassName(), bytes, 0, bytes.length);
         definedClasses
-            .computeIfAbsent(clazz.getName().replace(Pattern.quote("." + clazz.getSimpleName()) + "$", ""), k -> new HashSet<>())
+            .computeIfAbsent(clazz.getName().substring(0, clazz.getName().lastIndexOf('.')), k -> newKeySet())
             .add(clazz);
         return clazz;
     }
 
     public List<Class<?>> defineAll(List<GeneratedClass> generatedClasses) {
         generatedClasses.forEach(this::writeClass);
-        return generatedClasses.stream()
+        List<Class<?>> classes = generatedClasses.stream()
             .map(this::define_)
             .collect(toList());
+        scanDefined(classes);
+        return classes;
+    }
+
+    public void defineIndex(SymbolIndex index) {
+        optionalOutputPath.ifPresent(outputPath -> writeResource(index.getResourceName(), index.toBytes(), outputPath));
+        search(index.getModuleName());
+        register(index);
     }
 
     @Override
@@ -103,6 +138,22 @@ public class ClassLoaderResolver extends URLClassLoader implements SymbolResolve
         return Optional.ofNullable(namedSymbols.get(symbol));
     }
 
+    public String getSignature(String moduleName) {
+        search(moduleName);
+        return Stream.concat(
+            namedSymbols.values().stream()
+                .filter(entry -> isFrom(entry.getSymbol(), moduleName))
+                .map(entry -> entry.getSymbol()
+                    + " " + entry.getValue().map(Object::toString).orElse("")
+                    + " " + entry.getValueMethod().map(Object::toString).orElse("")
+                    + " " + entry.getOperator().map(operator -> operator.getFixity() + " " + operator.getPrecedence()).orElse("")
+                    + " " + entry.getDataType().map(Object::toString).orElse("")
+                    + " " + entry.getTypeClass().map(Object::toString).orElse("")),
+            typeInstancesByModule.getOrDefault(moduleName, ImmutableSet.of()).stream()
+                .map(Object::toString)
+        ).sorted().collect(joining("\n"));
+    }
+
     @Override
     public Set<TypeInstanceDescriptor> getTypeInstances(Symbol symbol, List<Type> types) {
         search(symbol);
@@ -115,6 +166,17 @@ public class ClassLoaderResolver extends URLClassLoader implements SymbolResolve
             .orElse(ImmutableSet.of());
     }
 
+    public SymbolIndex index(String moduleName) {
+        search(moduleName);
+        return symbolIndex(
+            moduleName,
+            namedSymbols.values().stream()
+                .filter(entry -> isFrom(entry.getSymbol(), moduleName))
+                .collect(toList()),
+            typeInstancesByModule.getOrDefault(moduleName, ImmutableSet.of())
+        );
+    }
+
     @Override
     public Set<TypeInstanceDescriptor> getTypeInstancesByModule(String moduleName) {
         search(moduleName);
@@ -131,6 +193,10 @@ public class ClassLoaderResolver extends URLClassLoader implements SymbolResolve
         return files == null ? new File[0] : files;
     }
 
+    private boolean isFrom(Symbol symbol, String moduleName) {
+        return symbol instanceof QualifiedSymbol && ((QualifiedSymbol) symbol).getModuleName().equals(moduleName);
+    }
+
     private boolean parametersMatch(List<TypeParameterDescriptor> parameters, List<Type> types) {
         if (parameters.size() == types.size()) {
             for (int i = 0; i < parameters.size(); i++) {
@@ -151,28 +217,28 @@ public class ClassLoaderResolver extends URLClassLoader implements SymbolResolve
         }
     }
 
-    private List<Class<?>> resolveClasses(URL resource, String packagePath) {
+    private List<Class<?>> resolveClasses(URL jar, String packagePath) {
         List<Class<?>> classes = new ArrayList<>();
-        try (ZipInputStream zipStream = new ZipInputStream(resource.openStream())) {
-            ZipEntry entry;
-            while (null != (entry = zipStream.getNextEntry())) {
-                try {
-                    if (!entry.isDirectory()) {
-                        String name = entry.getName();
-                        Pattern pattern = compile("(" + packagePath + "/[^\\./]+)\\.class");
-                        Matcher matcher = pattern.matcher(name);
-                        if (matcher.find()) {
-                            resolveClass(matcher.group(1).replace('/', '.')).ifPresent(classes::add);
-                        }
-                    }
-                } finally {
-                    zipStream.closeEntry();
-                }
-            }
-        } catch (IOException exception) {
+        jarIndexes.computeIfAbsent(jar, this::indexJar)
+            .getOrDefault(packagePath, ImmutableList.of())
+            .forEach(className -> resolveClass(className).ifPresent(classes::add));
+        return classes;
+    }
+
+    private Map<String, List<String>> indexJar(URL jar) {
+        Map<String, List<String>> index = new HashMap<>();
+        try (ZipFile zipFile = new ZipFile(new File(jar.toURI()))) {
+            zipFile.stream()
+                .filter(entry -> !entry.isDirectory())
+                .map(entry -> classEntryPattern.matcher(entry.getName()))
+                .filter(Matcher::matches)
+                .forEach(matcher -> index
+                    .computeIfAbsent(matcher.group(1), k -> new ArrayList<>())
+                    .add(matcher.group(1).replace('/', '.') + '.' + matcher.group(2)));
+        } catch (IOException | URISyntaxException exception) {
             throw new SymbolResolutionError(exception);
         }
-        return classes;
+        return index;
     }
 
     private List<Class<?>> resolveClasses(File directory, String packageName) {
@@ -205,13 +271,45 @@ public class ClassLoaderResolver extends URLClassLoader implements SymbolResolve
     }
 
     private void search(String moduleName) {
-        List<Class<?>> classes = new ArrayList<>();
+        CompletableFuture<Void> load = new CompletableFuture<>();
+        CompletableFuture<Void> existingLoad = loadedModules.putIfAbsent(moduleName, load);
+        if (existingLoad == null) {
+            try {
+                load(moduleName);
+                load.complete(null);
+            } catch (RuntimeException | Error exception) {
+                loadedModules.remove(moduleName, load);
+                load.completeExceptionally(exception);
+                throw exception;
+            }
+        } else {
+            awaitLoad(existingLoad);
+        }
+    }
+
+    private void awaitLoad(CompletableFuture<Void> load) {
         try {
+            load.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof Error) {
+                throw (Error) exception.getCause();
+            } else {
+                throw exception;
+            }
+        }
+    }
+
+    private void load(String moduleName) {
+        modulesByPackage.computeIfAbsent(toJavaName(moduleName), k -> newKeySet()).add(moduleName);
+        List<Class<?>> classes = new ArrayList<>(definedClasses.getOrDefault(toJavaName(moduleName), ImmutableSet.of()));
+        try {
+            Set<String> indexedPackages = searchIndexes(moduleName);
             Enumeration<URL> resources = getResources(getPackagePath(moduleName));
             while (resources.hasMoreElements()) {
                 URL resource = resources.nextElement();
-                if (!searchedUrls.contains(resource)) {
+                if (indexedPackages.contains(trimSlash(resource.toString()))) {
                     searchedUrls.add(resource);
+                } else if (searchedUrls.add(resource)) {
                     if (resource.getFile().contains("!")) {
                         String path = new File(resource.getFile()).getPath();
                         classes.addAll(resolveClasses(new URL(path.substring(0, path.indexOf('!'))), getPackagePath(moduleName)));
@@ -220,33 +318,84 @@ public class ClassLoaderResolver extends URLClassLoader implements SymbolResolve
                     }
                 }
             }
-            Optional
-                .ofNullable(definedClasses.get(toJavaName(moduleName)))
-                .ifPresent(cs -> cs.forEach(classes::add));
         } catch (IOException exception) {
             throw new SymbolResolutionError(exception);
         }
-        classes.removeIf(c -> searchedClasses.contains(c.getName()));
-        classes.stream().map(Class::getName).forEach(searchedClasses::add);
-        new ModuleScanner(moduleName, classes).scan().into((entries, instances) -> {
-            entries.forEach(entry -> namedSymbols.put(entry.getSymbol(), entry));
-            instances.forEach(typeInstance -> {
-                typeInstances
-                    .computeIfAbsent(typeInstance.getTypeClass(), k -> new HashMap<>())
-                    .computeIfAbsent(typeInstance.getParameters(), k -> new HashSet<>())
-                    .add(typeInstance);
-                typeInstancesByClass.computeIfAbsent(typeInstance.getTypeClass(), k -> new HashSet<>()).add(typeInstance);
-                typeInstancesByArguments.computeIfAbsent(typeInstance.getParameters(), k -> new HashSet<>()).add(typeInstance);
-                typeInstancesByModule.computeIfAbsent(typeInstance.getModuleName(), k -> new HashSet<>()).add(typeInstance);
+        scan(moduleName, classes);
+    }
+
+    // classes defined after their module was loaded are scanned here, once, so searching the module stays a lookup;
+    // classes defined before it was loaded are scanned by the load
+    private void scanDefined(List<Class<?>> classes) {
+        classes.stream()
+            .collect(groupingBy(clazz -> clazz.getName().substring(0, clazz.getName().lastIndexOf('.'))))
+            .forEach((packageName, packageClasses) -> modulesByPackage.getOrDefault(packageName, ImmutableSet.of()).forEach(moduleName -> {
+                CompletableFuture<Void> load = loadedModules.get(moduleName);
+                if (load != null) {
+                    awaitLoad(load);
+                    scan(moduleName, packageClasses);
+                }
+            }));
+    }
+
+    private void scan(String moduleName, Collection<Class<?>> classes) {
+        List<Class<?>> unscannedClasses = classes.stream()
+            .filter(clazz -> searchedClasses.add(clazz.getName()))
+            .collect(toList());
+        if (!unscannedClasses.isEmpty()) {
+            new ModuleScanner(moduleName, unscannedClasses).scan().into((entries, instances) -> {
+                entries.forEach(entry -> namedSymbols.putIfAbsent(entry.getSymbol(), entry));
+                register(instances);
+                return null;
             });
-            return null;
+        }
+    }
+
+    private Set<String> searchIndexes(String moduleName) throws IOException {
+        Set<String> indexedPackages = new HashSet<>();
+        Enumeration<URL> indexes = getResources(SymbolIndex.getResourceName(moduleName));
+        while (indexes.hasMoreElements()) {
+            URL index = indexes.nextElement();
+            String url = index.toString();
+            indexedPackages.add(url.substring(0, url.length() - SymbolIndex.FILE_NAME.length() - 1));
+            if (searchedUrls.add(index)) {
+                try (InputStream inputStream = index.openStream()) {
+                    register(SymbolIndex.read(inputStream));
+                }
+            }
+        }
+        return indexedPackages;
+    }
+
+    private String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private void register(SymbolIndex index) {
+        index.getEntries().forEach(entry -> namedSymbols.put(entry.getSymbol(), entry));
+        register(index.getTypeInstances());
+    }
+
+    private void register(Collection<TypeInstanceDescriptor> instances) {
+        instances.forEach(typeInstance -> {
+            typeInstances
+                .computeIfAbsent(typeInstance.getTypeClass(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(typeInstance.getParameters(), k -> newKeySet())
+                .add(typeInstance);
+            typeInstancesByClass.computeIfAbsent(typeInstance.getTypeClass(), k -> newKeySet()).add(typeInstance);
+            typeInstancesByArguments.computeIfAbsent(typeInstance.getParameters(), k -> newKeySet()).add(typeInstance);
+            typeInstancesByModule.computeIfAbsent(typeInstance.getModuleName(), k -> newKeySet()).add(typeInstance);
         });
     }
 
     private void writeClass(GeneratedClass generatedClass, byte[] bytes, File outputPath) {
-        File file = new File(outputPath, generatedClass.getClassName().replace('.', '/') + ".class");
+        writeResource(generatedClass.getClassName().replace('.', '/') + ".class", bytes, outputPath);
+    }
+
+    private void writeResource(String resourceName, byte[] bytes, File outputPath) {
+        File file = new File(outputPath, resourceName);
         if (!file.getParentFile().mkdirs() && !file.getParentFile().exists()) {
-            throw new RuntimeException("Can't define " + generatedClass.getClassName()
+            throw new RuntimeException("Can't write " + resourceName
                 + ", directory " + file.getParentFile() + " could not be created");
         }
         try (OutputStream classFile = new FileOutputStream(file)) {
@@ -0,0 +1,223 @@
+package scotch.compiler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toSet;
+import static scotch.compiler.Compiler.compiler;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import com.google.common.collect.ImmutableSet;
+import scotch.compiler.output.GeneratedClass;
+import scotch.compiler.output.GeneratedClass.ClassType;
+import scotch.compiler.steps.BytecodeGenerator;
+import scotch.compiler.syntax.definition.DefinitionEntry;
+import scotch.compiler.syntax.definition.DefinitionGraph;
+import scotch.compiler.syntax.definition.Import;
+import scotch.compiler.syntax.definition.ModuleDefinition;
+import scotch.symbol.Symbol;
+import scotch.symbol.SymbolIndex;
+import scotch.symbol.exception.SymbolIndexError;
+
+// Generated classes are keyed by the source text and the signatures of the modules it imports, so a change to the
+// body of an imported module does not invalidate its dependents. The symbol index of each compiled module is stored
+// alongside its classes and defined in the resolver whether the entry is hit or missed, because the resolver can't
+// recover the symbols of compiled Scotch modules from their classes.
+public class CompilationCache {
+
+    private static final int VERSION = 6;
+
+    public static CompilationCache compilationCache(File directory) {
+        return new CompilationCache(directory, true, ImmutableSet.of(), BytecodeGenerator.DEFAULT_SPECIALIZATION_BUDGET, false);
+    }
+
+    private final File        directory;
+    private final boolean     memoizeConstants;
+    private final Set<Symbol> unmemoizedConstants;
+    private final int         specializationBudget;
+    private final boolean     inlineCaches;
+
+    private CompilationCache(File directory, boolean memoizeConstants, Set<Symbol> unmemoizedConstants, int specializationBudget, boolean inlineCaches) {
+        this.directory = directory;
+        this.memoizeConstants = memoizeConstants;
+        this.unmemoizedConstants = ImmutableSet.copyOf(unmemoizedConstants);
+        this.specializationBudget = specializationBudget;
+        this.inlineCaches = inlineCaches;
+    }
+
+    public List<GeneratedClass> generateBytecode(ClassLoaderResolver resolver, URI source, String... lines) {
+        DefinitionGraph graph = compiler(resolver, source, lines).parseInput();
+        if (graph.hasErrors()) {
+            return compiler(resolver, source, lines).generateBytecode();
+        } else {
+            File file = new File(directory, key(resolver, graph, source, lines) + ".classes");
+            Entry entry = read(file).orElseGet(() -> {
+                Entry compiled = compile(resolver, source, lines);
+                write(file, compiled);
+                return compiled;
+            });
+            entry.indexes.forEach(resolver::defineIndex);
+            return entry.generatedClasses;
+        }
+    }
+
+    public CompilationCache withInlineCaches(boolean inlineCaches) {
+        return new CompilationCache(directory, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
+
+    public CompilationCache withMemoizedConstants(boolean memoizeConstants) {
+        return new CompilationCache(directory, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
+
+    public CompilationCache withUnmemoizedConstants(Set<Symbol> unmemoizedConstants) {
+        return new CompilationCache(directory, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
+
+    public CompilationCache withSpecializationBudget(int specializationBudget) {
+        return new CompilationCache(directory, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
+
+    private Entry compile(ClassLoaderResolver resolver, URI source, String[] lines) {
+        Compiler compiler = compiler(resolver, source, lines)
+            .withMemoizedConstants(memoizeConstants)
+            .withUnmemoizedConstants(unmemoizedConstants)
+            .withSpecializationBudget(specializationBudget)
+            .withInlineCaches(inlineCaches);
+        DefinitionGraph graph = compiler.analyzeStrictness();
+        return new Entry(compiler.generateBytecode(graph), compiler.indexModules(graph));
+    }
+
+    private String key(ClassLoaderResolver resolver, DefinitionGraph graph, URI source, String[] lines) {
+        List<ModuleDefinition> modules = graph.stream()
+            .map(DefinitionEntry::getDefinition)
+            .filter(definition -> definition instanceof ModuleDefinition)
+            .map(definition -> (ModuleDefinition) definition)
+            .collect(toCollection(ArrayList::new));
+        Set<String> definedModules = modules.stream()
+            .map(ModuleDefinition::getSymbol)
+            .collect(toSet());
+        Set<String> importedModules = modules.stream()
+            .flatMap(module -> module.getImports().stream())
+            .map(Import::getModuleName)
+            .filter(moduleName -> !definedModules.contains(moduleName))
+            .collect(toCollection(TreeSet::new));
+        MessageDigest digest = sha256();
+        update(digest, String.valueOf(VERSION));
+        update(digest, String.valueOf(memoizeConstants));
+        for (String constant : unmemoizedConstants.stream().map(Symbol::getCanonicalName).collect(toCollection(TreeSet::new))) {
+            update(digest, constant);
+        }
+        update(digest, String.valueOf(specializationBudget));
+        update(digest, String.valueOf(inlineCaches));
+        update(digest, source.toString());
+        for (String line : lines) {
+            update(digest, line);
+        }
+        for (String moduleName : importedModules) {
+            update(digest, moduleName);
+            update(digest, resolver.getSignature(moduleName));
+        }
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    private Optional<Entry> read(File file) {
+        if (file.isFile()) {
+            try (DataInputStream input = new DataInputStream(new FileInputStream(file))) {
+                if (input.readInt() == VERSION) {
+                    List<GeneratedClass> generatedClasses = new ArrayList<>();
+                    int classCount = input.readInt();
+                    for (int i = 0; i < classCount; i++) {
+                        ClassType type = ClassType.valueOf(input.readUTF());
+                        String className = input.readUTF();
+                        byte[] bytes = new byte[input.readInt()];
+                        input.readFully(bytes);
+                        generatedClasses.add(new GeneratedClass(type, className, bytes));
+                    }
+                    List<SymbolIndex> indexes = new ArrayList<>();
+                    int indexCount = input.readInt();
+                    for (int i = 0; i < indexCount; i++) {
+                        byte[] bytes = new byte[input.readInt()];
+                        input.readFully(bytes);
+                        indexes.add(SymbolIndex.read(new ByteArrayInputStream(bytes)));
+                    }
+                    return Optional.of(new Entry(generatedClasses, indexes));
+                }
+            } catch (IOException | IllegalArgumentException | SymbolIndexError exception) {
+                // unreadable entries are treated as misses and overwritten
+            }
+        }
+        return Optional.empty();
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    private void write(File file, Entry entry) {
+        if (!directory.mkdirs() && !directory.exists()) {
+            throw new RuntimeException("Can't write compilation cache, directory " + directory + " could not be created");
+        }
+        try {
+            File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+            try (DataOutputStream output = new DataOutputStream(new FileOutputStream(temporaryFile))) {
+                output.writeInt(VERSION);
+                output.writeInt(entry.generatedClasses.size());
+                for (GeneratedClass generatedClass : entry.generatedClasses) {
+                    output.writeUTF(generatedClass.getType().name());
+                    output.writeUTF(generatedClass.getClassName());
+                    output.writeInt(generatedClass.getBytes().length);
+                    output.write(generatedClass.getBytes());
+                }
+                output.writeInt(entry.indexes.size());
+                for (SymbolIndex index : entry.indexes) {
+                    byte[] bytes = index.toBytes();
+                    output.writeInt(bytes.length);
+                    output.write(bytes);
+                }
+            }
+            Files.move(temporaryFile.toPath(), file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    private static final class Entry {
+
+        private final List<GeneratedClass> generatedClasses;
+        private final List<SymbolIndex>    indexes;
+
+        private Entry(List<GeneratedClass> generatedClasses, List<SymbolIndex> indexes) {
+            this.generatedClasses = generatedClasses;
+            this.indexes = indexes;
+        }
+    }
+}
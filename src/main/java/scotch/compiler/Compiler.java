@@ -1,7 +1,12 @@
 package scotch.compiler;
 
+import static java.util.stream.Collectors.toList;
+import static scotch.symbol.SymbolIndex.symbolIndex;
+
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
+import com.google.common.collect.ImmutableSet;
 import scotch.compiler.error.CompileException;
 import scotch.compiler.output.GeneratedClass;
 import scotch.compiler.steps.BytecodeGenerator;
@@ -10,38 +15,72 @@ import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.OperatorAccumulator;
 import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
 import scotch.compiler.parser.InputParser;
 import scotch.compiler.scanner.Scanner;
+import scotch.symbol.Symbol;
+import scotch.symbol.SymbolIndex;
 import scotch.symbol.SymbolResolver;
+import scotch.compiler.syntax.definition.DefinitionEntry;
 import scotch.compiler.syntax.definition.DefinitionGraph;
+import scotch.compiler.syntax.definition.ModuleDefinition;
+import scotch.compiler.syntax.scope.ModuleScope;
 
-// TODO multiple file compilation
-// TODO incremental compilation
 public class Compiler {
 
     public static Compiler compiler(SymbolResolver symbolResolver, URI source, String... lines) {
-        return new Compiler(symbolResolver, Scanner.forString(source, lines));
+        return new Compiler(symbolResolver, Scanner.forString(source, lines), true, ImmutableSet.of(), BytecodeGenerator.DEFAULT_SPECIALIZATION_BUDGET, false);
     }
 
     private final SymbolResolver symbolResolver;
     private final Scanner        scanner;
+    private final boolean        memoizeConstants;
+    private final Set<Symbol>    unmemoizedConstants;
+    private final int            specializationBudget;
+    private final boolean        inlineCaches;
 
-    private Compiler(SymbolResolver symbolResolver, Scanner scanner) {
+    private Compiler(SymbolResolver symbolResolver, Scanner scanner, boolean memoizeConstants, Set<Symbol> unmemoizedConstants, int specializationBudget, boolean inlineCaches) {
         this.symbolResolver = symbolResolver;
         this.scanner = scanner;
+        this.memoizeConstants = memoizeConstants;
+        this.unmemoizedConstants = ImmutableSet.copyOf(unmemoizedConstants);
+        this.specializationBudget = specializationBudget;
+        this.inlineCaches = inlineCaches;
     }
 
     public DefinitionGraph accumulateNames() {
         return new NameAccumulator(parsePrecedence()).accumulateNames();
     }
 
+    public DefinitionGraph analyzeStrictness() {
+        return new StrictnessAnalyzer(checkTypes()).analyzeStrictness();
+    }
+
     public DefinitionGraph checkTypes() {
         return new TypeChecker(accumulateDependencies()).checkTypes();
     }
 
     public List<GeneratedClass> generateBytecode() {
-        return new BytecodeGenerator(checkTypes()).generateBytecode();
+        return generateBytecode(analyzeStrictness());
+    }
+
+    public List<GeneratedClass> generateBytecode(DefinitionGraph graph) {
+        return new BytecodeGenerator(graph, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches).generateBytecode();
+    }
+
+    // the symbols each module in the graph exports, with the type instances the resolver knows it to define
+    public List<SymbolIndex> indexModules(DefinitionGraph graph) {
+        return graph.stream()
+            .map(DefinitionEntry::getDefinition)
+            .filter(definition -> definition instanceof ModuleDefinition)
+            .map(definition -> (ModuleDefinition) definition)
+            .map(module -> symbolIndex(
+                module.getSymbol(),
+                ((ModuleScope) graph.getScope(module.getReference())).getEntries(),
+                symbolResolver.getTypeInstancesByModule(module.getSymbol())
+            ))
+            .collect(toList());
     }
 
     public DefinitionGraph accumulateDependencies() {
@@ -68,4 +107,24 @@ public class Compiler {
     public DefinitionGraph qualifyNames() {
         return new ScopedNameQualifier(accumulateNames()).qualifyNames();
     }
+
+    // applies functions through invokedynamic call sites caching the classes of the functions they see
+    public Compiler withInlineCaches(boolean inlineCaches) {
+        return new Compiler(symbolResolver, scanner, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
+
+    public Compiler withMemoizedConstants(boolean memoizeConstants) {
+        return new Compiler(symbolResolver, scanner, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
+
+    // re-evaluates the given constants on every access even while the rest of the module is memoized, so large lazy
+    // values such as infinite lists can be collected once they are consumed
+    public Compiler withUnmemoizedConstants(Set<Symbol> unmemoizedConstants) {
+        return new Compiler(symbolResolver, scanner, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
+
+    // the number of instructions that may be spent on copies of polymorphic functions specialized to known instances
+    public Compiler withSpecializationBudget(int specializationBudget) {
+        return new Compiler(symbolResolver, scanner, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
 }
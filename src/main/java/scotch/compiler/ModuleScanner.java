@@ -129,6 +129,15 @@ public class ModuleScanner {
         }
     }
 
+    // constructor patterns dispatch on tag() when a data type declares it, and check the constructor's class otherwise
+    private boolean isTagged(Class<?> clazz) {
+        try {
+            return clazz.getMethod("tag").getReturnType() == int.class;
+        } catch (NoSuchMethodException exception) {
+            return false;
+        }
+    }
+
     private String pp(Class<?> clazz) {
         return clazz.getCanonicalName();
     }
@@ -141,7 +150,8 @@ public class ModuleScanner {
         Optional.ofNullable(clazz.getAnnotation(DataConstructor.class)).ifPresent(annotation -> {
             Symbol constructor = qualify(annotation.memberName());
             Symbol dataType = qualify(annotation.dataType());
-            DataConstructorDescriptor.Builder builder = getBuilder(constructor).dataConstructor(annotation.ordinal(), dataType);
+            DataConstructorDescriptor.Builder builder = getBuilder(constructor).dataConstructor(annotation.ordinal(), dataType)
+                .withClassName(p(clazz));
 
             Map<String, Type> fieldTypes = stream(clazz.getDeclaredMethods())
                 .filter(method -> method.isAnnotationPresent(DataFieldType.class))
@@ -180,6 +190,7 @@ public class ModuleScanner {
                 builder.addParameter(parametersList.get(i));
             }
             builder.withClassName(p(clazz));
+            builder.withTagged(isTagged(clazz));
         });
     }
 
@@ -202,7 +213,8 @@ public class ModuleScanner {
                 moduleName,
                 symbol(typeInstance.typeClass()),
                 invoke(parametersGetter),
-                MethodSignature.fromMethod(instanceGetter)
+                MethodSignature.fromMethod(instanceGetter),
+                typeInstance.strict()
             ));
         });
     }
@@ -0,0 +1,270 @@
+package scotch.compiler;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static scotch.compiler.CompilationCache.compilationCache;
+import static scotch.compiler.Compiler.compiler;
+import static scotch.compiler.error.ParseError.parseError;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import com.google.common.collect.ImmutableSet;
+import scotch.compiler.error.CompileException;
+import scotch.compiler.error.SyntaxError;
+import scotch.compiler.output.GeneratedClass;
+import scotch.compiler.steps.BytecodeGenerator;
+import scotch.compiler.syntax.definition.DefinitionEntry;
+import scotch.compiler.syntax.definition.DefinitionGraph;
+import scotch.compiler.syntax.definition.Import;
+import scotch.compiler.syntax.definition.ModuleDefinition;
+import scotch.symbol.Symbol;
+
+// Compiles every source under a set of roots, ordering compilation units by the modules they import. A unit is
+// compiled once all of the units defining its imports have been defined in the resolver, along with the symbols
+// their module scopes export; units without a path between them compile concurrently.
+public class ProjectCompiler {
+
+    public static ProjectCompiler projectCompiler(ClassLoaderResolver resolver, List<File> sourceRoots) {
+        return projectCompiler(resolver, ForkJoinPool.commonPool(), sourceRoots);
+    }
+
+    public static ProjectCompiler projectCompiler(ClassLoaderResolver resolver, ForkJoinPool pool, List<File> sourceRoots) {
+        return new ProjectCompiler(resolver, pool, sourceRoots, Optional.empty(), true, ImmutableSet.of(), BytecodeGenerator.DEFAULT_SPECIALIZATION_BUDGET, false);
+    }
+
+    private final ClassLoaderResolver  resolver;
+    private final ForkJoinPool         pool;
+    private final List<File>           sourceRoots;
+    private final Optional<File>       cacheDirectory;
+    private final boolean              memoizeConstants;
+    private final Set<Symbol>          unmemoizedConstants;
+    private final int                  specializationBudget;
+    private final boolean              inlineCaches;
+    private final List<SyntaxError>    errors;
+    private final List<GeneratedClass> generatedClasses;
+
+    private ProjectCompiler(ClassLoaderResolver resolver, ForkJoinPool pool, List<File> sourceRoots, Optional<File> cacheDirectory, boolean memoizeConstants, Set<Symbol> unmemoizedConstants, int specializationBudget, boolean inlineCaches) {
+        this.resolver = resolver;
+        this.pool = pool;
+        this.sourceRoots = new ArrayList<>(sourceRoots);
+        this.cacheDirectory = cacheDirectory;
+        this.memoizeConstants = memoizeConstants;
+        this.unmemoizedConstants = ImmutableSet.copyOf(unmemoizedConstants);
+        this.specializationBudget = specializationBudget;
+        this.inlineCaches = inlineCaches;
+        this.errors = Collections.synchronizedList(new ArrayList<>());
+        this.generatedClasses = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    public List<GeneratedClass> generateBytecode() {
+        List<Unit> units = pool.submit(() -> findSources().parallel().map(this::parse).collect(toList())).join();
+        Map<String, Unit> modules = indexModules(units);
+        checkErrors();
+        units.forEach(unit -> unit.resolveDependencies(modules));
+        checkCycles(units);
+        Map<Unit, CompletableFuture<Boolean>> futures = new HashMap<>();
+        CompletableFuture.allOf(units.stream()
+            .map(unit -> schedule(unit, futures))
+            .toArray(CompletableFuture[]::new)).join();
+        checkErrors();
+        List<GeneratedClass> results = new ArrayList<>(generatedClasses);
+        Collections.sort(results);
+        return results;
+    }
+
+    // reuses the classes and symbols of units whose source and imported signatures are unchanged
+    public ProjectCompiler withCompilationCache(File directory) {
+        return new ProjectCompiler(resolver, pool, sourceRoots, Optional.of(directory), memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
+
+    public ProjectCompiler withInlineCaches(boolean inlineCaches) {
+        return new ProjectCompiler(resolver, pool, sourceRoots, cacheDirectory, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
+
+    public ProjectCompiler withMemoizedConstants(boolean memoizeConstants) {
+        return new ProjectCompiler(resolver, pool, sourceRoots, cacheDirectory, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
+
+    public ProjectCompiler withUnmemoizedConstants(Set<Symbol> unmemoizedConstants) {
+        return new ProjectCompiler(resolver, pool, sourceRoots, cacheDirectory, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
+
+    public ProjectCompiler withSpecializationBudget(int specializationBudget) {
+        return new ProjectCompiler(resolver, pool, sourceRoots, cacheDirectory, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
+    }
+
+    private void checkCycles(List<Unit> units) {
+        Set<Unit> visited = new LinkedHashSet<>();
+        for (Unit unit : units) {
+            checkCycles(unit, new ArrayDeque<>(), visited);
+        }
+        checkErrors();
+    }
+
+    private void checkCycles(Unit unit, Deque<Unit> path, Set<Unit> visited) {
+        if (path.contains(unit)) {
+            List<Unit> cycle = new ArrayList<>(path);
+            Collections.reverse(cycle);
+            cycle = cycle.subList(cycle.indexOf(unit), cycle.size());
+            errors.add(parseError("Cyclic module imports: " + Stream.concat(cycle.stream(), Stream.of(unit))
+                .map(Unit::getName)
+                .collect(joining(" -> ")), unit.getModules().get(0).getSourceLocation()));
+        } else if (visited.add(unit)) {
+            path.push(unit);
+            unit.getDependencies().forEach(dependency -> checkCycles(dependency, path, visited));
+            path.pop();
+        }
+    }
+
+    private void checkErrors() {
+        if (!errors.isEmpty()) {
+            throw new CompileException(errors);
+        }
+    }
+
+    private boolean compile(Unit unit) {
+        try {
+            List<GeneratedClass> classes;
+            if (cacheDirectory.isPresent()) {
+                classes = compilationCache(cacheDirectory.get())
+                    .withMemoizedConstants(memoizeConstants)
+                    .withUnmemoizedConstants(unmemoizedConstants)
+                    .withSpecializationBudget(specializationBudget)
+                    .withInlineCaches(inlineCaches)
+                    .generateBytecode(resolver, unit.getSource().toUri(), unit.getLines());
+                resolver.defineAll(classes);
+            } else {
+                Compiler compiler = compiler(resolver, unit.getSource().toUri(), unit.getLines())
+                    .withMemoizedConstants(memoizeConstants)
+                    .withUnmemoizedConstants(unmemoizedConstants)
+                    .withSpecializationBudget(specializationBudget)
+                    .withInlineCaches(inlineCaches);
+                DefinitionGraph graph = compiler.analyzeStrictness();
+                classes = compiler.generateBytecode(graph);
+                resolver.defineAll(classes);
+                compiler.indexModules(graph).forEach(resolver::defineIndex);
+            }
+            generatedClasses.addAll(classes);
+            return true;
+        } catch (CompileException exception) {
+            errors.addAll(exception.getErrors());
+            return false;
+        }
+    }
+
+    private Stream<Path> findSources() {
+        return sourceRoots.stream()
+            .map(File::toPath)
+            .flatMap(root -> {
+                try (Stream<Path> paths = Files.walk(root)) {
+                    return paths
+                        .filter(path -> Files.isRegularFile(path) && path.toString().endsWith(".scotch"))
+                        .sorted()
+                        .collect(toList())
+                        .stream();
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+    }
+
+    private Map<String, Unit> indexModules(List<Unit> units) {
+        Map<String, Unit> modules = new HashMap<>();
+        for (Unit unit : units) {
+            for (ModuleDefinition module : unit.getModules()) {
+                Unit previous = modules.putIfAbsent(module.getSymbol(), unit);
+                if (previous != null) {
+                    errors.add(parseError("Module " + module.getSymbol() + " is already defined in " + previous.getName(), module.getSourceLocation()));
+                }
+            }
+        }
+        return modules;
+    }
+
+    private Unit parse(Path source) {
+        String[] lines;
+        try (Stream<String> stream = Files.lines(source)) {
+            lines = stream.toArray(String[]::new);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        DefinitionGraph graph = compiler(resolver, source.toUri(), lines).parseInput();
+        errors.addAll(graph.getErrors());
+        return new Unit(source, lines, graph.stream()
+            .map(DefinitionEntry::getDefinition)
+            .filter(definition -> definition instanceof ModuleDefinition)
+            .map(definition -> (ModuleDefinition) definition)
+            .collect(toList()));
+    }
+
+    private CompletableFuture<Boolean> schedule(Unit unit, Map<Unit, CompletableFuture<Boolean>> futures) {
+        if (!futures.containsKey(unit)) {
+            List<CompletableFuture<Boolean>> dependencies = unit.getDependencies().stream()
+                .map(dependency -> schedule(dependency, futures))
+                .collect(toList());
+            futures.put(unit, CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[dependencies.size()]))
+                .thenApplyAsync(nothing -> dependencies.stream().allMatch(CompletableFuture::join) && compile(unit), pool));
+        }
+        return futures.get(unit);
+    }
+
+    private static final class Unit {
+
+        private final Path                   source;
+        private final String[]               lines;
+        private final List<ModuleDefinition> modules;
+        private final Set<Unit>              dependencies;
+
+        private Unit(Path source, String[] lines, List<ModuleDefinition> modules) {
+            this.source = source;
+            this.lines = lines;
+            this.modules = modules;
+            this.dependencies = new LinkedHashSet<>();
+        }
+
+        public Set<Unit> getDependencies() {
+            return dependencies;
+        }
+
+        public String[] getLines() {
+            return lines;
+        }
+
+        public List<ModuleDefinition> getModules() {
+            return modules;
+        }
+
+        public String getName() {
+            return modules.stream().map(ModuleDefinition::getSymbol).collect(joining(", "));
+        }
+
+        public Path getSource() {
+            return source;
+        }
+
+        public void resolveDependencies(Map<String, Unit> units) {
+            modules.stream()
+                .flatMap(module -> module.getImports().stream())
+                .map(Import::getModuleName)
+                .map(units::get)
+                .filter(unit -> unit != null && unit != this)
+                .forEach(dependencies::add);
+        }
+    }
+}
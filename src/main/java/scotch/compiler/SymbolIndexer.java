@@ -0,0 +1,24 @@
+package scotch.compiler;
+
+import static java.util.Arrays.asList;
+
+import java.io.File;
+import java.util.Optional;
+import scotch.symbol.SymbolIndex;
+
+// Writes the symbol index of each named module into a classes directory, e.g.
+//     SymbolIndexer build/classes/main scotch.data.eq scotch.data.num
+public class SymbolIndexer {
+
+    public static void main(String[] args) {
+        File outputPath = new File(args[0]).getAbsoluteFile();
+        asList(args).subList(1, args.length).forEach(moduleName -> {
+            File index = new File(outputPath, SymbolIndex.getResourceName(moduleName));
+            if (index.exists() && !index.delete()) {
+                throw new RuntimeException("Can't replace stale symbol index " + index);
+            }
+        });
+        ClassLoaderResolver resolver = new ClassLoaderResolver(Optional.of(outputPath), SymbolIndexer.class.getClassLoader());
+        asList(args).subList(1, args.length).forEach(moduleName -> resolver.defineIndex(resolver.index(moduleName)));
+    }
+}
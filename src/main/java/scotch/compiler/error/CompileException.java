@@ -3,6 +3,7 @@ package scotch.compiler.error;
 import static java.lang.System.err;
 import static java.util.stream.Collectors.joining;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 
@@ -14,6 +15,10 @@ public class CompileException extends RuntimeException {
         this.errors = new LinkedHashSet<>(errors);
     }
 
+    public List<SyntaxError> getErrors() {
+        return new ArrayList<>(errors);
+    }
+
     @Override
     public String getMessage() {
         return "Failed compilation:\n\n" + errors.stream()
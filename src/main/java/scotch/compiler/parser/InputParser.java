@@ -218,7 +218,7 @@ public class InputParser {
     }
 
     private boolean expectsDataDefinition() {
-        return expectsWord("data");
+        return expectsWord("data") || expectsWord("newtype") || expectsWord("interned") && expectsWordAt(1, "data");
     }
 
     private boolean expectsDefinitions() {
@@ -294,6 +294,12 @@ public class InputParser {
         return unmarkPosition().to(scanner.getPreviousPosition());
     }
 
+    private boolean isNewtype(List<DataConstructorDefinition> constructors) {
+        return constructors.size() == 1
+            && constructors.get(0).getFields().size() == 1
+            && !constructors.get(0).getFields().get(0).isStrict();
+    }
+
     private void markPosition() {
         positions.push(scanner.getPosition());
     }
@@ -338,6 +344,7 @@ public class InputParser {
             builder -> builder
                 .withOrdinal(offset)
                 .withName("_" + offset)
+                .withStrict(parseStrictness())
                 .withType(parseType(constraints)));
     }
 
@@ -480,7 +487,17 @@ public class InputParser {
         List<DataConstructorDefinition> constructors = new ArrayList<>();
         List<DefinitionReference> definitions = new ArrayList<>();
         definitions.add(0, definition(DataTypeDefinition.builder(), builder -> {
-            requireWord("data");
+            boolean newtype = expectsWord("newtype");
+            if (newtype) {
+                nextToken();
+                builder.withNewtype(true);
+            } else {
+                if (expectsWord("interned")) {
+                    nextToken();
+                    builder.withInterned(true);
+                }
+                requireWord("data");
+            }
             Map<String, Type> constraints = parseSignatureConstraints();
             List<Type> parameters = new ArrayList<>();
             Symbol symbol = qualify(requireWord());
@@ -501,6 +518,9 @@ public class InputParser {
                     constructors.add(parseDataConstructor(ordinal, symbol, constraints));
                 }
             }
+            if (newtype && !isNewtype(constructors)) {
+                throw parseException("Newtype must have exactly one constructor with one lazy field", peekSourceLocation());
+            }
             constructors.forEach(builder::addConstructor);
             constructors.stream()
                 .map(constructor -> createConstructor(constructor, sum(symbol, parameters)))
@@ -784,7 +804,9 @@ public class InputParser {
                 .withOrdinal(ordinal.getAndIncrement())
                 .withName(requireWord());
             require(DOUBLE_COLON);
-            builder.withType(parseType(constraints));
+            builder
+                .withStrict(parseStrictness())
+                .withType(parseType(constraints));
         });
     }
 
@@ -973,6 +995,15 @@ public class InputParser {
         return emptyMap();
     }
 
+    private boolean parseStrictness() {
+        if (expectsWord("!")) {
+            nextToken();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
     private Symbol parseSymbol() {
         if (expects(IDENTIFIER)) {
             return qualify(requireMemberName());
@@ -1067,7 +1098,7 @@ public class InputParser {
 
     private Type parseTypePrimary_(Optional<String> optionalModuleName, String memberName, Map<String, Type> constraints) {
         List<Type> parameters = new ArrayList<>();
-        while (expectsWord() || expects(LEFT_PARENTHESIS)) {
+        while ((expectsWord() && !expectsWord("!")) || expects(LEFT_PARENTHESIS)) {
             parameters.add(parseType(constraints));
         }
         return optionalModuleName
@@ -4,23 +4,41 @@ import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 import static me.qmx.jitescript.JDKVersion.V1_8;
 import static me.qmx.jitescript.util.CodegenUtils.c;
+import static me.qmx.jitescript.util.CodegenUtils.ci;
 import static me.qmx.jitescript.util.CodegenUtils.p;
 import static me.qmx.jitescript.util.CodegenUtils.sig;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
 import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_STATIC;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.H_INVOKESTATIC;
 import static scotch.compiler.output.GeneratedClass.ClassType.DATA_CONSTRUCTOR;
 import static scotch.compiler.syntax.reference.DefinitionReference.rootRef;
+import static scotch.compiler.syntax.reference.DefinitionReference.valueRef;
 import static scotch.compiler.util.Pair.pair;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import me.qmx.jitescript.CodeBlock;
 import me.qmx.jitescript.JiteClass;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.LabelNode;
+import org.objectweb.asm.tree.VarInsnNode;
 import scotch.compiler.error.CompileException;
 import scotch.compiler.output.GeneratedClass;
 import scotch.compiler.output.GeneratedClass.ClassType;
@@ -29,39 +47,82 @@ import scotch.compiler.syntax.definition.Definition;
 import scotch.compiler.syntax.definition.DefinitionGraph;
 import scotch.compiler.syntax.reference.ClassReference;
 import scotch.compiler.syntax.reference.DefinitionReference;
+import scotch.compiler.syntax.reference.InstanceReference;
 import scotch.compiler.syntax.reference.ModuleReference;
 import scotch.compiler.syntax.scope.Scope;
+import scotch.compiler.syntax.value.Argument;
+import scotch.compiler.syntax.value.Instance;
+import scotch.compiler.syntax.value.Value;
 import scotch.compiler.text.SourceLocation;
 import scotch.compiler.util.Pair;
 import scotch.runtime.Applicable;
+import scotch.runtime.ApplySite;
 import scotch.runtime.Callable;
 import scotch.runtime.Copyable;
+import scotch.runtime.Structure;
 import scotch.symbol.MethodSignature;
 import scotch.symbol.Symbol;
+import scotch.symbol.descriptor.DataConstructorDescriptor;
+import scotch.symbol.descriptor.DataTypeDescriptor;
 import scotch.symbol.descriptor.TypeInstanceDescriptor;
 import scotch.symbol.type.FunctionType;
 import scotch.symbol.type.Type;
 
 public class BytecodeGenerator {
 
-    private final DefinitionGraph                   graph;
-    private final Deque<Pair<JiteClass, ClassType>> classStack;
-    private final List<GeneratedClass>              generatedClasses;
-    private final Deque<Scope>                      scopes;
-    private final Deque<List<String>>               arguments;
-    private final Deque<List<String>>               matches;
-    private final Deque<CaseEntry>                  cases;
-    private       int                               lambdas;
-    private       int                               applies;
+    public static final int DEFAULT_SPECIALIZATION_BUDGET = 4096;
+
+    private static final Handle APPLY_SITE = new Handle(
+        H_INVOKESTATIC,
+        p(ApplySite.class),
+        "bootstrap",
+        sig(CallSite.class, Lookup.class, String.class, MethodType.class)
+    );
+
+    private final DefinitionGraph                                             graph;
+    private final Deque<Pair<JiteClass, ClassType>>                           classStack;
+    private final List<GeneratedClass>                                        generatedClasses;
+    private final Deque<Scope>                                                scopes;
+    private final Deque<List<String>>                                         arguments;
+    private final Deque<List<String>>                                         matches;
+    private final Deque<CaseEntry>                                            cases;
+    private final Deque<CodeBlock>                                            initializers;
+    private final Deque<Map<String, Map<Object, String>>>                     staticFields;
+    private final Deque<TailCall>                                             tailCalls;
+    private final Deque<ClosureFrame>                                         closures;
+    private final Deque<Specialization>                                       specializations;
+    private final Map<Pair<Symbol, List<InstanceReference>>, MethodSignature> specializedMethods;
+    private final boolean                                                     memoizeConstants;
+    private final Set<Symbol>                                                 unmemoizedConstants;
+    private final boolean                                                     inlineCaches;
+    private final int                                                         specializationBudget;
+    private       int                                                         specializationSize;
+    private       int                                                         lambdas;
+    private       int                                                         applies;
+    private       int                                                         specialized;
 
     public BytecodeGenerator(DefinitionGraph graph) {
+        this(graph, true, ImmutableSet.of(), DEFAULT_SPECIALIZATION_BUDGET, false);
+    }
+
+    public BytecodeGenerator(DefinitionGraph graph, boolean memoizeConstants, Set<Symbol> unmemoizedConstants, int specializationBudget, boolean inlineCaches) {
         this.graph = graph;
+        this.memoizeConstants = memoizeConstants;
+        this.unmemoizedConstants = unmemoizedConstants;
+        this.inlineCaches = inlineCaches;
+        this.specializationBudget = specializationBudget;
         this.classStack = new ArrayDeque<>();
         this.generatedClasses = new ArrayList<>();
         this.scopes = new ArrayDeque<>();
         this.arguments = new ArrayDeque<>(asList(ImmutableList.of()));
         this.matches = new ArrayDeque<>(asList(ImmutableList.of()));
         this.cases = new ArrayDeque<>();
+        this.initializers = new ArrayDeque<>();
+        this.staticFields = new ArrayDeque<>();
+        this.tailCalls = new ArrayDeque<>();
+        this.closures = new ArrayDeque<>();
+        this.specializations = new ArrayDeque<>();
+        this.specializedMethods = new HashMap<>();
     }
 
     public void addMatch(String name) {
@@ -94,7 +155,7 @@ public class BytecodeGenerator {
     }
 
     public void beginConstructor(String className, SourceLocation sourceLocation) {
-        JiteClass jiteClass = new JiteClass(className, currentClass().getClassName(), new String[] { p(Copyable.class) });
+        JiteClass jiteClass = new JiteClass(className, currentClass().getClassName(), new String[] { p(Copyable.class), p(Structure.class) });
         pushClass(jiteClass, DATA_CONSTRUCTOR);
         jiteClass.setSourceFile(sourceLocation.getPath());
     }
@@ -103,26 +164,30 @@ public class BytecodeGenerator {
         matches.push(new ArrayList<>());
     }
 
-    public CodeBlock captureApply() {
-        List<String> variables = getAllVariables();
-        return variables.stream()
-            .map(variables::indexOf)
-            .map(new CodeBlock()::aload)
-            .reduce(new CodeBlock(), CodeBlock::append);
+    public Closure captureApply(Supplier<CodeBlock> supplier) {
+        ClosureFrame frame = new ClosureFrame(ImmutableList.of());
+        CodeBlock body;
+        closures.push(frame);
+        try {
+            body = supplier.get();
+        } finally {
+            closures.pop();
+        }
+        return close(frame, body);
     }
 
-    public CodeBlock captureLambda(String lambdaArgument) {
-        List<String> variables = ImmutableList.<String>builder()
-            .addAll(getCaptures())
-            .addAll(getArguments())
-            .addAll(getMatches())
-            .build();
-        CodeBlock block = variables.stream()
-            .map(this::getVariable)
-            .map(new CodeBlock()::aload)
-            .reduce(new CodeBlock(), CodeBlock::append);
+    public Closure captureLambda(String lambdaArgument, Supplier<CodeBlock> supplier) {
+        ClosureFrame frame = new ClosureFrame(ImmutableList.of(lambdaArgument));
+        CodeBlock body;
         getArguments().add(lambdaArgument);
-        return block;
+        closures.push(frame);
+        try {
+            body = supplier.get();
+        } finally {
+            closures.pop();
+            getArguments().remove(getArguments().size() - 1);
+        }
+        return close(frame, body);
     }
 
     public JiteClass currentClass() {
@@ -144,6 +209,30 @@ public class BytecodeGenerator {
         });
     }
 
+    public CodeBlock encloseDirect(Scoped scoped, List<Argument> directArguments, Supplier<CodeBlock> supplier) {
+        return enclose(scoped, () -> {
+            directArguments.stream()
+                .map(Argument::getName)
+                .forEach(getArguments()::add);
+            ClosureFrame frame = new ClosureFrame(getArguments().stream()
+                .filter(name -> specializations.isEmpty() || !specializations.peek().dictionaries.containsKey(name))
+                .collect(toList()));
+            CodeBlock body;
+            closures.push(frame);
+            try {
+                body = supplier.get();
+            } finally {
+                closures.pop();
+            }
+            renumber(frame, body);
+            if (frame.getCaptures().isEmpty()) {
+                return body;
+            } else {
+                throw new IllegalStateException("Direct method reads unbound variables " + frame.getCaptures());
+            }
+        });
+    }
+
     public LabelNode endCase() {
         return cases.peek().endCase();
     }
@@ -153,8 +242,14 @@ public class BytecodeGenerator {
     }
 
     public void endClass() {
-        classStack.pop().into((jiteClass, type) ->
-            generatedClasses.add(new GeneratedClass(type, c(jiteClass.getClassName()), jiteClass.toBytes(V1_8))));
+        CodeBlock initializer = initializers.pop();
+        staticFields.pop();
+        classStack.pop().into((jiteClass, type) -> {
+            if (initializer.getInstructionList().size() > 0) {
+                jiteClass.defineMethod("<clinit>", ACC_STATIC, sig(void.class), initializer.voidreturn());
+            }
+            return generatedClasses.add(new GeneratedClass(type, c(jiteClass.getClassName()), jiteClass.toBytes(V1_8)));
+        });
     }
 
     public void endMatches() {
@@ -183,7 +278,7 @@ public class BytecodeGenerator {
         if (graph.hasErrors()) {
             throw new CompileException(graph.getErrors());
         } else {
-            BytecodeGenerator state = new BytecodeGenerator(graph);
+            BytecodeGenerator state = new BytecodeGenerator(graph, memoizeConstants, unmemoizedConstants, specializationBudget, inlineCaches);
             state.fromRoot();
             return state.getClasses();
         }
@@ -197,40 +292,75 @@ public class BytecodeGenerator {
             .forEach(definition -> definition.generateBytecode(this));
     }
 
-    public Class<?>[] getCaptureAllTypes() {
-        List<Class<?>> types = ImmutableList.<Class<?>>builder()
-            .addAll(getCaptureTypes(getCaptures()))
-            .addAll(getCaptureTypes(getLocals()))
-            .addAll(getCaptureTypes(getArguments()))
-            .addAll(getCaptureTypes(getMatches()))
-            .build();
-        return types.toArray(new Class<?>[types.size()]);
-    }
-
     public List<GeneratedClass> getClasses() {
         return generatedClasses.stream()
             .sorted()
             .collect(toList());
     }
 
+    public DataConstructorDescriptor getDataConstructor(Symbol symbol) {
+        return scope().getDataConstructor(symbol)
+            .orElseThrow(() -> new IllegalStateException("Can't get data constructor " + symbol.quote()));
+    }
+
     public String getDataConstructorClass(Symbol symbol) {
         return scope().getDataConstructorClass(symbol);
     }
 
-    public Class<?>[] getLambdaCaptureTypes() {
-        List<Class<?>> types = ImmutableList.<Class<?>>builder()
-            .addAll(getCaptureTypes(getCaptures()))
-            .addAll(getCaptureTypes(getArguments().subList(0, getArguments().size() - 1)))
-            .build();
-        return types.toArray(new Class<?>[types.size()]);
+    public Optional<DataTypeDescriptor> getDataType(Symbol symbol) {
+        return scope().getDataType(symbol);
     }
 
-    public Class<?>[] getLambdaType() {
-        List<Class<?>> types = ImmutableList.<Class<?>>builder()
-            .addAll(getCaptureTypes(getCaptures()))
-            .addAll(getCaptureTypes(getArguments()))
-            .build();
-        return types.toArray(new Class<?>[types.size()]);
+    // the statically known instance passed as a dictionary, seeing through the dictionary arguments of specializations
+    public Optional<Instance> getDictionary(Value value) {
+        if (value instanceof Instance) {
+            return Optional.of((Instance) value);
+        } else if (value instanceof Argument && !specializations.isEmpty()) {
+            return specializations.peek().getDictionary(((Argument) value).getName());
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    public Optional<MethodSignature> getDirectMethod(Symbol symbol, int arity) {
+        return getDefinition(valueRef(symbol))
+            .flatMap(definition -> definition.asValue().map(Optional::of).orElseGet(left -> Optional.empty()))
+            .filter(definition -> definition.getBody().getArguments().size() == arity)
+            .flatMap(definition -> definition.getDirectMethod(this));
+    }
+
+    public Optional<LabelNode> getSelfTailCall(Symbol symbol, List<Value> arguments) {
+        return Optional.ofNullable(tailCalls.peek())
+            .filter(tailCall -> tailCall.symbol.equals(symbol) && tailCall.arity == arguments.size())
+            .filter(tailCall -> getInstances(arguments.subList(0, tailCall.instances.size())).equals(tailCall.instances))
+            .map(tailCall -> tailCall.start);
+    }
+
+    // the arguments a self tail call passes, leaving out the dictionaries a specialization has inlined
+    public List<Value> getSelfTailCallArguments(List<Value> arguments) {
+        return arguments.subList(tailCalls.peek().instances.size(), arguments.size());
+    }
+
+    // a copy of a polymorphic function with its dictionaries inlined, when all of them are statically known and the
+    // size budget for specializations has not been spent
+    public Optional<MethodSignature> getSpecializedMethod(Symbol symbol, int dictionaries, List<Value> arguments) {
+        List<InstanceReference> instances = getInstances(arguments.subList(0, Math.min(dictionaries, arguments.size())));
+        Pair<Symbol, List<InstanceReference>> key = pair(symbol, instances);
+        if (dictionaries == 0 || instances.size() != dictionaries || !currentClass().getClassName().equals(symbol.getModuleClass())) {
+            return Optional.empty();
+        } else if (specializedMethods.containsKey(key)) {
+            return Optional.of(specializedMethods.get(key));
+        } else if (specializationSize >= specializationBudget) {
+            return Optional.empty();
+        } else {
+            return getDefinition(valueRef(symbol))
+                .flatMap(definition -> definition.asValue().map(Optional::of).orElseGet(left -> Optional.empty()))
+                .filter(definition -> definition.getBody().getArguments().size() == arguments.size())
+                .flatMap(definition -> definition.generateSpecialization(this, arguments.subList(0, dictionaries).stream()
+                    .map(this::getDictionary)
+                    .map(Optional::get)
+                    .collect(toList())));
+        }
     }
 
     public TypeInstanceDescriptor getTypeInstance(ClassReference classRef, ModuleReference moduleRef, List<Type> parameters) {
@@ -244,6 +374,9 @@ public class BytecodeGenerator {
     }
 
     public int getVariable(String name) {
+        if (!closures.isEmpty()) {
+            return closures.peek().getVariable(name);
+        }
         int offset = getAllVariables().indexOf(name);
         if (offset >= 0) {
             return offset;
@@ -252,16 +385,64 @@ public class BytecodeGenerator {
         }
     }
 
+    public void initialize(CodeBlock block) {
+        initializers.peek().append(block);
+    }
+
+    // applies the function below the argument on the stack, through a call site caching the classes of the functions
+    // it sees when inline caches are enabled
+    public CodeBlock invokeApply() {
+        if (inlineCaches) {
+            return new CodeBlock().invokedynamic("apply", sig(Callable.class, Applicable.class, Callable.class), APPLY_SITE);
+        } else {
+            return new CodeBlock().invokeinterface(p(Applicable.class), "apply", sig(Callable.class, Callable.class));
+        }
+    }
+
+    // whether a data constructor belongs to a newtype, which is represented at runtime by the value of its single field
+    public boolean isErased(Symbol constructor) {
+        return getDataType(getDataConstructor(constructor).getDataType())
+            .map(DataTypeDescriptor::isNewtype)
+            .orElse(false);
+    }
+
+    // whether the class of a data constructor's type declares a tag() method, which constructor patterns switch on
+    public boolean isTagged(Symbol constructor) {
+        return getDataType(getDataConstructor(constructor).getDataType())
+            .map(DataTypeDescriptor::isTagged)
+            .orElse(false);
+    }
+
+    // loads a type class instance from a static final field of the current class, so the instance getter is called
+    // and its thunk evaluated once when the class initializes instead of each time the dictionary is passed
+    public CodeBlock loadInstance(TypeInstanceDescriptor instance) {
+        return loadStatic("instance", instance.getInstanceGetter(), () -> new CodeBlock() {{
+            append(instance.reference());
+            dup();
+            invokeinterface(p(Callable.class), "call", sig(Object.class));
+            pop();
+        }});
+    }
+
+    // loads a boxed literal from a static final field of the current class shared by every use of the same value
+    public CodeBlock loadLiteral(Object value, Supplier<CodeBlock> supplier) {
+        return loadStatic("literal", value, supplier);
+    }
+
+    public boolean memoizesConstant(Symbol symbol) {
+        return memoizeConstants && !unmemoizedConstants.contains(symbol);
+    }
+
     public void method(String methodName, int access, String signature, CodeBlock body) {
         currentClass().defineMethod(methodName, access, signature, body);
     }
 
-    public LabelNode nextCase() {
-        return cases.peek().nextCase();
+    public LabelNode matchFailure() {
+        return cases.peek().matchFailure();
     }
 
-    public void releaseLambda(String lambdaArgument) {
-        getArguments().remove(lambdaArgument);
+    public LabelNode nextCase() {
+        return cases.peek().nextCase();
     }
 
     public String reserveApply() {
@@ -272,6 +453,10 @@ public class BytecodeGenerator {
         return "lambda$" + lambdas++;
     }
 
+    public String reserveSpecialization(String methodName) {
+        return methodName + "$specialized$" + specialized++;
+    }
+
     public Scope scope() {
         return scopes.peek();
     }
@@ -285,10 +470,51 @@ public class BytecodeGenerator {
         }
     }
 
+    public CodeBlock selfTailCalls(Symbol symbol, int arity, Supplier<CodeBlock> supplier) {
+        TailCall tailCall = new TailCall(symbol, arity, Optional.ofNullable(specializations.peek())
+            .filter(specialization -> specialization.symbol.equals(symbol))
+            .map(specialization -> specialization.instances)
+            .orElse(ImmutableList.of()));
+        tailCalls.push(tailCall);
+        try {
+            return new CodeBlock()
+                .label(tailCall.start)
+                .append(supplier.get());
+        } finally {
+            tailCalls.pop();
+        }
+    }
+
+    public void specialize(Symbol symbol, List<Argument> dictionaries, List<Instance> instances, MethodSignature method, Supplier<CodeBlock> supplier) {
+        Specialization specialization = new Specialization(symbol, dictionaries, instances);
+        CodeBlock body;
+        specializedMethods.put(pair(symbol, specialization.instances), method);
+        specializations.push(specialization);
+        try {
+            body = supplier.get();
+        } finally {
+            specializations.pop();
+        }
+        specializationSize += body.getInstructionList().size();
+        method(method.getMethodName(), ACC_STATIC | ACC_PUBLIC, method.getSignature(), body);
+    }
+
     public Class<? extends Callable> typeOf(Type type) {
         return type instanceof FunctionType ? Applicable.class : Callable.class;
     }
 
+    private Closure close(ClosureFrame frame, CodeBlock body) {
+        renumber(frame, body);
+        CodeBlock captures = new CodeBlock();
+        frame.getCaptures().forEach(name -> captures.aload(getVariable(name)));
+        return new Closure(
+            captures,
+            frame.getCaptures().stream().map(this::getVariableType).collect(toList()),
+            frame.getParameters().stream().map(this::getVariableType).collect(toList()),
+            body
+        );
+    }
+
     private <T extends Scoped> void enterScope(T scoped) {
         scopes.push(graph.getScope(scoped.getReference()));
     }
@@ -306,16 +532,6 @@ public class BytecodeGenerator {
         return arguments.peek();
     }
 
-    private List<Class<? extends Callable>> getCaptureTypes(List<String> captures) {
-        return captures.stream()
-            .map(Symbol::unqualified)
-            .map(scope()::getValue)
-            .map(value -> value.map(this::typeOf))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .collect(toList());
-    }
-
     private List<String> getCaptures() {
         return scope().getCaptures();
     }
@@ -324,6 +540,14 @@ public class BytecodeGenerator {
         return graph.getDefinition(reference);
     }
 
+    private List<InstanceReference> getInstances(List<Value> dictionaries) {
+        return dictionaries.stream()
+            .map(this::getDictionary)
+            .filter(Optional::isPresent)
+            .map(optional -> optional.get().getReference())
+            .collect(toList());
+    }
+
     private List<String> getLocals() {
         return scope().getLocals();
     }
@@ -332,12 +556,53 @@ public class BytecodeGenerator {
         return matches.peek();
     }
 
+    private Class<?> getVariableType(String name) {
+        return scope().getValue(Symbol.unqualified(name))
+            .map(this::typeOf)
+            .orElse(Callable.class);
+    }
+
     private void leaveScope() {
         scopes.pop();
     }
 
+    private CodeBlock loadStatic(String prefix, Object key, Supplier<CodeBlock> supplier) {
+        String className = currentClass().getClassName();
+        Map<Object, String> fields = staticFields.peek().computeIfAbsent(prefix, k -> new HashMap<>());
+        String fieldName = fields.get(key);
+        if (fieldName == null) {
+            fieldName = prefix + "$" + fields.size();
+            fields.put(key, fieldName);
+            field(fieldName, ACC_PRIVATE | ACC_STATIC | ACC_FINAL, ci(Callable.class));
+            String field = fieldName;
+            initializers.peek().prepend(new CodeBlock() {{
+                append(supplier.get());
+                putstatic(className, field, ci(Callable.class));
+            }});
+        }
+        return new CodeBlock().getstatic(className, fieldName, ci(Callable.class));
+    }
+
     private void pushClass(JiteClass jiteClass, ClassType classType) {
         classStack.push(pair(jiteClass, classType));
+        initializers.push(new CodeBlock());
+        staticFields.push(new HashMap<>());
+    }
+
+    // renumbers the variables of the body so the captured variables come first, followed by the parameters and then
+    // the variables bound by the body itself; anything the body reads without binding it is captured
+    private void renumber(ClosureFrame frame, CodeBlock body) {
+        List<VarInsnNode> instructions = new ArrayList<>();
+        for (AbstractInsnNode node : body.getInstructionList().toArray()) {
+            if (node instanceof VarInsnNode) {
+                instructions.add((VarInsnNode) node);
+            }
+        }
+        instructions.stream()
+            .filter(instruction -> instruction.getOpcode() == ASTORE)
+            .forEach(instruction -> frame.bind(instruction.var));
+        List<String> layout = frame.getLayout();
+        instructions.forEach(instruction -> instruction.var = layout.indexOf(frame.getName(instruction.var)));
     }
 
     private static class CaseEntry {
@@ -347,7 +612,7 @@ public class BytecodeGenerator {
 
         public CaseEntry(int size) {
             labels = new ArrayList<>();
-            for (int i = 0; i <= size; i++) {
+            for (int i = 0; i <= size + 1; i++) {
                 labels.add(new LabelNode());
             }
         }
@@ -360,8 +625,97 @@ public class BytecodeGenerator {
             return labels.get(labels.size() - 1);
         }
 
+        public LabelNode matchFailure() {
+            return labels.get(labels.size() - 2);
+        }
+
         public LabelNode nextCase() {
             return labels.get(position);
         }
     }
+
+    // the variables used by the body of a lambda or direct method while it is generated, numbered in order of first
+    // use until the body is complete and the captured variables are known
+    private static class ClosureFrame {
+
+        private final List<String> parameters;
+        private final List<String> variables;
+        private final Set<String>  bound;
+
+        public ClosureFrame(List<String> parameters) {
+            this.parameters = parameters;
+            this.variables = new ArrayList<>(parameters);
+            this.bound = new HashSet<>();
+        }
+
+        public void bind(int variable) {
+            bound.add(variables.get(variable));
+        }
+
+        public List<String> getCaptures() {
+            return variables.stream()
+                .filter(name -> !parameters.contains(name) && !bound.contains(name))
+                .collect(toList());
+        }
+
+        public List<String> getLayout() {
+            return ImmutableList.<String>builder()
+                .addAll(getCaptures())
+                .addAll(parameters)
+                .addAll(variables.stream()
+                    .filter(name -> !parameters.contains(name) && bound.contains(name))
+                    .collect(toList()))
+                .build();
+        }
+
+        public String getName(int variable) {
+            return variables.get(variable);
+        }
+
+        public List<String> getParameters() {
+            return parameters;
+        }
+
+        public int getVariable(String name) {
+            if (!variables.contains(name)) {
+                variables.add(name);
+            }
+            return variables.indexOf(name);
+        }
+    }
+
+    private static class Specialization {
+
+        private final Symbol                  symbol;
+        private final Map<String, Instance>   dictionaries;
+        private final List<InstanceReference> instances;
+
+        public Specialization(Symbol symbol, List<Argument> arguments, List<Instance> instances) {
+            this.symbol = symbol;
+            this.dictionaries = new HashMap<>();
+            this.instances = instances.stream().map(Instance::getReference).collect(toList());
+            for (int i = 0; i < arguments.size(); i++) {
+                dictionaries.put(arguments.get(i).getName(), instances.get(i));
+            }
+        }
+
+        public Optional<Instance> getDictionary(String name) {
+            return Optional.ofNullable(dictionaries.get(name));
+        }
+    }
+
+    private static class TailCall {
+
+        private final Symbol                  symbol;
+        private final int                     arity;
+        private final List<InstanceReference> instances;
+        private final LabelNode               start;
+
+        public TailCall(Symbol symbol, int arity, List<InstanceReference> instances) {
+            this.symbol = symbol;
+            this.arity = arity;
+            this.instances = instances;
+            this.start = new LabelNode();
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package scotch.compiler.steps;
+
+import java.util.List;
+import com.google.common.collect.ImmutableList;
+import me.qmx.jitescript.CodeBlock;
+
+// The body of a generated lambda together with the variables it captures from the enclosing frame. Only the
+// variables the body actually reads are captured, renumbered in the order they appear in the enclosing frame.
+public class Closure {
+
+    private final CodeBlock      captures;
+    private final List<Class<?>> captureTypes;
+    private final List<Class<?>> parameterTypes;
+    private final CodeBlock      body;
+
+    Closure(CodeBlock captures, List<Class<?>> captureTypes, List<Class<?>> parameterTypes, CodeBlock body) {
+        this.captures = captures;
+        this.captureTypes = ImmutableList.copyOf(captureTypes);
+        this.parameterTypes = ImmutableList.copyOf(parameterTypes);
+        this.body = body;
+    }
+
+    public CodeBlock getBody() {
+        return body;
+    }
+
+    public Class<?>[] getCaptureTypes() {
+        return captureTypes.toArray(new Class<?>[captureTypes.size()]);
+    }
+
+    public CodeBlock getCaptures() {
+        return captures;
+    }
+
+    // the captured variables followed by the parameters of the lambda
+    public Class<?>[] getSignatureTypes() {
+        List<Class<?>> types = ImmutableList.<Class<?>>builder()
+            .addAll(captureTypes)
+            .addAll(parameterTypes)
+            .build();
+        return types.toArray(new Class<?>[types.size()]);
+    }
+}
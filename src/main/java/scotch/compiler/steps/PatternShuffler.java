@@ -1,6 +1,7 @@
 package scotch.compiler.steps;
 
 import static java.util.Collections.reverse;
+import static java.util.stream.Collectors.toList;
 import static scotch.compiler.error.ParseError.parseError;
 import static scotch.compiler.util.Either.left;
 import static scotch.compiler.util.Either.right;
@@ -9,13 +10,16 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
+import java.util.function.Function;
 import com.google.common.collect.ImmutableList;
 import scotch.compiler.error.SyntaxError;
 import scotch.symbol.Symbol;
 import scotch.compiler.syntax.definition.UnshuffledDefinition;
 import scotch.compiler.syntax.scope.Scope;
 import scotch.compiler.syntax.pattern.CaptureMatch;
+import scotch.compiler.syntax.pattern.ConstructorMatch;
 import scotch.compiler.syntax.pattern.PatternMatch;
+import scotch.compiler.syntax.pattern.UnshuffledStructureMatch;
 import scotch.compiler.util.Either;
 
 public class PatternShuffler {
@@ -24,8 +28,16 @@ public class PatternShuffler {
         return right(new ShuffledPattern(symbol, matches));
     }
 
+    private static Either<SyntaxError, PatternMatch> success(PatternMatch match) {
+        return right(match);
+    }
+
     public Either<SyntaxError, ShuffledPattern> shuffle(Scope scope, List<String> memberNames, UnshuffledDefinition pattern) {
-        return new Shuffler(scope, memberNames, pattern).splitPattern();
+        return new Shuffler(scope, memberNames).splitPattern(pattern);
+    }
+
+    public Either<SyntaxError, PatternMatch> shuffle(Scope scope, UnshuffledStructureMatch match, Function<PatternMatch, PatternMatch> parser) {
+        return new Shuffler(scope, ImmutableList.of()).shuffleStructure(match, parser);
     }
 
     private static final class ShuffleException extends RuntimeException {
@@ -40,17 +52,29 @@ public class PatternShuffler {
 
     private final class Shuffler {
 
-        private final Scope                scope;
-        private final List<String>         memberNames;
-        private final UnshuffledDefinition pattern;
+        private final Scope        scope;
+        private final List<String> memberNames;
 
-        private Shuffler(Scope scope, List<String> memberNames, UnshuffledDefinition pattern) {
+        private Shuffler(Scope scope, List<String> memberNames) {
             this.scope = scope;
             this.memberNames = ImmutableList.copyOf(memberNames);
-            this.pattern = pattern;
         }
 
-        public Either<SyntaxError, ShuffledPattern> splitPattern() {
+        public Either<SyntaxError, PatternMatch> shuffleStructure(UnshuffledStructureMatch match, Function<PatternMatch, PatternMatch> parser) {
+            try {
+                List<PatternMatch> matches = shufflePattern(match.getPatternMatches()).stream()
+                    .map(parser)
+                    .collect(toList());
+                PatternMatch head = matches.remove(0);
+                return head.asConstructor()
+                    .map(constructor -> success(constructor.withFields(matches, scope)))
+                    .orElseGet(m -> left(parseError("Illegal start of pattern", m.getSourceLocation())));
+            } catch (ShuffleException exception) {
+                return left(exception.syntaxError);
+            }
+        }
+
+        public Either<SyntaxError, ShuffledPattern> splitPattern(UnshuffledDefinition pattern) {
             try {
                 List<PatternMatch> matches = shufflePattern(pattern.getMatches());
                 return matches.remove(0).asCapture()
@@ -22,6 +22,7 @@ import scotch.compiler.error.SyntaxError;
 import scotch.symbol.Operator;
 import scotch.symbol.Symbol;
 import scotch.symbol.type.Type;
+import scotch.symbol.type.VariableType;
 import scotch.compiler.syntax.Scoped;
 import scotch.compiler.syntax.definition.Definition;
 import scotch.compiler.syntax.definition.DefinitionEntry;
@@ -29,6 +30,8 @@ import scotch.compiler.syntax.definition.DefinitionGraph;
 import scotch.compiler.syntax.definition.UnshuffledDefinition;
 import scotch.compiler.syntax.definition.ValueDefinition;
 import scotch.compiler.syntax.pattern.PatternCase;
+import scotch.compiler.syntax.pattern.PatternMatch;
+import scotch.compiler.syntax.pattern.UnshuffledStructureMatch;
 import scotch.compiler.syntax.reference.DefinitionReference;
 import scotch.compiler.syntax.scope.Scope;
 import scotch.compiler.syntax.value.Argument;
@@ -156,6 +159,10 @@ public class PrecedenceParser {
         return scope().reserveSymbol(memberNames.peek());
     }
 
+    public VariableType reserveType() {
+        return scope().reserveType();
+    }
+
     public Scope scope() {
         return scopes.peek();
     }
@@ -203,6 +210,15 @@ public class PrecedenceParser {
             });
     }
 
+    public PatternMatch shuffle(UnshuffledStructureMatch match) {
+        return new PatternShuffler()
+            .shuffle(scope(), match, m -> m.parsePrecedence(this))
+            .orElseGet(error -> {
+                errors.add(error);
+                return match;
+            });
+    }
+
     public Value shuffle(UnshuffledValue value) {
         return new ValueShuffler(v -> v.parsePrecedence(this))
             .shuffle(scope(), value.getValues()).orElseGet(left -> {
@@ -0,0 +1,283 @@
+package scotch.compiler.steps;
+
+import static java.util.stream.Collectors.toList;
+import static scotch.compiler.syntax.reference.DefinitionReference.valueRef;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import scotch.compiler.syntax.Scoped;
+import scotch.compiler.syntax.definition.DefinitionEntry;
+import scotch.compiler.syntax.definition.DefinitionGraph;
+import scotch.compiler.syntax.definition.ValueDefinition;
+import scotch.compiler.syntax.pattern.PatternCase;
+import scotch.compiler.syntax.pattern.PatternMatch;
+import scotch.compiler.syntax.reference.InstanceReference;
+import scotch.compiler.syntax.scope.Scope;
+import scotch.compiler.syntax.value.Apply;
+import scotch.compiler.syntax.value.Argument;
+import scotch.compiler.syntax.value.Instance;
+import scotch.compiler.syntax.value.Method;
+import scotch.compiler.syntax.value.Value;
+import scotch.symbol.Symbol;
+import scotch.symbol.descriptor.TypeInstanceDescriptor;
+
+public class StrictnessAnalyzer {
+
+    private final DefinitionGraph            graph;
+    private final Deque<Scope>               scopes;
+    private final Deque<Demand>              demands;
+    private final Deque<List<Set<String>>>   branches;
+    private final Deque<Map<String, String>> aliases;
+    private final Deque<Set<String>>         scrutinees;
+    private final Deque<ValueDefinition>     definitions;
+    private final Map<Symbol, List<Boolean>> signatures;
+
+    public StrictnessAnalyzer(DefinitionGraph graph) {
+        this.graph = graph;
+        this.scopes = new ArrayDeque<>();
+        this.demands = new ArrayDeque<>();
+        this.branches = new ArrayDeque<>();
+        this.aliases = new ArrayDeque<>();
+        this.scrutinees = new ArrayDeque<>();
+        this.definitions = new ArrayDeque<>();
+        this.signatures = new HashMap<>();
+    }
+
+    public void alias(String name, String argument) {
+        aliases.peek().put(name, argument);
+    }
+
+    public List<PatternMatch> analyzeMatches(List<PatternMatch> patternMatches) {
+        List<PatternMatch> results = new ArrayList<>();
+        boolean tested = false;
+        for (PatternMatch match : patternMatches) {
+            if (tested) {
+                results.add(match.analyzeStrictness(this));
+            } else {
+                Set<String> forced = new HashSet<>();
+                results.add(demand(false, forced, () -> match.analyzeStrictness(this)));
+                demands.peek().forced.addAll(forced);
+                scrutinees.peek().addAll(forced);
+                tested = !match.isIrrefutable();
+            }
+        }
+        return results;
+    }
+
+    public List<PatternCase> analyzePatternCases(List<PatternCase> patternCases) {
+        Set<String> enclosing = demands.peek().forced;
+        return branches(() -> {
+            List<PatternCase> results = new ArrayList<>();
+            for (PatternCase patternCase : patternCases) {
+                // only the matches up to the first refutable one in the first case are always tested
+                scrutinees.push(results.isEmpty() ? enclosing : new HashSet<>());
+                aliases.push(new HashMap<>());
+                try {
+                    results.add(branch(() -> patternCase.analyzeStrictness(this)));
+                } finally {
+                    aliases.pop();
+                    scrutinees.pop();
+                }
+            }
+            return results;
+        });
+    }
+
+    public DefinitionGraph analyzeStrictness() {
+        if (graph.hasErrors()) {
+            return graph;
+        } else {
+            List<DefinitionEntry> entries;
+            Map<Symbol, List<Boolean>> previousSignatures;
+            do {
+                previousSignatures = new HashMap<>(signatures);
+                entries = graph.stream()
+                    .map(this::analyzeEntry)
+                    .collect(toList());
+            } while (!signatures.equals(previousSignatures));
+            return graph.copyWith(entries).build();
+        }
+    }
+
+    public <T> T branch(Supplier<T> supplier) {
+        Set<String> forced = new HashSet<>();
+        T result = demand(isDemanded(), forced, supplier);
+        branches.peek().add(forced);
+        return result;
+    }
+
+    public <T> T branches(Supplier<T> supplier) {
+        branches.push(new ArrayList<>());
+        try {
+            T result = supplier.get();
+            List<Set<String>> forcedSets = branches.peek();
+            if (!forcedSets.isEmpty()) {
+                Set<String> forced = new HashSet<>(forcedSets.get(0));
+                forcedSets.forEach(forced::retainAll);
+                demands.peek().forced.addAll(forced);
+            }
+            return result;
+        } finally {
+            branches.pop();
+        }
+    }
+
+    public ValueDefinition define(ValueDefinition definition, Supplier<ValueDefinition> supplier) {
+        definitions.push(definition);
+        try {
+            return demand(false, new HashSet<>(), supplier);
+        } finally {
+            definitions.pop();
+        }
+    }
+
+    public <T> T demanded(Supplier<T> supplier) {
+        return demand(true, demands.peek().forced, supplier);
+    }
+
+    public <T> T demandedIf(boolean demanded, Supplier<T> supplier) {
+        if (demanded) {
+            return demanded(supplier);
+        } else {
+            return demand(false, new HashSet<>(), supplier);
+        }
+    }
+
+    public void force(String name) {
+        demands.peek().forced.add(resolve(name));
+    }
+
+    public <T extends Value> T function(T function, List<Argument> arguments, Supplier<T> supplier) {
+        ValueDefinition definition = definitions.peek();
+        if (definition != null && definition.getBody() == function) {
+            Set<String> forced = new HashSet<>();
+            T result = demand(false, forced, supplier);
+            List<Boolean> signature = arguments.stream()
+                .map(argument -> forced.contains(argument.getName()))
+                .collect(toList());
+            signatures.put(definition.getSymbol(), signature);
+            return result;
+        } else {
+            return demand(false, new HashSet<>(), supplier);
+        }
+    }
+
+    public boolean isDemanded() {
+        return demands.peek().demanded;
+    }
+
+    // decided once for the whole spine of a call, since only the saturated application knows which of the arguments
+    // the function forces
+    public List<Boolean> getStrictArguments(Value head, List<Value> arguments) {
+        List<Boolean> strictArguments = new ArrayList<>();
+        arguments.forEach(argument -> strictArguments.add(false));
+        if (head instanceof Method) {
+            Method method = (Method) head;
+            int instanceCount = method.getInstances().size();
+            Optional<Integer> unanalyzedArity = getUnanalyzedArity(method.getSymbol())
+                .filter(arity -> arguments.size() >= arity);
+            if (signatures.containsKey(method.getSymbol())) {
+                List<Boolean> signature = signatures.get(method.getSymbol());
+                if (arguments.size() >= signature.size()) {
+                    for (int position = 0; position < signature.size(); position++) {
+                        strictArguments.set(position, signature.get(position));
+                    }
+                }
+            } else if (unanalyzedArity.isPresent()) {
+                for (int position = 0; position < unanalyzedArity.get(); position++) {
+                    strictArguments.set(position, true);
+                }
+            } else if (scope().isMember(method.getSymbol()) && arguments.size() > instanceCount
+                && arguments.subList(0, instanceCount).stream().allMatch(this::isStrictInstance)) {
+                for (int position = instanceCount; position < arguments.size(); position++) {
+                    strictArguments.set(position, true);
+                }
+            }
+        }
+        return strictArguments;
+    }
+
+    public Scope scope() {
+        return scopes.peek();
+    }
+
+    public <T extends Scoped> T scoped(Scoped scoped, Supplier<T> supplier) {
+        scopes.push(graph.tryGetScope(scoped.getReference()).orElseGet(this::scope));
+        try {
+            return supplier.get();
+        } finally {
+            scopes.pop();
+        }
+    }
+
+    private DefinitionEntry analyzeEntry(DefinitionEntry entry) {
+        return entry.getDefinition().asValue()
+            .map(definition -> {
+                scopes.push(entry.getScope());
+                try {
+                    return DefinitionEntry.entry(entry.getScope(), definition.analyzeStrictness(this));
+                } finally {
+                    scopes.pop();
+                }
+            })
+            .orElseGet(definition -> entry);
+    }
+
+    private <T> T demand(boolean demanded, Set<String> forced, Supplier<T> supplier) {
+        demands.push(new Demand(demanded, forced));
+        try {
+            return supplier.get();
+        } finally {
+            demands.pop();
+        }
+    }
+
+    // functions in this graph are assumed strict in all arguments until analyzed, so that arguments passed back
+    // into a recursive call (such as accumulators) are only lazy when some branch really ignores them
+    private Optional<Integer> getUnanalyzedArity(Symbol symbol) {
+        return graph.getDefinition(valueRef(symbol))
+            .map(definition -> definition.getBody().getArguments().size());
+    }
+
+    private boolean isStrictInstance(Value value) {
+        if (value instanceof Instance) {
+            InstanceReference reference = ((Instance) value).getReference();
+            return scope().getTypeInstance(
+                reference.getClassReference(),
+                reference.getModuleReference(),
+                reference.getParameters().stream()
+                    .map(parameter -> parameter.copy(scope()::reserveType))
+                    .collect(toList())
+            ).map(TypeInstanceDescriptor::isStrict).orElse(false);
+        } else {
+            return false;
+        }
+    }
+
+    private String resolve(String name) {
+        String result = name;
+        for (Map<String, String> frame : aliases) {
+            result = frame.getOrDefault(result, result);
+        }
+        return result;
+    }
+
+    private static final class Demand {
+
+        private final boolean     demanded;
+        private final Set<String> forced;
+
+        private Demand(boolean demanded, Set<String> forced) {
+            this.demanded = demanded;
+            this.forced = forced;
+        }
+    }
+}
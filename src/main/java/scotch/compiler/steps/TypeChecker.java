@@ -89,6 +89,11 @@ public class TypeChecker implements TypeScope {
         closure().addLocal(symbol.getCanonicalName());
     }
 
+    // let-bound definitions are generated as methods of their own, so they can only read the arguments they bind
+    public boolean isBound(Symbol symbol) {
+        return closures.stream().anyMatch(scope -> scope.getLocals().contains(symbol.getCanonicalName()));
+    }
+
     public Definition bind(ValueDefinition definition) {
         return bindMethods(definition
             .withBody(definition.getBody().bindTypes(this)));
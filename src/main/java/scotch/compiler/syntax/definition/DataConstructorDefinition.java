@@ -19,10 +19,11 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import lombok.EqualsAndHashCode;
 import me.qmx.jitescript.CodeBlock;
 import me.qmx.jitescript.JiteClass;
@@ -36,6 +37,7 @@ import scotch.compiler.text.SourceLocation;
 import scotch.runtime.Callable;
 import scotch.runtime.Copyable;
 import scotch.runtime.RuntimeSupport;
+import scotch.runtime.Structure;
 import scotch.symbol.FieldSignature;
 import scotch.symbol.Symbol;
 import scotch.symbol.descriptor.DataConstructorDescriptor;
@@ -43,6 +45,9 @@ import scotch.symbol.descriptor.DataConstructorDescriptor;
 @EqualsAndHashCode(callSuper = false, doNotUseGetters = true)
 public class DataConstructorDefinition implements Comparable<DataConstructorDefinition> {
 
+    private static final String HASH_FIELD     = "hash$";
+    private static final String INTERNER_FIELD = "interner$";
+
     public static Builder builder() {
         return new Builder();
     }
@@ -84,12 +89,13 @@ public class DataConstructorDefinition implements Comparable<DataConstructorDefi
         return constantField.orElseThrow(() -> new IllegalStateException("Data constructor " + symbol + " is not niladic"));
     }
 
-    public void generateBytecode(BytecodeGenerator state) {
+    public void generateBytecode(BytecodeGenerator state, boolean interned) {
         JiteClass parentClass = state.currentClass();
         if (isNiladic()) {
             state.beginConstant(state.getDataConstructorClass(symbol), sourceLocation);
             parentClass.addChildClass(state.currentClass());
             generateInstanceField(state);
+            generateTag(state);
             generateToString(state);
             state.endClass();
         } else {
@@ -97,11 +103,15 @@ public class DataConstructorDefinition implements Comparable<DataConstructorDefi
             parentClass.addChildClass(state.currentClass());
             generateFields(state);
             generateConstructor(state, parentClass);
+            generateFactory(state, interned);
             generateEquals(state);
             generateGetters(state);
             generateHashCode(state);
+            generateTag(state);
             generateToString(state);
-            generateCopyConstructor(state);
+            generateCopyConstructor(state, interned);
+            generatePositionalCopy(state, interned);
+            generateStructure(state);
             state.endClass();
         }
     }
@@ -138,7 +148,7 @@ public class DataConstructorDefinition implements Comparable<DataConstructorDefi
         DataConstructorDefinition definition = withFields(fields.values().stream()
             .map(field -> field.qualifyNames(state))
             .collect(toList()));
-        state.redefineDataConstructor(symbol, getDescriptor());
+        state.redefineDataConstructor(symbol, definition.getDescriptor());
         return definition;
     }
 
@@ -158,14 +168,14 @@ public class DataConstructorDefinition implements Comparable<DataConstructorDefi
                 int offset = counter.get();
                 aload(0);
                 aload(offset);
-                putfield(state.currentClass().getClassName(), field.getJavaName(), ci(field.getJavaType()));
+                append(field.getDescriptor().putValue(state.currentClass().getClassName()));
                 counter.getAndIncrement();
             });
             voidreturn();
         }});
     }
 
-    private void generateCopyConstructor(BytecodeGenerator state) {
+    private void generateCopyConstructor(BytecodeGenerator state, boolean interned) {
         state.method("copy", ACC_PUBLIC, sig(Copyable.class, Map.class), new CodeBlock() {{
             newobj(state.currentClass().getClassName());
             dup();
@@ -183,10 +193,11 @@ public class DataConstructorDefinition implements Comparable<DataConstructorDefi
                 go_to(endField);
                 label(fromField);
                 aload(0);
-                getfield(state.currentClass().getClassName(), field.getJavaName(), ci(field.getJavaType()));
+                append(field.getDescriptor().getValue(state.currentClass().getClassName()));
                 label(endField);
             }
             invokespecial(state.currentClass().getClassName(), "<init>", sig(void.class, getParameters()));
+            append(intern(state.currentClass().getClassName(), interned));
             areturn();
         }});
     }
@@ -204,27 +215,15 @@ public class DataConstructorDefinition implements Comparable<DataConstructorDefi
             if_acmpne(valueCompare);
             go_to(equal);
 
-            // o instanceof {class} && values equal
+            // o instanceof {class} && values equal, walking nested values iteratively
             label(valueCompare);
             aload(1);
             instance_of(className);
             ifeq(notEqual);
-            if (!fields.isEmpty()) {
-                aload(1);
-                checkcast(className);
-                astore(2);
-                fields.values().forEach(field -> {
-                    aload(0);
-                    getfield(className, field.getJavaName(), ci(field.getJavaType()));
-                    invokeinterface(p(Callable.class), "call", sig(Object.class));
-                    aload(2);
-                    checkcast(className);
-                    getfield(className, field.getJavaName(), ci(field.getJavaType()));
-                    invokeinterface(p(Callable.class), "call", sig(Object.class));
-                    invokestatic(p(Objects.class), "equals", sig(boolean.class, Object.class, Object.class));
-                    ifeq(notEqual);
-                });
-            }
+            aload(0);
+            aload(1);
+            invokestatic(p(RuntimeSupport.class), "equal", sig(boolean.class, Structure.class, Object.class));
+            ireturn();
 
             label(equal);
             iconst_1();
@@ -237,8 +236,31 @@ public class DataConstructorDefinition implements Comparable<DataConstructorDefi
         }});
     }
 
+    // constructs through a weak intern table when the data type is interned, so equal values share one instance
+    private void generateFactory(BytecodeGenerator state, boolean interned) {
+        String className = state.currentClass().getClassName();
+        if (interned) {
+            state.field(INTERNER_FIELD, ACC_PRIVATE | ACC_STATIC | ACC_FINAL, ci(Interner.class));
+            state.initialize(new CodeBlock() {{
+                invokestatic(p(Interners.class), "newWeakInterner", sig(Interner.class));
+                putstatic(className, INTERNER_FIELD, ci(Interner.class));
+            }});
+        }
+        state.method("create", ACC_PUBLIC | ACC_STATIC, sig(Object.class, getParameters()), new CodeBlock() {{
+            newobj(className);
+            dup();
+            for (int i = 0; i < fields.size(); i++) {
+                aload(i);
+            }
+            invokespecial(className, "<init>", sig(void.class, getParameters()));
+            append(intern(className, interned));
+            areturn();
+        }});
+    }
+
     private void generateFields(BytecodeGenerator state) {
         fields.values().forEach(field -> field.generateBytecode(state));
+        state.field(HASH_FIELD, ACC_PRIVATE, ci(int.class));
     }
 
     private void generateGetters(final BytecodeGenerator state) {
@@ -248,34 +270,17 @@ public class DataConstructorDefinition implements Comparable<DataConstructorDefi
             Class<?> type = parameters[counter.getAndIncrement()];
             state.method("get" + capitalize(field.getJavaName()), ACC_PUBLIC, sig(type), new CodeBlock() {{
                 aload(0);
-                getfield(state.currentClass().getClassName(), field.getJavaName(), ci(type));
+                append(field.getDescriptor().getValue(state.currentClass().getClassName()));
                 areturn();
             }});
         });
     }
 
+    // memoized in the hash field, walking nested values iteratively
     private void generateHashCode(BytecodeGenerator state) {
         state.method("hashCode", ACC_PUBLIC, sig(int.class), new CodeBlock() {{
-            if (fields.size() == 1) {
-                aload(0);
-                DataFieldDefinition field = fields.values().iterator().next();
-                getfield(state.currentClass().getClassName(), field.getJavaName(), ci(field.getJavaType()));
-                invokeinterface(p(Callable.class), "call", sig(Object.class));
-                invokestatic(p(Objects.class), "hashCode", sig(int.class, Object.class));
-            } else {
-                ldc(fields.size());
-                anewarray(p(Object.class));
-                AtomicInteger counter = new AtomicInteger();
-                fields.values().forEach(field -> {
-                    dup();
-                    ldc(counter.getAndIncrement());
-                    aload(0);
-                    getfield(state.currentClass().getClassName(), field.getJavaName(), ci(field.getJavaType()));
-                    invokeinterface(p(Callable.class), "call", sig(Object.class));
-                    aastore();
-                });
-                invokestatic(p(Objects.class), "hash", sig(int.class, Object[].class));
-            }
+            aload(0);
+            invokestatic(p(RuntimeSupport.class), "hash", sig(int.class, Structure.class));
             ireturn();
         }});
     }
@@ -300,6 +305,64 @@ public class DataConstructorDefinition implements Comparable<DataConstructorDefi
         }});
     }
 
+    // copies the fields positionally, keeping the current value of each field passed as null
+    private void generatePositionalCopy(BytecodeGenerator state, boolean interned) {
+        state.method("copy", ACC_PUBLIC, sig(Copyable.class, getParameters()), new CodeBlock() {{
+            String className = state.currentClass().getClassName();
+            newobj(className);
+            dup();
+            AtomicInteger counter = new AtomicInteger(1);
+            fields.values().forEach(field -> {
+                LabelNode endField = new LabelNode();
+                aload(counter.getAndIncrement());
+                dup();
+                ifnonnull(endField);
+                pop();
+                aload(0);
+                append(field.getDescriptor().getValue(className));
+                label(endField);
+            });
+            invokespecial(className, "<init>", sig(void.class, getParameters()));
+            append(intern(className, interned));
+            areturn();
+        }});
+    }
+
+    private void generateStructure(BytecodeGenerator state) {
+        String className = state.currentClass().getClassName();
+        state.method("cacheHash", ACC_PUBLIC, sig(void.class, int.class), new CodeBlock() {{
+            aload(0);
+            iload(1);
+            putfield(className, HASH_FIELD, ci(int.class));
+            voidreturn();
+        }});
+        state.method("cachedHash", ACC_PUBLIC, sig(int.class), new CodeBlock() {{
+            aload(0);
+            getfield(className, HASH_FIELD, ci(int.class));
+            ireturn();
+        }});
+        state.method("fields", ACC_PUBLIC, sig(Callable[].class), new CodeBlock() {{
+            ldc(fields.size());
+            anewarray(p(Callable.class));
+            AtomicInteger counter = new AtomicInteger();
+            fields.values().forEach(field -> {
+                dup();
+                ldc(counter.getAndIncrement());
+                aload(0);
+                append(field.getDescriptor().getValue(className));
+                aastore();
+            });
+            areturn();
+        }});
+    }
+
+    private void generateTag(BytecodeGenerator state) {
+        state.method("tag", ACC_PUBLIC, sig(int.class), new CodeBlock() {{
+            ldc(ordinal);
+            ireturn();
+        }});
+    }
+
     private void generateToString(BytecodeGenerator state) {
         state.method("toString", ACC_PUBLIC, sig(String.class), new CodeBlock() {{
             newobj(p(StringBuilder.class));
@@ -318,7 +381,7 @@ public class DataConstructorDefinition implements Comparable<DataConstructorDefi
                     ldc(" " + field.getName() + " = ");
                     invokevirtual(p(StringBuilder.class), "append", sig(StringBuilder.class, String.class));
                     aload(0);
-                    getfield(state.currentClass().getClassName(), field.getJavaName(), ci(field.getJavaType()));
+                    append(field.getDescriptor().getValue(state.currentClass().getClassName()));
                     invokeinterface(p(Callable.class), "call", sig(Object.class));
                     invokevirtual(p(Object.class), "toString", sig(String.class));
                     invokevirtual(p(StringBuilder.class), "append", sig(StringBuilder.class, String.class));
@@ -339,6 +402,17 @@ public class DataConstructorDefinition implements Comparable<DataConstructorDefi
         return parameters.toArray(new Class<?>[parameters.size()]);
     }
 
+    private CodeBlock intern(String className, boolean interned) {
+        return new CodeBlock() {{
+            if (interned) {
+                getstatic(className, INTERNER_FIELD, ci(Interner.class));
+                swap();
+                invokeinterface(p(Interner.class), "intern", sig(Object.class, Object.class));
+                checkcast(className);
+            }
+        }};
+    }
+
     private DataConstructorDefinition withFields(List<DataFieldDefinition> fields) {
         return new DataConstructorDefinition(sourceLocation, ordinal, dataType, symbol, fields);
     }
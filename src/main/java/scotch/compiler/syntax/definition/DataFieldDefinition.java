@@ -2,7 +2,7 @@ package scotch.compiler.syntax.definition;
 
 import static me.qmx.jitescript.util.CodegenUtils.ci;
 import static org.objectweb.asm.Opcodes.ACC_FINAL;
-import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
 import static scotch.symbol.Symbol.symbol;
 import static scotch.symbol.descriptor.DataFieldDescriptor.field;
 import static scotch.compiler.syntax.builder.BuilderUtil.require;
@@ -14,15 +14,12 @@ import scotch.compiler.steps.BytecodeGenerator;
 import scotch.symbol.NameQualifier;
 import scotch.symbol.Symbol;
 import scotch.symbol.descriptor.DataFieldDescriptor;
-import scotch.symbol.type.FunctionType;
 import scotch.symbol.type.Type;
 import scotch.compiler.syntax.builder.SyntaxBuilder;
 import scotch.compiler.syntax.value.Argument;
 import scotch.compiler.syntax.value.Identifier;
 import scotch.compiler.syntax.value.Value;
 import scotch.compiler.text.SourceLocation;
-import scotch.runtime.Applicable;
-import scotch.runtime.Callable;
 
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = false)
@@ -36,6 +33,7 @@ public class DataFieldDefinition implements Comparable<DataFieldDefinition> {
     private final int            ordinal;
     private final String         name;
     private final Type           type;
+    private final boolean        strict;
 
     @Override
     public int compareTo(DataFieldDefinition o) {
@@ -43,11 +41,11 @@ public class DataFieldDefinition implements Comparable<DataFieldDefinition> {
     }
 
     public void generateBytecode(BytecodeGenerator state) {
-        state.field(Symbol.toJavaName(name), ACC_PRIVATE | ACC_FINAL, ci(getJavaType()));
+        state.field(Symbol.toJavaName(name), ACC_PUBLIC | ACC_FINAL, ci(getDescriptor().getStorageType()));
     }
 
     public DataFieldDescriptor getDescriptor() {
-        return field(ordinal, name, type);
+        return field(ordinal, name, type, strict);
     }
 
     public String getJavaName() {
@@ -55,7 +53,7 @@ public class DataFieldDefinition implements Comparable<DataFieldDefinition> {
     }
 
     public Class<?> getJavaType() {
-        return type instanceof FunctionType ? Applicable.class : Callable.class;
+        return getDescriptor().getJavaType();
     }
 
     public String getName() {
@@ -66,6 +64,10 @@ public class DataFieldDefinition implements Comparable<DataFieldDefinition> {
         return type;
     }
 
+    public boolean isStrict() {
+        return strict;
+    }
+
     public DataFieldDefinition qualifyNames(NameQualifier state) {
         return withType(type.qualifyNames(state));
     }
@@ -80,7 +82,7 @@ public class DataFieldDefinition implements Comparable<DataFieldDefinition> {
 
     @Override
     public String toString() {
-        return name + " " + type;
+        return name + " " + (strict ? "!" : "") + type;
     }
 
     public Value toValue() {
@@ -92,7 +94,7 @@ public class DataFieldDefinition implements Comparable<DataFieldDefinition> {
     }
 
     private DataFieldDefinition withType(Type type) {
-        return new DataFieldDefinition(sourceLocation, ordinal, name, type);
+        return new DataFieldDefinition(sourceLocation, ordinal, name, type, strict);
     }
 
     public static final class Builder implements SyntaxBuilder<DataFieldDefinition> {
@@ -101,13 +103,15 @@ public class DataFieldDefinition implements Comparable<DataFieldDefinition> {
         private Optional<Integer>        ordinal     = Optional.empty();
         private Optional<String>         name        = Optional.empty();
         private Optional<Type>           type        = Optional.empty();
+        private boolean                  strict      = false;
 
         public DataFieldDefinition build() {
             return new DataFieldDefinition(
                 require(sourceLocation, "Source location"),
                 require(ordinal, "Ordinal"),
                 require(name, "Field name"),
-                require(type, "Field type")
+                require(type, "Field type"),
+                strict
             );
         }
 
@@ -127,6 +131,11 @@ public class DataFieldDefinition implements Comparable<DataFieldDefinition> {
             return this;
         }
 
+        public Builder withStrict(boolean strict) {
+            this.strict = strict;
+            return this;
+        }
+
         public Builder withType(Type type) {
             this.type = Optional.of(type);
             return this;
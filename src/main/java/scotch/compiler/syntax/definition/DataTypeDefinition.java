@@ -3,6 +3,9 @@ package scotch.compiler.syntax.definition;
 import static java.util.Collections.sort;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
+import static me.qmx.jitescript.util.CodegenUtils.sig;
+import static org.objectweb.asm.Opcodes.ACC_ABSTRACT;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
 import static scotch.compiler.output.GeneratedClass.ClassType.DATA_TYPE;
 import static scotch.compiler.syntax.builder.BuilderUtil.require;
 import static scotch.compiler.syntax.reference.DefinitionReference.dataRef;
@@ -14,6 +17,7 @@ import java.util.Map;
 import java.util.Optional;
 import com.google.common.collect.ImmutableList;
 import lombok.EqualsAndHashCode;
+import me.qmx.jitescript.CodeBlock;
 import scotch.compiler.steps.BytecodeGenerator;
 import scotch.compiler.steps.DependencyAccumulator;
 import scotch.compiler.steps.NameAccumulator;
@@ -39,8 +43,10 @@ public class DataTypeDefinition extends Definition {
     private final Symbol                                 symbol;
     private final List<Type>                             parameters;
     private final Map<Symbol, DataConstructorDefinition> constructors;
+    private final boolean                                interned;
+    private final boolean                                newtype;
 
-    private DataTypeDefinition(SourceLocation sourceLocation, Symbol symbol, List<Type> parameters, List<DataConstructorDefinition> constructors) {
+    private DataTypeDefinition(SourceLocation sourceLocation, Symbol symbol, List<Type> parameters, List<DataConstructorDefinition> constructors, boolean interned, boolean newtype) {
         List<DataConstructorDefinition> sortedConstructors = new ArrayList<>(constructors);
         sort(sortedConstructors);
         this.sourceLocation = sourceLocation;
@@ -48,6 +54,8 @@ public class DataTypeDefinition extends Definition {
         this.parameters = ImmutableList.copyOf(parameters);
         this.constructors = new LinkedHashMap<>();
         sortedConstructors.forEach(constructor -> this.constructors.put(constructor.getSymbol(), constructor));
+        this.interned = interned;
+        this.newtype = newtype;
     }
 
     @Override
@@ -76,10 +84,16 @@ public class DataTypeDefinition extends Definition {
 
     @Override
     public void generateBytecode(BytecodeGenerator state) {
-        state.beginClass(DATA_TYPE, symbol.getClassName(), sourceLocation);
-        state.currentClass().defineDefaultConstructor();
-        constructors.values().forEach(constructor -> constructor.generateBytecode(state));
-        state.endClass();
+        // a newtype is erased to the value of its single field, so it has no classes
+        if (!newtype) {
+            state.beginClass(DATA_TYPE, symbol.getClassName(), sourceLocation);
+            state.currentClass().setAccess(ACC_PUBLIC | ACC_ABSTRACT);
+            state.currentClass().defineDefaultConstructor();
+            // constructor ordinal, dispatched on by constructor patterns
+            state.method("tag", ACC_PUBLIC | ACC_ABSTRACT, sig(int.class), new CodeBlock());
+            constructors.values().forEach(constructor -> constructor.generateBytecode(state, interned));
+            state.endClass();
+        }
     }
 
     @Override
@@ -92,6 +106,14 @@ public class DataTypeDefinition extends Definition {
         return sourceLocation;
     }
 
+    public boolean isInterned() {
+        return interned;
+    }
+
+    public boolean isNewtype() {
+        return newtype;
+    }
+
     @Override
     public Optional<Definition> parsePrecedence(PrecedenceParser state) {
         return Optional.of(state.keep(this));
@@ -106,7 +128,9 @@ public class DataTypeDefinition extends Definition {
                 state.qualifyTypeNames(parameters),
                 constructors.values().stream()
                     .map(constructor -> constructor.qualifyNames(state))
-                    .collect(toList())
+                    .collect(toList()),
+                interned,
+                newtype
             );
             state.redefineDataType(symbol, definition.getDescriptor());
             return definition;
@@ -115,7 +139,7 @@ public class DataTypeDefinition extends Definition {
 
     @Override
     public String toString() {
-        return symbol.getSimpleName()
+        return (interned ? "interned " : "") + (newtype ? "newtype " : "") + symbol.getSimpleName()
             + (parameters.isEmpty() ? "" : " " + parameters.stream().map(Object::toString).collect(joining(", ")))
             + " = " + constructors.values().stream().map(Object::toString).collect(joining(" | "));
     }
@@ -123,6 +147,8 @@ public class DataTypeDefinition extends Definition {
     private DataTypeDescriptor getDescriptor() {
         return DataTypeDescriptor.builder(symbol)
             .withParameters(parameters)
+            .withNewtype(newtype)
+            .withTagged(!newtype)
             .withConstructors(constructors.values().stream()
                 .map(DataConstructorDefinition::getDescriptor)
                 .collect(toList()))
@@ -135,12 +161,16 @@ public class DataTypeDefinition extends Definition {
         private Optional<Symbol>                          symbol;
         private List<Type>                                parameters;
         private Optional<List<DataConstructorDefinition>> constructors;
+        private boolean                                   interned;
+        private boolean                                   newtype;
 
         private Builder() {
             sourceLocation = Optional.empty();
             symbol = Optional.empty();
             parameters = new ArrayList<>();
             constructors = Optional.empty();
+            interned = false;
+            newtype = false;
         }
 
         public Builder addConstructor(DataConstructorDefinition constructor) {
@@ -162,7 +192,9 @@ public class DataTypeDefinition extends Definition {
                 require(sourceLocation, "Source location"),
                 require(symbol, "Data type symbol"),
                 parameters,
-                require(constructors, "No constructors defined")
+                require(constructors, "No constructors defined"),
+                interned,
+                newtype
             );
         }
 
@@ -171,6 +203,16 @@ public class DataTypeDefinition extends Definition {
             return this;
         }
 
+        public Builder withInterned(boolean interned) {
+            this.interned = interned;
+            return this;
+        }
+
+        public Builder withNewtype(boolean newtype) {
+            this.newtype = newtype;
+            return this;
+        }
+
         public Builder withParameters(List<Type> parameters) {
             parameters.forEach(this::addParameter);
             return this;
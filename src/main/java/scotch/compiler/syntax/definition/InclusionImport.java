@@ -48,6 +48,11 @@ public final class InclusionImport extends Import {
         return Objects.hash(moduleName, includes);
     }
 
+    @Override
+    public String getModuleName() {
+        return moduleName;
+    }
+
     @Override
     public boolean isFrom(String moduleName) {
         return Objects.equals(this.moduleName, moduleName);
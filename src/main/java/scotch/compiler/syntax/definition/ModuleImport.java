@@ -42,6 +42,11 @@ public final class ModuleImport extends Import {
         return Objects.hash(moduleName);
     }
 
+    @Override
+    public String getModuleName() {
+        return moduleName;
+    }
+
     @Override
     public boolean isFrom(String moduleName) {
         return Objects.equals(this.moduleName, moduleName);
@@ -1,30 +1,45 @@
 package scotch.compiler.syntax.definition;
 
+import static java.util.Collections.nCopies;
 import static lombok.AccessLevel.PACKAGE;
+import static me.qmx.jitescript.util.CodegenUtils.ci;
+import static me.qmx.jitescript.util.CodegenUtils.p;
 import static me.qmx.jitescript.util.CodegenUtils.sig;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
 import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
 import static org.objectweb.asm.Opcodes.ACC_STATIC;
 import static scotch.compiler.syntax.TypeError.typeError;
 import static scotch.compiler.syntax.builder.BuilderUtil.require;
 import static scotch.compiler.syntax.reference.DefinitionReference.valueRef;
 import static scotch.compiler.util.Either.right;
+import static scotch.symbol.MethodSignature.staticMethod;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import me.qmx.jitescript.CodeBlock;
+import me.qmx.jitescript.LambdaBlock;
 import scotch.compiler.steps.BytecodeGenerator;
 import scotch.compiler.steps.DependencyAccumulator;
 import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.OperatorAccumulator;
 import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
+import scotch.runtime.Callable;
+import scotch.runtime.SuppliedThunk;
+import scotch.symbol.MethodSignature;
 import scotch.symbol.Symbol;
 import scotch.symbol.type.Type;
 import scotch.compiler.syntax.builder.SyntaxBuilder;
 import scotch.compiler.syntax.reference.ValueReference;
+import scotch.compiler.syntax.value.Argument;
+import scotch.compiler.syntax.value.Instance;
 import scotch.compiler.syntax.value.Value;
 import scotch.compiler.text.SourceLocation;
 import scotch.compiler.util.Either;
@@ -61,6 +76,10 @@ public class ValueDefinition extends Definition {
         return state.scoped(this, () -> withBody(body.accumulateNames(state)));
     }
 
+    public ValueDefinition analyzeStrictness(StrictnessAnalyzer state) {
+        return state.define(this, () -> withBody(body.analyzeStrictness(state)));
+    }
+
     @Override
     public Optional<Symbol> asSymbol() {
         return Optional.of(symbol);
@@ -95,18 +114,65 @@ public class ValueDefinition extends Definition {
 
     @Override
     public void generateBytecode(BytecodeGenerator state) {
-        state.generate(this, () -> state.method(getMethodName(), ACC_STATIC | ACC_PUBLIC, sig(state.typeOf(getType())), new CodeBlock() {{
-            annotate(scotch.symbol.Value.class).value("memberName", symbol.getSimpleName());
-            markLine(this);
-            append(body.generateBytecode(state));
-            areturn();
-        }}));
+        state.generate(this, () -> {
+            Optional<MethodSignature> directMethod = getDirectMethod(state);
+            directMethod.ifPresent(method -> state.method(method.getMethodName(), ACC_STATIC | ACC_PUBLIC, method.getSignature(), new CodeBlock() {{
+                markLine(this);
+                append(state.selfTailCalls(symbol, body.getArguments().size(), () -> body.generateDirectBytecode(state)));
+                areturn();
+            }}));
+            if (isConstant(state)) {
+                generateConstant(state);
+            } else {
+                state.method(getMethodName(), ACC_STATIC | ACC_PUBLIC, sig(state.typeOf(getType())), new CodeBlock() {{
+                    annotate(scotch.symbol.Value.class).value("memberName", symbol.getSimpleName());
+                    markLine(this);
+                    if (directMethod.isPresent()) {
+                        append(body.generateCurriedBytecode(state, symbol));
+                    } else {
+                        append(body.generateBytecode(state));
+                    }
+                    areturn();
+                }});
+            }
+        });
+    }
+
+    public Optional<MethodSignature> generateSpecialization(BytecodeGenerator state, List<Instance> instances) {
+        return getDirectMethod(state).map(directMethod -> {
+            List<Argument> arguments = body.getArguments();
+            int arity = arguments.size() - instances.size();
+            MethodSignature method = staticMethod(
+                symbol.getModuleClass(),
+                state.reserveSpecialization(getMethodName()),
+                sig(state.typeOf(body.getResultType()), nCopies(arity, Callable.class).toArray(new Class<?>[arity]))
+            );
+            state.generate(this, () -> state.specialize(symbol, arguments.subList(0, instances.size()), instances, method, () -> new CodeBlock() {{
+                markLine(this);
+                append(state.selfTailCalls(symbol, arguments.size(), () -> body.generateDirectBytecode(state)));
+                areturn();
+            }}));
+            return method;
+        });
     }
 
     public Value getBody() {
         return body;
     }
 
+    public Optional<MethodSignature> getDirectMethod(BytecodeGenerator state) {
+        int arity = body.getArguments().size();
+        if (arity > 0 && symbol.getMemberNames().size() == 1) {
+            return Optional.of(staticMethod(
+                symbol.getModuleClass(),
+                getMethodName() + "$direct",
+                sig(state.typeOf(body.getResultType()), nCopies(arity, Callable.class).toArray(new Class<?>[arity]))
+            ));
+        } else {
+            return Optional.empty();
+        }
+    }
+
     public String getMethodName() {
         return symbol.unqualify().getMethodName();
     }
@@ -158,6 +224,43 @@ public class ValueDefinition extends Definition {
         return new ValueDefinition(sourceLocation, symbol, body);
     }
 
+    private void generateConstant(BytecodeGenerator state) {
+        String className = state.currentClass().getClassName();
+        String fieldName = getMethodName() + "$constant";
+        Class<? extends Callable> returnType = state.typeOf(getType());
+        state.field(fieldName, ACC_PRIVATE | ACC_STATIC | ACC_FINAL, ci(Callable.class));
+        state.initialize(new CodeBlock() {{
+            markLine(this);
+            newobj(p(SuppliedThunk.class));
+            dup();
+            lambda(state.currentClass(), new LambdaBlock(getMethodName() + "$evaluate") {{
+                function(p(Supplier.class), "get", sig(Object.class));
+                specialize(sig(Callable.class));
+                delegateTo(ACC_STATIC, sig(returnType), new CodeBlock() {{
+                    markLine(this);
+                    append(body.generateBytecode(state));
+                    areturn();
+                }});
+            }});
+            invokespecial(p(SuppliedThunk.class), "<init>", sig(void.class, Supplier.class));
+            putstatic(className, fieldName, ci(Callable.class));
+        }});
+        state.method(getMethodName(), ACC_STATIC | ACC_PUBLIC, sig(returnType), new CodeBlock() {{
+            annotate(scotch.symbol.Value.class).value("memberName", symbol.getSimpleName());
+            markLine(this);
+            getstatic(className, fieldName, ci(Callable.class));
+            if (returnType != Callable.class) {
+                invokeinterface(p(Callable.class), "call", sig(Object.class));
+                checkcast(p(returnType));
+            }
+            areturn();
+        }});
+    }
+
+    private boolean isConstant(BytecodeGenerator state) {
+        return state.memoizesConstant(symbol) && body.getArguments().isEmpty() && symbol.getMemberNames().size() == 1;
+    }
+
     public static class Builder implements SyntaxBuilder<ValueDefinition> {
 
         private Optional<Symbol>         symbol;
@@ -1,6 +1,7 @@
 package scotch.compiler.syntax.pattern;
 
 import static lombok.AccessLevel.PACKAGE;
+import static java.util.Collections.emptyList;
 import static scotch.compiler.error.SymbolNotFoundError.symbolNotFound;
 import static scotch.symbol.Symbol.unqualified;
 import static scotch.compiler.syntax.TypeError.typeError;
@@ -16,7 +17,9 @@ import me.qmx.jitescript.CodeBlock;
 import scotch.compiler.steps.BytecodeGenerator;
 import scotch.compiler.steps.DependencyAccumulator;
 import scotch.compiler.steps.NameAccumulator;
+import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
 import scotch.symbol.Operator;
 import scotch.symbol.Symbol;
@@ -54,6 +57,12 @@ public class CaptureMatch extends PatternMatch {
         return this;
     }
 
+    @Override
+    public PatternMatch analyzeStrictness(StrictnessAnalyzer state) {
+        state.alias(getName(), getArgument());
+        return this;
+    }
+
     @Override
     public Either<PatternMatch, CaptureMatch> asCapture() {
         return right(this);
@@ -133,11 +142,25 @@ public class CaptureMatch extends PatternMatch {
         return type;
     }
 
+    @Override
+    public boolean isIrrefutable() {
+        return true;
+    }
+
     @Override
     public boolean isOperator(Scope scope) {
         return scope.isOperator(symbol);
     }
 
+    @Override
+    public PatternMatch parsePrecedence(PrecedenceParser state) {
+        if (symbol.isConstructorName()) {
+            return Patterns.constructor(sourceLocation, argument, symbol, state.reserveType(), emptyList());
+        } else {
+            return this;
+        }
+    }
+
     @Override
     public PatternMatch qualifyNames(ScopedNameQualifier state) {
         return this;
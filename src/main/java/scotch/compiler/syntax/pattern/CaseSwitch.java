@@ -0,0 +1,132 @@
+package scotch.compiler.syntax.pattern;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import com.google.common.collect.ImmutableList;
+import me.qmx.jitescript.CodeBlock;
+import org.objectweb.asm.tree.LabelNode;
+import scotch.compiler.steps.BytecodeGenerator;
+
+// Selects the cases of a pattern matcher by switching on the key (constructor tag or int literal) of a single column:
+// the first column in which at least two cases have a key and every other case is irrefutable. The cases are still
+// emitted in order rather than compiled column by column into a decision tree, so the other columns are tested
+// case by case, nested patterns are never switched on, and matchers with no such column test every case in turn.
+// A case whose remaining matches fail dispatches again among the cases after it, keeping the first-match semantics
+// of the clauses; that dispatch reads the key again, calling the already evaluated scrutinee a second time.
+public class CaseSwitch {
+
+    public static CaseSwitch caseSwitch(List<PatternCase> patternCases, BytecodeGenerator state) {
+        int arity = patternCases.get(0).getArity();
+        for (int column = 0; column < arity; column++) {
+            Optional<List<Optional<Integer>>> keys = keys(patternCases, column, state);
+            if (keys.isPresent()) {
+                return new CaseSwitch(patternCases, Optional.of(column), keys.get());
+            }
+        }
+        return new CaseSwitch(patternCases, Optional.empty(), ImmutableList.of());
+    }
+
+    private static Optional<List<Optional<Integer>>> keys(List<PatternCase> patternCases, int column, BytecodeGenerator state) {
+        List<PatternMatch> matches = patternCases.stream()
+            .map(patternCase -> patternCase.getMatches().get(column))
+            .collect(toList());
+        List<Optional<Integer>> keys = matches.stream()
+            .map(match -> match.getSwitchKey(state))
+            .collect(toList());
+        long keyed = keys.stream().filter(Optional::isPresent).count();
+        long irrefutable = matches.stream().filter(PatternMatch::isIrrefutable).count();
+        if (keyed < 2 || keyed + irrefutable != matches.size()) {
+            return Optional.empty();
+        } else {
+            return Optional.of(keys);
+        }
+    }
+
+    private final List<PatternCase>       patternCases;
+    private final Optional<Integer>       column;
+    private final List<Optional<Integer>> keys;
+    private final List<LabelNode>         entries;
+
+    private CaseSwitch(List<PatternCase> patternCases, Optional<Integer> column, List<Optional<Integer>> keys) {
+        this.patternCases = ImmutableList.copyOf(patternCases);
+        this.column = column;
+        this.keys = ImmutableList.copyOf(keys);
+        this.entries = new ArrayList<>();
+        patternCases.forEach(patternCase -> entries.add(new LabelNode()));
+    }
+
+    public CodeBlock generateBytecode(BytecodeGenerator state, boolean tail) {
+        return new CodeBlock() {{
+            for (int index = 0; index < patternCases.size(); index++) {
+                PatternCase patternCase = patternCases.get(index);
+                append(tail ? patternCase.generateTailBytecode(state, CaseSwitch.this, index) : patternCase.generateBytecode(state, CaseSwitch.this, index));
+            }
+        }};
+    }
+
+    // dispatches among the cases from the given index onward, emitted where the case before it falls through
+    public CodeBlock generateDispatch(BytecodeGenerator state, int index) {
+        if (!column.isPresent() || index > 0 && patternCases.get(index - 1).isDecidedBySwitch(column.get())) {
+            return new CodeBlock();
+        } else {
+            LabelNode defaultCase = firstCase(state, index, Optional.empty());
+            SortedMap<Integer, LabelNode> targets = new TreeMap<>();
+            for (int i = index; i < keys.size(); i++) {
+                keys.get(i).ifPresent(key -> targets.computeIfAbsent(key, k -> firstCase(state, index, Optional.of(k))));
+            }
+            if (targets.values().stream().allMatch(defaultCase::equals)) {
+                return defaultCase == entries.get(index) ? new CodeBlock() : new CodeBlock().go_to(defaultCase);
+            } else {
+                return new CodeBlock() {{
+                    append(patternCases.get(firstKeyed(index)).getMatches().get(column.get()).generateSwitchKey(state));
+                    int min = targets.firstKey();
+                    int max = targets.lastKey();
+                    if (max - min < 2 * targets.size()) {
+                        LabelNode[] labels = new LabelNode[max - min + 1];
+                        for (int key = min; key <= max; key++) {
+                            labels[key - min] = targets.getOrDefault(key, defaultCase);
+                        }
+                        tableswitch(min, max, defaultCase, labels);
+                    } else {
+                        lookupswitch(
+                            defaultCase,
+                            targets.keySet().stream().mapToInt(Integer::intValue).toArray(),
+                            targets.values().toArray(new LabelNode[targets.size()])
+                        );
+                    }
+                }};
+            }
+        }
+    }
+
+    public LabelNode getEntry(int index) {
+        return entries.get(index);
+    }
+
+    public boolean isSwitched(int column) {
+        return this.column.map(c -> c == column).orElse(false);
+    }
+
+    private LabelNode firstCase(BytecodeGenerator state, int index, Optional<Integer> key) {
+        for (int i = index; i < keys.size(); i++) {
+            if (!keys.get(i).isPresent() || keys.get(i).equals(key)) {
+                return entries.get(i);
+            }
+        }
+        return state.matchFailure();
+    }
+
+    private int firstKeyed(int index) {
+        for (int i = index; i < keys.size(); i++) {
+            if (keys.get(i).isPresent()) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No keyed case from " + index);
+    }
+}
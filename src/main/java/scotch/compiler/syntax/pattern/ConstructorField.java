@@ -0,0 +1,104 @@
+package scotch.compiler.syntax.pattern;
+
+import static lombok.AccessLevel.PACKAGE;
+import static scotch.symbol.Symbol.symbol;
+
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import me.qmx.jitescript.CodeBlock;
+import scotch.compiler.steps.BytecodeGenerator;
+import scotch.compiler.steps.DependencyAccumulator;
+import scotch.compiler.steps.NameAccumulator;
+import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
+import scotch.compiler.steps.TypeChecker;
+import scotch.compiler.syntax.scope.Scope;
+import scotch.compiler.text.SourceLocation;
+import scotch.symbol.Symbol;
+import scotch.symbol.descriptor.DataFieldDescriptor;
+import scotch.symbol.type.Type;
+
+@AllArgsConstructor(access = PACKAGE)
+@EqualsAndHashCode(callSuper = false)
+@ToString(exclude = "sourceLocation")
+public class ConstructorField {
+
+    private final SourceLocation   sourceLocation;
+    private final Optional<String> argument;
+    private final Optional<String> field;
+    private final Type             type;
+    private final PatternMatch     patternMatch;
+
+    public ConstructorField accumulateDependencies(DependencyAccumulator state) {
+        return withPatternMatch(patternMatch.accumulateDependencies(state));
+    }
+
+    public ConstructorField accumulateNames(NameAccumulator state) {
+        state.defineValue(getSymbol(), type);
+        state.specialize(type);
+        return withPatternMatch(patternMatch.accumulateNames(state));
+    }
+
+    public ConstructorField analyzeStrictness(StrictnessAnalyzer state) {
+        return withPatternMatch(patternMatch.analyzeStrictness(state));
+    }
+
+    public ConstructorField bind(String argument, int ordinal, Scope scope) {
+        String field = "_" + ordinal;
+        return new ConstructorField(sourceLocation, Optional.of(argument), Optional.of(field), type, patternMatch.bind(argument + field, scope));
+    }
+
+    public ConstructorField bindMethods(TypeChecker state) {
+        return withPatternMatch(patternMatch.bindMethods(state));
+    }
+
+    public ConstructorField bindTypes(TypeChecker state) {
+        return new ConstructorField(sourceLocation, argument, field, state.generate(type), patternMatch.bindTypes(state));
+    }
+
+    public ConstructorField checkTypes(TypeChecker state) {
+        state.addLocal(getSymbol());
+        PatternMatch checkedMatch = patternMatch.checkTypes(state);
+        return new ConstructorField(sourceLocation, argument, field, state.generate(type), checkedMatch);
+    }
+
+    public CodeBlock generateBytecode(String className, DataFieldDescriptor descriptor, BytecodeGenerator state) {
+        return generateBytecode(descriptor.getValue(className), state);
+    }
+
+    // binds the field to the value loaded by the given code, which for an erased newtype is the matched value itself
+    public CodeBlock generateBytecode(CodeBlock value, BytecodeGenerator state) {
+        return new CodeBlock() {{
+            state.addMatch(getSymbol().getCanonicalName());
+            append(value);
+            astore(state.getVariable(getSymbol().getCanonicalName()));
+        }};
+    }
+
+    public CodeBlock generateMatchBytecode(BytecodeGenerator state) {
+        return patternMatch.generateBytecode(state);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isIrrefutable() {
+        return patternMatch.isIrrefutable();
+    }
+
+    public ConstructorField qualifyNames(ScopedNameQualifier state) {
+        return withPatternMatch(patternMatch.qualifyNames(state));
+    }
+
+    private Symbol getSymbol() {
+        // no member separator, so the name survives being read back as an argument by nested equality matches
+        return symbol(argument.get() + field.get());
+    }
+
+    private ConstructorField withPatternMatch(PatternMatch patternMatch) {
+        return new ConstructorField(sourceLocation, argument, field, type, patternMatch);
+    }
+}
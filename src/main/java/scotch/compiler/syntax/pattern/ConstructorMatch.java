@@ -0,0 +1,242 @@
+package scotch.compiler.syntax.pattern;
+
+import static java.util.stream.Collectors.toList;
+import static me.qmx.jitescript.util.CodegenUtils.p;
+import static me.qmx.jitescript.util.CodegenUtils.sig;
+import static scotch.compiler.error.ParseError.parseError;
+import static scotch.compiler.error.SymbolNotFoundError.symbolNotFound;
+import static scotch.compiler.syntax.TypeError.typeError;
+import static scotch.compiler.util.Either.right;
+import static scotch.symbol.Symbol.unqualified;
+import static scotch.symbol.type.Types.fn;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import me.qmx.jitescript.CodeBlock;
+import scotch.compiler.steps.BytecodeGenerator;
+import scotch.compiler.steps.DependencyAccumulator;
+import scotch.compiler.steps.NameAccumulator;
+import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
+import scotch.compiler.steps.TypeChecker;
+import scotch.compiler.syntax.scope.Scope;
+import scotch.compiler.text.SourceLocation;
+import scotch.compiler.util.Either;
+import scotch.runtime.Callable;
+import scotch.symbol.Symbol;
+import scotch.symbol.descriptor.DataConstructorDescriptor;
+import scotch.symbol.type.Type;
+
+@EqualsAndHashCode(callSuper = false)
+@ToString(exclude = "sourceLocation")
+public class ConstructorMatch extends PatternMatch {
+
+    @Getter
+    private final SourceLocation         sourceLocation;
+    private final Optional<String>       argument;
+    private final Symbol                 constructor;
+    @Getter
+    private final Type                   type;
+    private final List<ConstructorField> fields;
+
+    ConstructorMatch(SourceLocation sourceLocation, Optional<String> argument, Symbol constructor, Type type, List<ConstructorField> fields) {
+        this.sourceLocation = sourceLocation;
+        this.argument = argument;
+        this.constructor = constructor;
+        this.type = type;
+        this.fields = ImmutableList.copyOf(fields);
+    }
+
+    @Override
+    public PatternMatch accumulateDependencies(DependencyAccumulator state) {
+        return map((field, ordinal) -> field.accumulateDependencies(state)).withConstructor(state.addDependency(constructor));
+    }
+
+    @Override
+    public PatternMatch accumulateNames(NameAccumulator state) {
+        return map((field, ordinal) -> field.accumulateNames(state));
+    }
+
+    @Override
+    public PatternMatch analyzeStrictness(StrictnessAnalyzer state) {
+        state.force(getArgument());
+        return map((field, ordinal) -> field.analyzeStrictness(state));
+    }
+
+    @Override
+    public Either<PatternMatch, ConstructorMatch> asConstructor() {
+        return right(this);
+    }
+
+    @Override
+    public PatternMatch bind(String argument, Scope scope) {
+        return withArgument(argument).map((field, ordinal) -> field.bind(argument, ordinal, scope));
+    }
+
+    @Override
+    public PatternMatch bindMethods(TypeChecker state) {
+        return map((field, ordinal) -> field.bindMethods(state));
+    }
+
+    @Override
+    public PatternMatch bindTypes(TypeChecker state) {
+        return map((field, ordinal) -> field.bindTypes(state)).withType(state.generate(type));
+    }
+
+    @Override
+    public PatternMatch checkTypes(TypeChecker state) {
+        return map((field, ordinal) -> field.checkTypes(state)).bindType(state);
+    }
+
+    @Override
+    public CodeBlock generateBytecode(BytecodeGenerator state) {
+        if (state.isErased(constructor)) {
+            return generateSwitchedBytecode(state);
+        } else if (state.isTagged(constructor)) {
+            return new CodeBlock()
+                .append(generateSwitchKey(state))
+                .ldc(state.getDataConstructor(constructor).getOrdinal())
+                .if_icmpne(state.nextCase())
+                .append(generateSwitchedBytecode(state));
+        } else {
+            return new CodeBlock()
+                .aload(state.getVariable(getArgument()))
+                .invokeinterface(p(Callable.class), "call", sig(Object.class))
+                .instance_of(state.getDataConstructorClass(constructor))
+                .ifeq(state.nextCase())
+                .append(generateSwitchedBytecode(state));
+        }
+    }
+
+    @Override
+    public CodeBlock generateSwitchKey(BytecodeGenerator state) {
+        String className = state.getDataConstructor(constructor).getDataType().getClassName();
+        return new CodeBlock()
+            .aload(state.getVariable(getArgument()))
+            .invokeinterface(p(Callable.class), "call", sig(Object.class))
+            .checkcast(className)
+            .invokevirtual(className, "tag", sig(int.class));
+    }
+
+    @Override
+    public CodeBlock generateSwitchedBytecode(BytecodeGenerator state) {
+        DataConstructorDescriptor descriptor = state.getDataConstructor(constructor);
+        return new CodeBlock() {{
+            if (state.isErased(constructor)) {
+                append(fields.get(0).generateBytecode(new CodeBlock().aload(state.getVariable(getArgument())), state));
+                append(fields.get(0).generateMatchBytecode(state));
+            } else if (!fields.isEmpty()) {
+                String className = state.getDataConstructorClass(constructor);
+                aload(state.getVariable(getArgument()));
+                invokeinterface(p(Callable.class), "call", sig(Object.class));
+                checkcast(className);
+                for (int i = 0; i < fields.size(); i++) {
+                    if (i < fields.size() - 1) {
+                        dup();
+                    }
+                    append(fields.get(i).generateBytecode(className, descriptor.getFields().get(i), state));
+                }
+                fields.forEach(field -> append(field.generateMatchBytecode(state)));
+            }
+        }};
+    }
+
+    public String getArgument() {
+        return argument.orElseThrow(IllegalStateException::new);
+    }
+
+    public Symbol getConstructor() {
+        return constructor;
+    }
+
+    @Override
+    public Optional<Integer> getSwitchKey(BytecodeGenerator state) {
+        if (state.isErased(constructor) || !state.isTagged(constructor)) {
+            return Optional.empty();
+        } else {
+            return Optional.of(state.getDataConstructor(constructor).getOrdinal());
+        }
+    }
+
+    @Override
+    public boolean isDecidedBySwitch() {
+        return fields.stream().allMatch(ConstructorField::isIrrefutable);
+    }
+
+    @Override
+    public PatternMatch qualifyNames(ScopedNameQualifier state) {
+        ConstructorMatch match = map((field, ordinal) -> field.qualifyNames(state));
+        return state.qualify(constructor)
+            .map(match::withConstructor)
+            .orElseGet(() -> {
+                state.symbolNotFound(constructor, sourceLocation);
+                return match;
+            });
+    }
+
+    public ConstructorMatch withFields(List<PatternMatch> matches, Scope scope) {
+        return new ConstructorMatch(sourceLocation, argument, constructor, type, matches.stream()
+            .map(match -> Patterns.constructorField(match.getSourceLocation(), Optional.empty(), Optional.empty(), scope.reserveType(), match))
+            .collect(toList()));
+    }
+
+    @Override
+    public ConstructorMatch withType(Type type) {
+        return new ConstructorMatch(sourceLocation, argument, constructor, type, fields);
+    }
+
+    private ConstructorMatch bindType(TypeChecker state) {
+        Scope scope = state.scope();
+        Optional<Type> constructorType = scope.getValue(constructor);
+        int declaredFields = scope.getDataConstructor(constructor)
+            .map(descriptor -> descriptor.getFields().size())
+            .orElse(0);
+        if (constructorType.isPresent() && declaredFields < fields.size()) {
+            state.error(parseError("Constructor " + constructor.quote() + " does not declare the fields matched by the pattern", sourceLocation));
+            return this;
+        } else if (constructorType.isPresent()) {
+            Type signature = type;
+            for (ConstructorField field : Lists.reverse(fields)) {
+                signature = fn(field.getType(), signature);
+            }
+            signature.unify(constructorType.get(), scope).orElseGet(unification -> {
+                state.error(typeError(unification, sourceLocation));
+                return type;
+            });
+            argument.flatMap(arg -> scope.getValue(unqualified(arg))).ifPresent(
+                argumentType -> type.unify(argumentType, scope).orElseGet(unification -> {
+                    state.error(typeError(unification, sourceLocation));
+                    return type;
+                }));
+            return withType(scope.generate(type));
+        } else {
+            state.error(symbolNotFound(constructor, sourceLocation));
+            return this;
+        }
+    }
+
+    private ConstructorMatch map(BiFunction<ConstructorField, Integer, ConstructorField> mapper) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ConstructorMatch(
+            sourceLocation, argument, constructor, type,
+            fields.stream()
+                .map(field -> mapper.apply(field, counter.getAndIncrement()))
+                .collect(toList())
+        );
+    }
+
+    private ConstructorMatch withArgument(String argument) {
+        return new ConstructorMatch(sourceLocation, Optional.of(argument), constructor, type, fields);
+    }
+
+    private ConstructorMatch withConstructor(Symbol constructor) {
+        return new ConstructorMatch(sourceLocation, argument, constructor, type, fields);
+    }
+}
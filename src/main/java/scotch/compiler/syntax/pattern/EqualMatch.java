@@ -4,6 +4,7 @@ import static lombok.AccessLevel.PACKAGE;
 import static me.qmx.jitescript.util.CodegenUtils.p;
 import static me.qmx.jitescript.util.CodegenUtils.sig;
 import static scotch.compiler.syntax.builder.BuilderUtil.require;
+import static scotch.compiler.syntax.value.PrimitiveOperation.primitiveOperation;
 import static scotch.compiler.syntax.value.Values.apply;
 import static scotch.compiler.syntax.value.Values.id;
 import static scotch.symbol.Symbol.symbol;
@@ -17,9 +18,11 @@ import scotch.compiler.steps.BytecodeGenerator;
 import scotch.compiler.steps.DependencyAccumulator;
 import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
 import scotch.compiler.syntax.builder.SyntaxBuilder;
 import scotch.compiler.syntax.scope.Scope;
+import scotch.compiler.syntax.value.PrimitiveOperation;
 import scotch.compiler.syntax.value.Value;
 import scotch.compiler.text.SourceLocation;
 import scotch.runtime.Callable;
@@ -48,6 +51,11 @@ public class EqualMatch extends PatternMatch {
         return this;
     }
 
+    @Override
+    public PatternMatch analyzeStrictness(StrictnessAnalyzer state) {
+        return withValue(state.demanded(() -> value.analyzeStrictness(state)));
+    }
+
     @Override
     public PatternMatch bind(String argument, Scope scope) {
         if (this.argument.isPresent()) {
@@ -82,11 +90,26 @@ public class EqualMatch extends PatternMatch {
 
     @Override
     public CodeBlock generateBytecode(BytecodeGenerator state) {
-        return new CodeBlock() {{
-            append(value.generateBytecode(state));
-            invokestatic(p(RuntimeSupport.class), "unboxBool", sig(boolean.class, Callable.class));
-            iffalse(state.nextCase());
-        }};
+        return primitiveOperation(value, state)
+            .filter(PrimitiveOperation::isComparison)
+            .map(operation -> operation.generateBranch(state, state.nextCase()))
+            .orElseGet(() -> new CodeBlock() {{
+                append(value.generateBytecode(state));
+                invokestatic(p(RuntimeSupport.class), "unboxBool", sig(boolean.class, Callable.class));
+                iffalse(state.nextCase());
+            }});
+    }
+
+    @Override
+    public CodeBlock generateSwitchKey(BytecodeGenerator state) {
+        return new CodeBlock()
+            .aload(state.getVariable(argument.orElseThrow(IllegalStateException::new)))
+            .invokestatic(p(RuntimeSupport.class), "unboxInt", sig(int.class, Callable.class));
+    }
+
+    @Override
+    public CodeBlock generateSwitchedBytecode(BytecodeGenerator state) {
+        return new CodeBlock();
     }
 
     @Override
@@ -94,6 +117,11 @@ public class EqualMatch extends PatternMatch {
         return sourceLocation;
     }
 
+    @Override
+    public Optional<Integer> getSwitchKey(BytecodeGenerator state) {
+        return primitiveOperation(value, state).flatMap(PrimitiveOperation::getIntComparand);
+    }
+
     @Override
     public Type getType() {
         return value.getType();
@@ -103,6 +131,11 @@ public class EqualMatch extends PatternMatch {
         return value;
     }
 
+    @Override
+    public boolean isDecidedBySwitch() {
+        return primitiveOperation(value).flatMap(PrimitiveOperation::getIntComparand).isPresent();
+    }
+
     @Override
     public PatternMatch qualifyNames(ScopedNameQualifier state) {
         return withValue(value.qualifyNames(state));
@@ -75,6 +75,11 @@ public class IgnorePattern extends PatternMatch {
         return type;
     }
 
+    @Override
+    public boolean isIrrefutable() {
+        return true;
+    }
+
     @Override
     public PatternMatch qualifyNames(ScopedNameQualifier state) {
         return this;
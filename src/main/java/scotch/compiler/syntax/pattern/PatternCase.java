@@ -8,6 +8,7 @@ import static scotch.compiler.syntax.reference.DefinitionReference.scopeRef;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import com.google.common.collect.ImmutableList;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -18,6 +19,7 @@ import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.OperatorAccumulator;
 import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
 import scotch.symbol.Symbol;
 import scotch.symbol.type.Type;
@@ -61,6 +63,11 @@ public class PatternCase implements Scoped {
             .withBody(body.accumulateNames(state)));
     }
 
+    public PatternCase analyzeStrictness(StrictnessAnalyzer state) {
+        return withMatches(state.analyzeMatches(patternMatches))
+            .withBody(body.analyzeStrictness(state));
+    }
+
     public PatternCase bindMethods(TypeChecker state) {
         return state.scoped(this, () ->
             withMatches(patternMatches.stream()
@@ -99,17 +106,12 @@ public class PatternCase implements Scoped {
         return state.scoped(this, () -> withBody(body.defineOperators(state)));
     }
 
-    public CodeBlock generateBytecode(BytecodeGenerator state) {
-        return new CodeBlock() {{
-            state.generate(PatternCase.this, () -> {
-                label(state.beginCase());
-                state.beginMatches();
-                patternMatches.forEach(match -> append(match.generateBytecode(state)));
-                append(body.generateBytecode(state));
-                go_to(state.endCase());
-                state.endMatches();
-            });
-        }};
+    public CodeBlock generateBytecode(BytecodeGenerator state, CaseSwitch caseSwitch, int index) {
+        return generate(state, caseSwitch, index, Value::generateBytecode);
+    }
+
+    public CodeBlock generateTailBytecode(BytecodeGenerator state, CaseSwitch caseSwitch, int index) {
+        return generate(state, caseSwitch, index, Value::generateTailBytecode);
     }
 
     public int getArity() {
@@ -129,6 +131,10 @@ public class PatternCase implements Scoped {
         return scopeRef(symbol);
     }
 
+    public List<PatternMatch> getMatches() {
+        return patternMatches;
+    }
+
     public SourceLocation getSourceLocation() {
         return sourceLocation;
     }
@@ -141,11 +147,21 @@ public class PatternCase implements Scoped {
         return body.getType();
     }
 
+    public boolean isDecidedBySwitch(int column) {
+        for (int i = 0; i < patternMatches.size(); i++) {
+            PatternMatch match = patternMatches.get(i);
+            if (i == column ? !match.isDecidedBySwitch() : !match.isIrrefutable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public PatternCase parsePrecedence(PrecedenceParser state) {
         return state.scoped(this, () -> {
             AtomicInteger counter = new AtomicInteger();
             List<PatternMatch> boundMatches = patternMatches.stream()
-                .map(match -> match.bind("#" + counter.getAndIncrement(), state.scope()))
+                .map(match -> match.parsePrecedence(state).bind("#" + counter.getAndIncrement(), state.scope()))
                 .collect(toList());
             return withSymbol(state.reserveSymbol())
                 .withMatches(boundMatches)
@@ -172,6 +188,24 @@ public class PatternCase implements Scoped {
         return new PatternCase(sourceLocation, symbol, patternMatches, body.withType(type));
     }
 
+    private CodeBlock generate(BytecodeGenerator state, CaseSwitch caseSwitch, int index, BiFunction<Value, BytecodeGenerator, CodeBlock> function) {
+        return new CodeBlock() {{
+            state.generate(PatternCase.this, () -> {
+                label(state.beginCase());
+                append(caseSwitch.generateDispatch(state, index));
+                label(caseSwitch.getEntry(index));
+                state.beginMatches();
+                for (int column = 0; column < patternMatches.size(); column++) {
+                    PatternMatch match = patternMatches.get(column);
+                    append(caseSwitch.isSwitched(column) ? match.generateSwitchedBytecode(state) : match.generateBytecode(state));
+                }
+                append(function.apply(body, state));
+                go_to(state.endCase());
+                state.endMatches();
+            });
+        }};
+    }
+
     private PatternCase withSymbol(Symbol symbol) {
         return new PatternCase(sourceLocation, symbol, patternMatches, body);
     }
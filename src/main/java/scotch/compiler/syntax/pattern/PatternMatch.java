@@ -7,7 +7,9 @@ import me.qmx.jitescript.CodeBlock;
 import scotch.compiler.steps.BytecodeGenerator;
 import scotch.compiler.steps.DependencyAccumulator;
 import scotch.compiler.steps.NameAccumulator;
+import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
 import scotch.symbol.Operator;
 import scotch.symbol.type.Type;
@@ -26,10 +28,18 @@ public abstract class PatternMatch {
 
     public abstract PatternMatch accumulateNames(NameAccumulator state);
 
+    public PatternMatch analyzeStrictness(StrictnessAnalyzer state) {
+        return this;
+    }
+
     public Either<PatternMatch, CaptureMatch> asCapture() {
         return left(this);
     }
 
+    public Either<PatternMatch, ConstructorMatch> asConstructor() {
+        return left(this);
+    }
+
     public Optional<Pair<CaptureMatch, Operator>> asOperator(Scope scope) {
         return Optional.empty();
     }
@@ -47,17 +57,42 @@ public abstract class PatternMatch {
 
     public abstract CodeBlock generateBytecode(BytecodeGenerator state);
 
+    public CodeBlock generateSwitchKey(BytecodeGenerator state) {
+        throw new UnsupportedOperationException();
+    }
+
+    // the remainder of the match once a switch on its key has selected it
+    public CodeBlock generateSwitchedBytecode(BytecodeGenerator state) {
+        return generateBytecode(state);
+    }
+
     public abstract SourceLocation getSourceLocation();
 
+    public Optional<Integer> getSwitchKey(BytecodeGenerator state) {
+        return Optional.empty();
+    }
+
     public abstract Type getType();
 
     @Override
     public abstract int hashCode();
 
+    public boolean isDecidedBySwitch() {
+        return isIrrefutable();
+    }
+
+    public boolean isIrrefutable() {
+        return false;
+    }
+
     public boolean isOperator(Scope scope) {
         return false;
     }
 
+    public PatternMatch parsePrecedence(PrecedenceParser state) {
+        return this;
+    }
+
     public String prettyPrint() {
         return "[" + getClass().getSimpleName() + "]";
     }
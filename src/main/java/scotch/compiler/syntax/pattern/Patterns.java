@@ -13,6 +13,14 @@ public final class Patterns {
         return new CaptureMatch(sourceLocation, argument, symbol, type);
     }
 
+    public static ConstructorMatch constructor(SourceLocation sourceLocation, Optional<String> argument, Symbol constructor, Type type, List<ConstructorField> fields) {
+        return new ConstructorMatch(sourceLocation, argument, constructor, type, fields);
+    }
+
+    public static ConstructorField constructorField(SourceLocation sourceLocation, Optional<String> argument, Optional<String> field, Type type, PatternMatch patternMatch) {
+        return new ConstructorField(sourceLocation, argument, field, type, patternMatch);
+    }
+
     public static EqualMatch equal(SourceLocation sourceLocation, Optional<String> argument, Value value) {
         return new EqualMatch(sourceLocation, argument, value);
     }
@@ -1,10 +1,12 @@
 package scotch.compiler.syntax.pattern;
 
+import static java.util.stream.Collectors.toList;
 import static scotch.compiler.syntax.builder.BuilderUtil.require;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import com.google.common.collect.ImmutableList;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -13,6 +15,7 @@ import me.qmx.jitescript.CodeBlock;
 import scotch.compiler.steps.BytecodeGenerator;
 import scotch.compiler.steps.DependencyAccumulator;
 import scotch.compiler.steps.NameAccumulator;
+import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
 import scotch.compiler.steps.TypeChecker;
 import scotch.compiler.syntax.builder.SyntaxBuilder;
@@ -42,47 +45,62 @@ public class UnshuffledStructureMatch extends PatternMatch {
 
     @Override
     public PatternMatch accumulateDependencies(DependencyAccumulator state) {
-        throw new UnsupportedOperationException(); // TODO
+        return map(match -> match.accumulateDependencies(state));
     }
 
     @Override
     public PatternMatch accumulateNames(NameAccumulator state) {
-        throw new UnsupportedOperationException(); // TODO
+        return map(match -> match.accumulateNames(state));
     }
 
     @Override
     public PatternMatch bind(String argument, Scope scope) {
-        throw new UnsupportedOperationException(); // TODO
+        return this;
     }
 
     @Override
     public PatternMatch bindMethods(TypeChecker state) {
-        throw new UnsupportedOperationException(); // TODO
+        return map(match -> match.bindMethods(state));
     }
 
     @Override
     public PatternMatch bindTypes(TypeChecker state) {
-        throw new UnsupportedOperationException(); // TODO
+        return map(match -> match.bindTypes(state));
     }
 
     @Override
     public PatternMatch checkTypes(TypeChecker state) {
-        throw new UnsupportedOperationException(); // TODO
+        return map(match -> match.checkTypes(state));
     }
 
     @Override
     public CodeBlock generateBytecode(BytecodeGenerator state) {
-        throw new UnsupportedOperationException(); // TODO
+        throw new IllegalStateException("Can't generate bytecode for unshuffled structure match");
+    }
+
+    public List<PatternMatch> getPatternMatches() {
+        return patternMatches;
+    }
+
+    @Override
+    public PatternMatch parsePrecedence(PrecedenceParser state) {
+        return state.shuffle(this);
     }
 
     @Override
     public PatternMatch qualifyNames(ScopedNameQualifier state) {
-        throw new UnsupportedOperationException(); // TODO
+        return map(match -> match.qualifyNames(state));
     }
 
     @Override
     public PatternMatch withType(Type type) {
-        throw new UnsupportedOperationException(); // TODO
+        return new UnshuffledStructureMatch(sourceLocation, type, patternMatches);
+    }
+
+    private UnshuffledStructureMatch map(Function<PatternMatch, PatternMatch> mapper) {
+        return new UnshuffledStructureMatch(sourceLocation, type, patternMatches.stream()
+            .map(mapper)
+            .collect(toList()));
     }
 
     public static class Builder implements SyntaxBuilder<PatternMatch> {
@@ -62,6 +62,7 @@ public class ChildScope extends Scope {
     public void addDependency(Symbol symbol) {
         if (!isExternal(symbol)) {
             dependencies.add(symbol);
+            parent.addDependency(symbol);
         }
     }
 
@@ -160,6 +161,11 @@ public class ChildScope extends Scope {
         return new HashSet<>(dependencies);
     }
 
+    @Override
+    public Set<DataTypeDescriptor> getRecordTypes(Set<String> fieldNames) {
+        return parent.getRecordTypes(fieldNames);
+    }
+
     @Override
     public List<String> getLocals() {
         return ImmutableList.copyOf(locals);
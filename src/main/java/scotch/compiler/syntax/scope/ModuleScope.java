@@ -26,6 +26,7 @@ import scotch.symbol.Symbol.UnqualifiedSymbol;
 import scotch.symbol.SymbolEntry;
 import scotch.symbol.SymbolResolver;
 import scotch.symbol.descriptor.DataConstructorDescriptor;
+import scotch.symbol.descriptor.DataFieldDescriptor;
 import scotch.symbol.descriptor.DataTypeDescriptor;
 import scotch.symbol.descriptor.TypeClassDescriptor;
 import scotch.symbol.descriptor.TypeInstanceDescriptor;
@@ -144,6 +145,25 @@ public class ModuleScope extends Scope {
         return new HashSet<>(dependencies);
     }
 
+    public Collection<SymbolEntry> getEntries() {
+        return ImmutableList.copyOf(entries.values());
+    }
+
+    // the data types defined in this module with a constructor having every one of the field names
+    @Override
+    public Set<DataTypeDescriptor> getRecordTypes(Set<String> fieldNames) {
+        return entries.values().stream()
+            .map(SymbolEntry::getDataType)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .filter(dataType -> dataType.getConstructors().stream()
+                .anyMatch(constructor -> constructor.getFields().stream()
+                    .map(DataFieldDescriptor::getName)
+                    .collect(toSet())
+                    .containsAll(fieldNames)))
+            .collect(toSet());
+    }
+
     @Override
     public Optional<TypeClassDescriptor> getMemberOf(ValueReference valueRef) {
         return resolver.getEntry(valueRef.getSymbol())
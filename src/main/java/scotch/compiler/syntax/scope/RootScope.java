@@ -116,6 +116,11 @@ public class RootScope extends Scope {
         throw new IllegalStateException();
     }
 
+    @Override
+    public Set<DataTypeDescriptor> getRecordTypes(Set<String> fieldNames) {
+        throw new IllegalStateException();
+    }
+
     @Override
     public Optional<TypeClassDescriptor> getMemberOf(ValueReference valueRef) {
         throw new IllegalStateException();
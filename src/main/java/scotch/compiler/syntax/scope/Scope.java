@@ -91,12 +91,18 @@ public abstract class Scope implements TypeScope {
     public String getDataConstructorClass(Symbol symbol) {
         return getEntry(symbol)
             .flatMap(SymbolEntry::getDataConstructor)
-            .map(constructor -> constructor.getSymbol().getClassNameAsChildOf(constructor.getDataType()))
+            .map(DataConstructorDescriptor::getClassName)
             .orElseThrow(() -> new IllegalStateException("Can't get data constructor class for " + symbol.quote()));
     }
 
+    public Optional<DataTypeDescriptor> getDataType(Symbol symbol) {
+        return getEntry(symbol).flatMap(SymbolEntry::getDataType);
+    }
+
     public abstract Set<Symbol> getDependencies();
 
+    public abstract Set<DataTypeDescriptor> getRecordTypes(Set<String> fieldNames);
+
     public List<String> getLocals() {
         throw new IllegalStateException();
     }
@@ -1,11 +1,16 @@
 package scotch.compiler.syntax.value;
 
+import static java.util.stream.Collectors.toList;
 import static lombok.AccessLevel.PACKAGE;
 import static me.qmx.jitescript.util.CodegenUtils.p;
 import static me.qmx.jitescript.util.CodegenUtils.sig;
 import static scotch.symbol.type.Types.fn;
 import static scotch.compiler.syntax.TypeError.typeError;
+import static scotch.compiler.syntax.value.PrimitiveOperation.primitiveOperation;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Supplier;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -13,11 +18,13 @@ import lombok.ToString;
 import me.qmx.jitescript.CodeBlock;
 import me.qmx.jitescript.LambdaBlock;
 import scotch.compiler.steps.BytecodeGenerator;
+import scotch.compiler.steps.Closure;
 import scotch.compiler.steps.DependencyAccumulator;
 import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.OperatorAccumulator;
 import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
 import scotch.symbol.type.FunctionType;
 import scotch.symbol.type.Type;
@@ -36,6 +43,7 @@ public class Apply extends Value {
     private final Value          function;
     private final Value          argument;
     private final Type           type;
+    private final boolean        strict;
 
     @Override
     public Value accumulateDependencies(DependencyAccumulator state) {
@@ -48,9 +56,34 @@ public class Apply extends Value {
             .withArgument(argument.accumulateNames(state));
     }
 
+    @Override
+    public Value analyzeStrictness(StrictnessAnalyzer state) {
+        List<Apply> applies = new ArrayList<>();
+        Value head = this;
+        while (head instanceof Apply) {
+            applies.add(0, (Apply) head);
+            head = ((Apply) head).function;
+        }
+        List<Boolean> strictArguments = state.getStrictArguments(head, applies.stream().map(Apply::getArgument).collect(toList()));
+        boolean demanded = state.isDemanded();
+        Value function = head;
+        Value result = state.demanded(() -> function.analyzeStrictness(state));
+        for (int i = 0; i < applies.size(); i++) {
+            Apply apply = applies.get(i);
+            result = new Apply(
+                apply.sourceLocation,
+                result,
+                state.demandedIf(strictArguments.get(i), () -> apply.argument.analyzeStrictness(state)),
+                apply.type,
+                i < applies.size() - 1 || demanded
+            );
+        }
+        return result;
+    }
+
     @Override
     public Value bindTypes(TypeChecker state) {
-        return new Apply(sourceLocation, function.bindTypes(state), argument.bindTypes(state), state.generate(type));
+        return new Apply(sourceLocation, function.bindTypes(state), argument.bindTypes(state), state.generate(type), strict);
     }
 
     @Override
@@ -70,7 +103,7 @@ public class Apply extends Value {
             .orElseGet(unification -> {
                     state.error(typeError(unification.flip(), checkedArgument.getSourceLocation()));
                     return type;
-                }));
+                }), strict);
     }
 
     @Override
@@ -80,29 +113,56 @@ public class Apply extends Value {
 
     @Override
     public CodeBlock generateBytecode(BytecodeGenerator state) {
-        return new CodeBlock() {{
-            newobj(p(SuppliedThunk.class));
-            dup();
-            append(state.captureApply());
-            lambda(state.currentClass(), new LambdaBlock(state.reserveApply()) {{
-                function(p(Supplier.class), "get", sig(Object.class));
-                specialize(sig(Callable.class));
-                capture(state.getCaptureAllTypes());
-                Class<?> returnType = state.typeOf(type);
-                delegateTo(ACC_STATIC, sig(returnType, state.getCaptureAllTypes()), new CodeBlock() {{
-                    append(function.generateBytecode(state));
-                    invokeinterface(p(Callable.class), "call", sig(Object.class));
-                    checkcast(p(Applicable.class));
-                    append(argument.generateBytecode(state));
-                    invokeinterface(p(Applicable.class), "apply", sig(Callable.class, Callable.class));
-                    if (returnType != Callable.class) {
-                        checkcast(p(returnType));
-                    }
-                    areturn();
-                }});
+        if (strict) {
+            return generateApply(state);
+        } else {
+            Optional<CodeBlock> operation = primitiveOperation(this, state).flatMap(o -> o.generateThunk(state));
+            if (operation.isPresent()) {
+                return operation.get();
+            }
+            Class<?> returnType = state.typeOf(type);
+            Closure closure = state.captureApply(() -> new CodeBlock() {{
+                append(generateApply(state));
+                if (returnType != Callable.class) {
+                    checkcast(p(returnType));
+                }
+                areturn();
             }});
-            invokespecial(p(SuppliedThunk.class), "<init>", sig(void.class, Supplier.class));
-        }};
+            return new CodeBlock() {{
+                newobj(p(SuppliedThunk.class));
+                dup();
+                append(closure.getCaptures());
+                lambda(state.currentClass(), new LambdaBlock(state.reserveApply()) {{
+                    function(p(Supplier.class), "get", sig(Object.class));
+                    specialize(sig(Callable.class));
+                    capture(closure.getCaptureTypes());
+                    delegateTo(ACC_STATIC, sig(returnType, closure.getSignatureTypes()), closure.getBody());
+                }});
+                invokespecial(p(SuppliedThunk.class), "<init>", sig(void.class, Supplier.class));
+            }};
+        }
+    }
+
+    @Override
+    public CodeBlock generateTailBytecode(BytecodeGenerator state) {
+        List<Value> arguments = new ArrayList<>();
+        Value head = this;
+        while (head instanceof Apply) {
+            arguments.add(0, ((Apply) head).argument);
+            head = ((Apply) head).function;
+        }
+        if (head instanceof Method) {
+            return state.getSelfTailCall(((Method) head).getSymbol(), arguments).<CodeBlock>map(start -> new CodeBlock() {{
+                List<Value> parameters = state.getSelfTailCallArguments(arguments);
+                parameters.forEach(argument -> append(argument.generateBytecode(state)));
+                for (int i = parameters.size() - 1; i >= 0; i--) {
+                    astore(i);
+                }
+                go_to(start);
+            }}).orElseGet(() -> generateBytecode(state));
+        } else {
+            return generateBytecode(state);
+        }
     }
 
     public Value getArgument() {
@@ -123,6 +183,10 @@ public class Apply extends Value {
         return type;
     }
 
+    public boolean isStrict() {
+        return strict;
+    }
+
     @Override
     public Value parsePrecedence(PrecedenceParser state) {
         return withFunction(function.parsePrecedence(state))
@@ -135,19 +199,64 @@ public class Apply extends Value {
     }
 
     public Apply withArgument(Value argument) {
-        return new Apply(sourceLocation, function, argument, type);
+        return new Apply(sourceLocation, function, argument, type, strict);
     }
 
     public Apply withFunction(Value function) {
-        return new Apply(sourceLocation, function, argument, type);
+        return new Apply(sourceLocation, function, argument, type, strict);
+    }
+
+    public Apply withStrict(boolean strict) {
+        return new Apply(sourceLocation, function, argument, type, strict);
     }
 
     public Apply withSourceLocation(SourceLocation sourceLocation) {
-        return new Apply(sourceLocation, function, argument, type);
+        return new Apply(sourceLocation, function, argument, type, strict);
     }
 
     @Override
     public Apply withType(Type type) {
-        return new Apply(sourceLocation, function, argument, type);
+        return new Apply(sourceLocation, function, argument, type, strict);
+    }
+
+    private CodeBlock generateApply(BytecodeGenerator state) {
+        return primitiveOperation(this, state)
+            .map(operation -> operation.generateBytecode(state))
+            .orElseGet(() -> generateDirectCall(state)
+                .orElseGet(() -> new CodeBlock() {{
+                    append(function.generateBytecode(state));
+                    invokeinterface(p(Callable.class), "call", sig(Object.class));
+                    checkcast(p(Applicable.class));
+                    append(argument.generateBytecode(state));
+                    append(state.invokeApply());
+                }}));
+    }
+
+    private Optional<CodeBlock> generateDirectCall(BytecodeGenerator state) {
+        List<Value> arguments = new ArrayList<>();
+        Value head = this;
+        while (head instanceof Apply) {
+            arguments.add(0, ((Apply) head).argument);
+            head = ((Apply) head).function;
+        }
+        if (head instanceof Method) {
+            Method method = (Method) head;
+            int dictionaries = method.getInstances().size();
+            Optional<CodeBlock> specializedCall = state.getSpecializedMethod(method.getSymbol(), dictionaries, arguments)
+                .map(specialization -> new CodeBlock() {{
+                    arguments.subList(dictionaries, arguments.size()).forEach(argument -> append(argument.generateBytecode(state)));
+                    append(specialization.reference());
+                }});
+            if (specializedCall.isPresent()) {
+                return specializedCall;
+            } else {
+                return state.getDirectMethod(method.getSymbol(), arguments.size()).map(directMethod -> new CodeBlock() {{
+                    arguments.forEach(argument -> append(argument.generateBytecode(state)));
+                    append(directMethod.reference());
+                }});
+            }
+        } else {
+            return Optional.empty();
+        }
     }
 }
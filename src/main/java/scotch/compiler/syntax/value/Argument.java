@@ -2,6 +2,7 @@ package scotch.compiler.syntax.value;
 
 import static lombok.AccessLevel.PACKAGE;
 import static scotch.compiler.syntax.builder.BuilderUtil.require;
+import static scotch.compiler.syntax.value.CapturedArgumentError.capturedArgument;
 import static scotch.compiler.syntax.value.Values.arg;
 import static scotch.symbol.Symbol.unqualified;
 
@@ -16,6 +17,7 @@ import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.OperatorAccumulator;
 import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
 import scotch.compiler.syntax.builder.SyntaxBuilder;
 import scotch.compiler.text.SourceLocation;
@@ -46,6 +48,12 @@ public class Argument extends Value {
         return this;
     }
 
+    @Override
+    public Argument analyzeStrictness(StrictnessAnalyzer state) {
+        state.force(name);
+        return this;
+    }
+
     @Override
     public Argument bindMethods(TypeChecker state) {
         return this;
@@ -58,6 +66,9 @@ public class Argument extends Value {
 
     @Override
     public Argument checkTypes(TypeChecker state) {
+        if (!state.isBound(getSymbol())) {
+            state.error(capturedArgument(getSymbol(), sourceLocation));
+        }
         state.capture(getSymbol());
         return this;
     }
@@ -69,9 +80,11 @@ public class Argument extends Value {
 
     @Override
     public CodeBlock generateBytecode(BytecodeGenerator state) {
-        return new CodeBlock() {{
-            aload(state.getVariable(name));
-        }};
+        return state.getDictionary(this)
+            .map(instance -> instance.generateBytecode(state))
+            .orElseGet(() -> new CodeBlock() {{
+                aload(state.getVariable(name));
+            }});
     }
 
     public String getName() {
@@ -4,6 +4,7 @@ import static me.qmx.jitescript.util.CodegenUtils.p;
 import static me.qmx.jitescript.util.CodegenUtils.sig;
 import static scotch.compiler.syntax.TypeError.typeError;
 import static scotch.compiler.syntax.builder.BuilderUtil.require;
+import static scotch.compiler.syntax.value.PrimitiveOperation.primitiveOperation;
 import static scotch.compiler.syntax.value.Values.conditional;
 import static scotch.symbol.type.Types.sum;
 
@@ -20,6 +21,7 @@ import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.OperatorAccumulator;
 import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
 import scotch.compiler.syntax.builder.SyntaxBuilder;
 import scotch.compiler.text.SourceLocation;
@@ -61,6 +63,17 @@ public class Conditional extends Value {
         return parse(state, Value::accumulateNames);
     }
 
+    @Override
+    public Value analyzeStrictness(StrictnessAnalyzer state) {
+        return state.branches(() -> conditional(
+            sourceLocation,
+            state.demanded(() -> condition.analyzeStrictness(state)),
+            state.branch(() -> whenTrue.analyzeStrictness(state)),
+            state.branch(() -> whenFalse.analyzeStrictness(state)),
+            type
+        ));
+    }
+
     @Override
     public Value bindMethods(TypeChecker state) {
         return parse(state, (value, s) -> value.bindMethods(s));
@@ -92,18 +105,12 @@ public class Conditional extends Value {
 
     @Override
     public CodeBlock generateBytecode(BytecodeGenerator state) {
-        return new CodeBlock() {{
-            LabelNode falseBranch = new LabelNode();
-            LabelNode end = new LabelNode();
-            append(condition.generateBytecode(state));
-            invokestatic(p(RuntimeSupport.class), "unboxBool", sig(boolean.class, Callable.class));
-            iffalse(falseBranch);
-            append(whenTrue.generateBytecode(state));
-            go_to(end);
-            label(falseBranch);
-            append(whenFalse.generateBytecode(state));
-            label(end);
-        }};
+        return generate(state, Value::generateBytecode);
+    }
+
+    @Override
+    public CodeBlock generateTailBytecode(BytecodeGenerator state) {
+        return generate(state, Value::generateTailBytecode);
     }
 
     @Override
@@ -122,6 +129,30 @@ public class Conditional extends Value {
         return new Conditional(sourceLocation, condition, whenTrue, whenFalse, type);
     }
 
+    private CodeBlock generate(BytecodeGenerator state, BiFunction<Value, BytecodeGenerator, CodeBlock> function) {
+        return new CodeBlock() {{
+            LabelNode falseBranch = new LabelNode();
+            LabelNode end = new LabelNode();
+            append(generateCondition(state, falseBranch));
+            append(function.apply(whenTrue, state));
+            go_to(end);
+            label(falseBranch);
+            append(function.apply(whenFalse, state));
+            label(end);
+        }};
+    }
+
+    private CodeBlock generateCondition(BytecodeGenerator state, LabelNode falseBranch) {
+        return primitiveOperation(condition, state)
+            .filter(PrimitiveOperation::isComparison)
+            .map(operation -> operation.generateBranch(state, falseBranch))
+            .orElseGet(() -> new CodeBlock() {{
+                append(condition.generateBytecode(state));
+                invokestatic(p(RuntimeSupport.class), "unboxBool", sig(boolean.class, Callable.class));
+                iffalse(falseBranch);
+            }});
+    }
+
     private <T> Value parse(T state, BiFunction<Value, T, Value> function) {
         return builder()
             .withSourceLocation(sourceLocation)
@@ -4,15 +4,20 @@ import static java.util.stream.Collectors.toList;
 import static me.qmx.jitescript.util.CodegenUtils.p;
 import static me.qmx.jitescript.util.CodegenUtils.sig;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Supplier;
+import com.google.common.collect.ImmutableList;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import me.qmx.jitescript.CodeBlock;
 import me.qmx.jitescript.LambdaBlock;
+import org.objectweb.asm.tree.LabelNode;
 import scotch.compiler.steps.BytecodeGenerator;
+import scotch.compiler.steps.Closure;
 import scotch.compiler.steps.DependencyAccumulator;
 import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.OperatorAccumulator;
@@ -20,6 +25,10 @@ import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
 import scotch.compiler.steps.TypeChecker;
 import scotch.runtime.RuntimeSupport;
+import scotch.symbol.descriptor.DataConstructorDescriptor;
+import scotch.symbol.descriptor.DataFieldDescriptor;
+import scotch.symbol.descriptor.DataTypeDescriptor;
+import scotch.symbol.type.SumType;
 import scotch.symbol.type.Type;
 import scotch.compiler.text.SourceLocation;
 import scotch.runtime.Callable;
@@ -59,7 +68,7 @@ public class CopyInitializer extends Value {
 
     @Override
     public Value bindMethods(TypeChecker state) {
-        return new CopyInitializer(sourceLocation, value.bindTypes(state), fields.stream()
+        return new CopyInitializer(sourceLocation, value.bindMethods(state), fields.stream()
             .map(field -> field.bindMethods(state))
             .collect(toList()));
     }
@@ -76,39 +85,12 @@ public class CopyInitializer extends Value {
 
     @Override
     public CodeBlock generateBytecode(BytecodeGenerator state) {
-        return new CodeBlock() {{
-            newobj(p(SuppliedThunk.class));
-            dup();
-            append(state.captureApply());
-            lambda(state.currentClass(), new LambdaBlock(state.reserveApply()) {{
-                function(p(Supplier.class), "get", sig(Object.class));
-                specialize(sig(Callable.class));
-                capture(state.getCaptureAllTypes());
-                Class<?> returnType = state.typeOf(value.getType());
-                delegateTo(ACC_STATIC, sig(returnType, state.getCaptureAllTypes()), new CodeBlock() {{
-                    if (returnType != Callable.class) {
-                        checkcast(p(returnType));
-                    }
-                    append(value.generateBytecode(state));
-                    invokeinterface(p(Callable.class), "call", sig(Object.class));
-                    checkcast(p(Copyable.class));
-                    newobj(p(HashMap.class));
-                    dup();
-                    invokespecial(p(HashMap.class), "<init>", sig(void.class));
-                    fields.forEach(field -> {
-                        dup();
-                        ldc(field.getName());
-                        append(field.getValue().generateBytecode(state));
-                        invokeinterface(p(Map.class), "put", sig(Object.class, Object.class, Object.class));
-                        pop();
-                    });
-                    invokeinterface(p(Copyable.class), "copy", sig(Copyable.class, Map.class));
-                    invokestatic(p(RuntimeSupport.class), "box", sig(Callable.class, Object.class));
-                    areturn();
-                }});
-            }});
-            invokespecial(p(SuppliedThunk.class), "<init>", sig(void.class, Supplier.class));
-        }};
+        Optional<DataTypeDescriptor> dataType = getDataType(state);
+        if (dataType.map(DataTypeDescriptor::isNewtype).orElse(false)) {
+            return generateErased(dataType.get(), state);
+        } else {
+            return generateCopy(dataType, state);
+        }
     }
 
     @Override
@@ -133,6 +115,113 @@ public class CopyInitializer extends Value {
 
     @Override
     public Value withType(Type type) {
-        throw new UnsupportedOperationException();
+        return new CopyInitializer(sourceLocation, value.withType(type), fields);
+    }
+
+    private CodeBlock generateCopy(Optional<DataTypeDescriptor> dataType, BytecodeGenerator state) {
+        Class<?> returnType = state.typeOf(value.getType());
+        List<DataConstructorDescriptor> allConstructors = dataType
+            .map(DataTypeDescriptor::getConstructors)
+            .orElse(ImmutableList.of());
+        List<DataConstructorDescriptor> constructors = allConstructors.stream()
+            .filter(this::isCopiedBy)
+            .collect(toList());
+        boolean exhaustive = !constructors.isEmpty() && constructors.size() == allConstructors.size();
+        Closure closure = state.captureApply(() -> new CodeBlock() {{
+            if (returnType != Callable.class) {
+                checkcast(p(returnType));
+            }
+            LabelNode copied = new LabelNode();
+            append(value.generateBytecode(state));
+            invokeinterface(p(Callable.class), "call", sig(Object.class));
+            for (int i = 0; i < constructors.size(); i++) {
+                DataConstructorDescriptor constructor = constructors.get(i);
+                String className = state.getDataConstructorClass(constructor.getSymbol());
+                LabelNode nextConstructor = new LabelNode();
+                boolean tested = !exhaustive || i < constructors.size() - 1;
+                if (tested) {
+                    dup();
+                    instance_of(className);
+                    ifeq(nextConstructor);
+                }
+                checkcast(className);
+                List<Class<?>> parameters = new ArrayList<>();
+                constructor.getFields().forEach(field -> {
+                    Optional<InitializerField> initializer = getField(field.getName());
+                    if (initializer.isPresent()) {
+                        append(initializer.get().getValue().generateBytecode(state));
+                        if (field.getJavaType() != Callable.class) {
+                            checkcast(p(field.getJavaType()));
+                        }
+                    } else {
+                        aconst_null();
+                    }
+                    parameters.add(field.getJavaType());
+                });
+                invokevirtual(className, "copy", sig(Copyable.class, parameters.toArray(new Class<?>[parameters.size()])));
+                go_to(copied);
+                if (tested) {
+                    label(nextConstructor);
+                }
+            }
+            if (!exhaustive) {
+                checkcast(p(Copyable.class));
+                newobj(p(HashMap.class));
+                dup();
+                invokespecial(p(HashMap.class), "<init>", sig(void.class));
+                fields.forEach(field -> {
+                    dup();
+                    ldc(field.getName());
+                    append(field.getValue().generateBytecode(state));
+                    invokeinterface(p(Map.class), "put", sig(Object.class, Object.class, Object.class));
+                    pop();
+                });
+                invokeinterface(p(Copyable.class), "copy", sig(Copyable.class, Map.class));
+            }
+            label(copied);
+            invokestatic(p(RuntimeSupport.class), "box", sig(Callable.class, Object.class));
+            areturn();
+        }});
+        return new CodeBlock() {{
+            newobj(p(SuppliedThunk.class));
+            dup();
+            append(closure.getCaptures());
+            lambda(state.currentClass(), new LambdaBlock(state.reserveApply()) {{
+                function(p(Supplier.class), "get", sig(Object.class));
+                specialize(sig(Callable.class));
+                capture(closure.getCaptureTypes());
+                delegateTo(ACC_STATIC, sig(returnType, closure.getSignatureTypes()), closure.getBody());
+            }});
+            invokespecial(p(SuppliedThunk.class), "<init>", sig(void.class, Supplier.class));
+        }};
+    }
+
+    // an erased newtype is the value of its single field, so updating that field replaces the whole value
+    private CodeBlock generateErased(DataTypeDescriptor dataType, BytecodeGenerator state) {
+        return getField(dataType.getConstructors().get(0).getFields().get(0).getName())
+            .map(field -> field.getValue().generateBytecode(state))
+            .orElseGet(() -> value.generateBytecode(state));
+    }
+
+    private Optional<DataTypeDescriptor> getDataType(BytecodeGenerator state) {
+        if (value.getType() instanceof SumType) {
+            return state.getDataType(((SumType) value.getType()).getSymbol());
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    private Optional<InitializerField> getField(String name) {
+        return fields.stream()
+            .filter(field -> field.getName().equals(name))
+            .findFirst();
+    }
+
+    // constructors without all of the updated fields are left to the map-based copy, which ignores unknown fields
+    private boolean isCopiedBy(DataConstructorDescriptor constructor) {
+        List<String> names = constructor.getFields().stream()
+            .map(DataFieldDescriptor::getName)
+            .collect(toList());
+        return !names.isEmpty() && fields.stream().map(InitializerField::getName).allMatch(names::contains);
     }
 }
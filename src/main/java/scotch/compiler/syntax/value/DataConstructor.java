@@ -2,6 +2,7 @@ package scotch.compiler.syntax.value;
 
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
+import static me.qmx.jitescript.util.CodegenUtils.p;
 import static me.qmx.jitescript.util.CodegenUtils.sig;
 import static scotch.compiler.syntax.builder.BuilderUtil.require;
 
@@ -20,6 +21,8 @@ import scotch.compiler.steps.ScopedNameQualifier;
 import scotch.compiler.steps.TypeChecker;
 import scotch.compiler.syntax.builder.SyntaxBuilder;
 import scotch.compiler.text.SourceLocation;
+import scotch.runtime.Callable;
+import scotch.runtime.RuntimeSupport;
 import scotch.symbol.Symbol;
 import scotch.symbol.type.Type;
 
@@ -79,16 +82,19 @@ public class DataConstructor extends Value {
 
     @Override
     public CodeBlock generateBytecode(BytecodeGenerator state) {
-        return new CodeBlock() {{
-            newobj(state.getDataConstructorClass(symbol));
-            dup();
-            arguments.forEach(argument -> append(argument.generateBytecode(state)));
-            List<Class<?>> parameters = arguments.stream()
-                .map(Value::getType)
-                .map(Type::getJavaType)
-                .collect(toList());
-            invokespecial(state.getDataConstructorClass(symbol), "<init>", sig(void.class, parameters.toArray(new Class<?>[parameters.size()])));
-        }};
+        if (state.isErased(symbol)) {
+            return arguments.get(0).generateBytecode(state);
+        } else {
+            return new CodeBlock() {{
+                arguments.forEach(argument -> append(argument.generateBytecode(state)));
+                List<Class<?>> parameters = arguments.stream()
+                    .map(Value::getType)
+                    .map(Type::getJavaType)
+                    .collect(toList());
+                invokestatic(state.getDataConstructorClass(symbol), "create", sig(Object.class, parameters.toArray(new Class<?>[parameters.size()])));
+                invokestatic(p(RuntimeSupport.class), "box", sig(Callable.class, Object.class));
+            }};
+        }
     }
 
     @Override
@@ -7,6 +7,7 @@ import static scotch.symbol.type.Types.fn;
 import static scotch.compiler.syntax.builder.BuilderUtil.require;
 import static scotch.compiler.syntax.definition.Definitions.scopeDef;
 import static scotch.compiler.syntax.reference.DefinitionReference.scopeRef;
+import static scotch.compiler.syntax.value.Values.directCall;
 import static scotch.compiler.syntax.value.Values.fn;
 
 import java.util.ArrayDeque;
@@ -23,6 +24,7 @@ import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.OperatorAccumulator;
 import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
 import scotch.symbol.Symbol;
 import scotch.symbol.type.Type;
@@ -71,6 +73,11 @@ public class FunctionValue extends Value implements Scoped {
         return WithArguments.withArguments(this);
     }
 
+    @Override
+    public Value analyzeStrictness(StrictnessAnalyzer state) {
+        return state.function(this, arguments, () -> withBody(body.analyzeStrictness(state)));
+    }
+
     @Override
     public Value bindMethods(TypeChecker state) {
         return state.scoped(this, () -> withBody(body.bindMethods(state)));
@@ -116,6 +123,17 @@ public class FunctionValue extends Value implements Scoped {
         return state.enclose(this, () -> curry().generateBytecode(state));
     }
 
+    @Override
+    public CodeBlock generateCurriedBytecode(BytecodeGenerator state, Symbol symbol) {
+        return withBody(directCall(sourceLocation, symbol, arguments, body.getType())).generateBytecode(state);
+    }
+
+    @Override
+    public CodeBlock generateDirectBytecode(BytecodeGenerator state) {
+        return state.encloseDirect(this, arguments, () -> body.generateTailBytecode(state));
+    }
+
+    @Override
     public List<Argument> getArguments() {
         return arguments;
     }
@@ -133,6 +151,11 @@ public class FunctionValue extends Value implements Scoped {
         return scopeRef(symbol);
     }
 
+    @Override
+    public Type getResultType() {
+        return body.getType();
+    }
+
     @Override
     public SourceLocation getSourceLocation() {
         return sourceLocation;
@@ -67,13 +67,17 @@ public class Instance extends Value {
 
     @Override
     public CodeBlock generateBytecode(BytecodeGenerator state) {
-        return state.getTypeInstance(
+        return state.loadInstance(state.getTypeInstance(
             reference.getClassReference(),
             reference.getModuleReference(),
             reference.getParameters().stream()
                 .map(parameter -> parameter.copy(state.scope()::reserveType))
                 .collect(toList())
-        ).reference();
+        ));
+    }
+
+    public InstanceReference getReference() {
+        return reference;
     }
 
     @Override
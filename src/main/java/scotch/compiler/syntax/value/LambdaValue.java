@@ -8,6 +8,7 @@ import java.util.Objects;
 import me.qmx.jitescript.CodeBlock;
 import me.qmx.jitescript.LambdaBlock;
 import scotch.compiler.steps.BytecodeGenerator;
+import scotch.compiler.steps.Closure;
 import scotch.compiler.steps.DependencyAccumulator;
 import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.OperatorAccumulator;
@@ -80,17 +81,17 @@ public class LambdaValue extends Value {
 
     @Override
     public CodeBlock generateBytecode(BytecodeGenerator state) {
+        Closure closure = state.captureLambda(argument.getName(), () -> new CodeBlock() {{
+            append(body.generateBytecode(state));
+            areturn();
+        }});
         return new CodeBlock() {{
-            append(state.captureLambda(argument.getName()));
+            append(closure.getCaptures());
             lambda(state.currentClass(), new LambdaBlock(state.reserveLambda()) {{
                 function(p(Applicable.class), "apply", sig(Callable.class, Callable.class));
-                capture(state.getLambdaCaptureTypes());
-                delegateTo(ACC_STATIC, sig(state.typeOf(body.getType()), state.getLambdaType()), new CodeBlock() {{
-                    append(body.generateBytecode(state));
-                    areturn();
-                }});
+                capture(closure.getCaptureTypes());
+                delegateTo(ACC_STATIC, sig(state.typeOf(body.getType()), closure.getSignatureTypes()), closure.getBody());
             }});
-            state.releaseLambda(argument.getName());
         }};
     }
 
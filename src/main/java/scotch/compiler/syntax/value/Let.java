@@ -18,6 +18,7 @@ import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.OperatorAccumulator;
 import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
 import scotch.compiler.syntax.Scoped;
 import scotch.compiler.syntax.builder.SyntaxBuilder;
@@ -58,6 +59,11 @@ public class Let extends Value implements Scoped {
             .withBody(body.accumulateNames(state)));
     }
 
+    @Override
+    public Value analyzeStrictness(StrictnessAnalyzer state) {
+        return state.scoped(this, () -> withBody(body.analyzeStrictness(state)));
+    }
+
     @Override
     public Value bindMethods(TypeChecker state) {
         return state.scoped(this, () -> withBody(body.bindMethods(state)));
@@ -100,6 +106,12 @@ public class Let extends Value implements Scoped {
         return state.scoped(this, () -> body.generateBytecode(state));
     }
 
+    @Override
+    public CodeBlock generateTailBytecode(BytecodeGenerator state) {
+        state.generateBytecode(definitions);
+        return state.scoped(this, () -> body.generateTailBytecode(state));
+    }
+
     public Value getBody() {
         return body;
     }
@@ -69,7 +69,7 @@ public abstract class LiteralValue<A> extends Value {
 
     @Override
     public CodeBlock generateBytecode(BytecodeGenerator state) {
-        return loadValue().invokestatic(p(RuntimeSupport.class), "box", sig(Callable.class, Object.class));
+        return state.loadLiteral(value, () -> loadValue().invokestatic(p(RuntimeSupport.class), "box", sig(Callable.class, Object.class)));
     }
 
     protected abstract CodeBlock loadValue();
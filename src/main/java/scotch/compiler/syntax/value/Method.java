@@ -111,6 +111,10 @@ public class Method extends Value {
         return state.getValueSignature(reference.getSymbol()).reference();
     }
 
+    public List<Type> getInstances() {
+        return instances;
+    }
+
     public ValueReference getReference() {
         return reference;
     }
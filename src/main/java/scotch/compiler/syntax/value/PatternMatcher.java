@@ -4,12 +4,14 @@ import static java.util.Collections.reverse;
 import static java.util.stream.Collectors.toList;
 import static me.qmx.jitescript.util.CodegenUtils.p;
 import static me.qmx.jitescript.util.CodegenUtils.sig;
+import static scotch.compiler.syntax.pattern.CaseSwitch.caseSwitch;
 import static scotch.symbol.type.Types.fn;
 import static scotch.symbol.type.Unification.unified;
 import static scotch.compiler.syntax.TypeError.typeError;
 import static scotch.compiler.syntax.builder.BuilderUtil.require;
 import static scotch.compiler.syntax.definition.Definitions.scopeDef;
 import static scotch.compiler.syntax.reference.DefinitionReference.scopeRef;
+import static scotch.compiler.syntax.value.Values.directCall;
 import static scotch.compiler.syntax.value.Values.matcher;
 
 import java.util.ArrayDeque;
@@ -27,11 +29,13 @@ import lombok.ToString;
 import me.qmx.jitescript.CodeBlock;
 import me.qmx.jitescript.LambdaBlock;
 import scotch.compiler.steps.BytecodeGenerator;
+import scotch.compiler.steps.Closure;
 import scotch.compiler.steps.DependencyAccumulator;
 import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.OperatorAccumulator;
 import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
 import scotch.symbol.Symbol;
 import scotch.symbol.type.Type;
@@ -43,6 +47,7 @@ import scotch.compiler.syntax.reference.DefinitionReference;
 import scotch.compiler.text.SourceLocation;
 import scotch.runtime.Applicable;
 import scotch.runtime.Callable;
+import scotch.runtime.PatternMatchException;
 
 @EqualsAndHashCode(callSuper = false)
 @ToString(exclude = "sourceLocation", doNotUseGetters = true)
@@ -82,6 +87,11 @@ public class PatternMatcher extends Value implements Scoped {
         ));
     }
 
+    @Override
+    public Value analyzeStrictness(StrictnessAnalyzer state) {
+        return state.function(this, arguments, () -> withPatternCases(state.analyzePatternCases(patternCases)));
+    }
+
     @Override
     public Value bindMethods(TypeChecker state) {
         return withPatternCases(patternCases.stream()
@@ -130,6 +140,17 @@ public class PatternMatcher extends Value implements Scoped {
         return state.enclose(this, () -> curry().generateBytecode(state));
     }
 
+    @Override
+    public CodeBlock generateCurriedBytecode(BytecodeGenerator state, Symbol symbol) {
+        return Values.fn(sourceLocation, this.symbol, arguments, directCall(sourceLocation, symbol, arguments, getResultType())).generateBytecode(state);
+    }
+
+    @Override
+    public CodeBlock generateDirectBytecode(BytecodeGenerator state) {
+        return state.encloseDirect(this, arguments, () -> new PatternBody(patternCases, true).generateBytecode(state));
+    }
+
+    @Override
     public List<Argument> getArguments() {
         return arguments;
     }
@@ -139,11 +160,20 @@ public class PatternMatcher extends Value implements Scoped {
         return scopeDef(sourceLocation, symbol);
     }
 
+    public List<PatternCase> getPatternCases() {
+        return patternCases;
+    }
+
     @Override
     public DefinitionReference getReference() {
         return scopeRef(symbol);
     }
 
+    @Override
+    public Type getResultType() {
+        return patternCases.get(0).getType();
+    }
+
     @Override
     public SourceLocation getSourceLocation() {
         return sourceLocation;
@@ -219,7 +249,7 @@ public class PatternMatcher extends Value implements Scoped {
 
     private PatternCapture curry_(Deque<Argument> arguments) {
         if (arguments.isEmpty()) {
-            return new PatternBody(patternCases);
+            return new PatternBody(patternCases, false);
         } else {
             return new PatternLambda(arguments.pop(), curry_(arguments));
         }
@@ -312,16 +342,23 @@ public class PatternMatcher extends Value implements Scoped {
     private static final class PatternBody implements PatternCapture {
 
         private final List<PatternCase> patternCases;
+        private final boolean           tail;
 
-        public PatternBody(List<PatternCase> patternCases) {
+        public PatternBody(List<PatternCase> patternCases, boolean tail) {
             this.patternCases = ImmutableList.copyOf(patternCases);
+            this.tail = tail;
         }
 
         @Override
         public CodeBlock generateBytecode(BytecodeGenerator state) {
             return new CodeBlock() {{
                 state.beginCases(patternCases.size());
-                patternCases.forEach(matcher -> append(matcher.generateBytecode(state)));
+                append(caseSwitch(patternCases, state).generateBytecode(state, tail));
+                label(state.matchFailure());
+                newobj(p(PatternMatchException.class));
+                dup();
+                invokespecial(p(PatternMatchException.class), "<init>", sig(void.class));
+                athrow();
                 label(state.endCases());
             }};
         }
@@ -340,17 +377,17 @@ public class PatternMatcher extends Value implements Scoped {
 
         @Override
         public CodeBlock generateBytecode(BytecodeGenerator state) {
+            Closure closure = state.captureLambda(argument.getName(), () -> new CodeBlock() {{
+                append(body.generateBytecode(state));
+                areturn();
+            }});
             return new CodeBlock() {{
-                append(state.captureLambda(argument.getName()));
+                append(closure.getCaptures());
                 lambda(state.currentClass(), new LambdaBlock(state.reserveLambda()) {{
                     function(p(Applicable.class), "apply", sig(Callable.class, Callable.class));
-                    capture(state.getLambdaCaptureTypes());
-                    delegateTo(ACC_STATIC, sig(state.typeOf(body.getType()), state.getLambdaType()), new CodeBlock() {{
-                        append(body.generateBytecode(state));
-                        areturn();
-                    }});
+                    capture(closure.getCaptureTypes());
+                    delegateTo(ACC_STATIC, sig(state.typeOf(body.getType()), closure.getSignatureTypes()), closure.getBody());
                 }});
-                state.releaseLambda(argument.getName());
             }};
         }
 
@@ -0,0 +1,325 @@
+package scotch.compiler.syntax.value;
+
+import static java.util.stream.Collectors.toList;
+import static me.qmx.jitescript.util.CodegenUtils.p;
+import static me.qmx.jitescript.util.CodegenUtils.sig;
+import static scotch.symbol.Symbol.symbol;
+import static scotch.symbol.type.Types.sum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import me.qmx.jitescript.CodeBlock;
+import org.objectweb.asm.tree.LabelNode;
+import scotch.compiler.steps.BytecodeGenerator;
+import scotch.runtime.Callable;
+import scotch.runtime.DoubleThunk;
+import scotch.runtime.IntThunk;
+import scotch.runtime.RuntimeSupport;
+import scotch.symbol.Symbol;
+import scotch.symbol.type.Type;
+
+public class PrimitiveOperation {
+
+    public static Optional<PrimitiveOperation> primitiveOperation(Value value) {
+        return primitiveOperation(value, instance -> instance instanceof Instance ? Optional.of((Instance) instance) : Optional.empty());
+    }
+
+    public static Optional<PrimitiveOperation> primitiveOperation(Value value, BytecodeGenerator state) {
+        return primitiveOperation(value, state::getDictionary);
+    }
+
+    private static Optional<PrimitiveOperation> primitiveOperation(Value value, Function<Value, Optional<Instance>> dictionaries) {
+        List<Value> arguments = new ArrayList<>();
+        Value head = value;
+        while (head instanceof Apply) {
+            arguments.add(0, ((Apply) head).getArgument());
+            head = ((Apply) head).getFunction();
+        }
+        if (head instanceof Method) {
+            Method method = (Method) head;
+            int instanceCount = method.getInstances().size();
+            if (instanceCount > 0 && arguments.size() == instanceCount + 2) {
+                List<Optional<Instance>> instances = arguments.subList(0, instanceCount).stream()
+                    .map(dictionaries)
+                    .collect(toList());
+                for (Operator operator : Operator.values()) {
+                    if (operator.symbol.equals(method.getSymbol())) {
+                        for (PrimitiveType primitiveType : PrimitiveType.values()) {
+                            if (primitiveType.supports(operator) && instances.stream().allMatch(primitiveType::matches)) {
+                                return Optional.of(new PrimitiveOperation(operator, primitiveType, arguments.get(instanceCount), arguments.get(instanceCount + 1)));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private final Operator      operator;
+    private final PrimitiveType primitiveType;
+    private final Value         left;
+    private final Value         right;
+
+    private PrimitiveOperation(Operator operator, PrimitiveType primitiveType, Value left, Value right) {
+        this.operator = operator;
+        this.primitiveType = primitiveType;
+        this.left = left;
+        this.right = right;
+    }
+
+    public CodeBlock generateBranch(BytecodeGenerator state, LabelNode whenFalse) {
+        return new CodeBlock() {{
+            append(primitiveType.load(left, state));
+            append(primitiveType.load(right, state));
+            primitiveType.branch(operator, this, whenFalse);
+        }};
+    }
+
+    public CodeBlock generateBytecode(BytecodeGenerator state) {
+        if (operator.isComparison()) {
+            return new CodeBlock() {{
+                LabelNode whenFalse = new LabelNode();
+                LabelNode end = new LabelNode();
+                append(generateBranch(state, whenFalse));
+                iconst_1();
+                go_to(end);
+                label(whenFalse);
+                iconst_0();
+                label(end);
+                invokestatic(p(RuntimeSupport.class), "box", sig(Callable.class, boolean.class));
+            }};
+        } else {
+            return new CodeBlock() {{
+                append(primitiveType.load(left, state));
+                append(primitiveType.load(right, state));
+                primitiveType.arithmetic(operator).accept(this);
+                append(primitiveType.box());
+            }};
+        }
+    }
+
+    // arithmetic on operands which can be loaded without evaluating anything is built as an IntThunk or DoubleThunk
+    // operation, which evaluates chains of such operations on a heap stack instead of the Java stack
+    public Optional<CodeBlock> generateThunk(BytecodeGenerator state) {
+        if (isDeferrable(state)) {
+            return Optional.of(new CodeBlock() {{
+                append(generateOperand(left, state));
+                append(generateOperand(right, state));
+                append(primitiveType.operation(operator));
+            }});
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    private static CodeBlock generateOperand(Value value, BytecodeGenerator state) {
+        if (value instanceof Apply && ((Apply) value).isStrict()) {
+            return primitiveOperation(value, state).flatMap(operation -> operation.generateThunk(state)).get();
+        } else {
+            return value.generateBytecode(state);
+        }
+    }
+
+    private static boolean isDeferrable(Value value, BytecodeGenerator state) {
+        if (value instanceof Argument || value instanceof IntLiteral || value instanceof DoubleLiteral) {
+            return true;
+        } else if (value instanceof Apply) {
+            return !((Apply) value).isStrict() || primitiveOperation(value, state)
+                .map(operation -> operation.isDeferrable(state))
+                .orElse(false);
+        } else {
+            return false;
+        }
+    }
+
+    private boolean isDeferrable(BytecodeGenerator state) {
+        return !operator.isComparison()
+            && primitiveType != PrimitiveType.BOOL
+            && isDeferrable(left, state)
+            && isDeferrable(right, state);
+    }
+
+    // the int the left operand is tested against, when this is an equality test against an int literal
+    public Optional<Integer> getIntComparand() {
+        if (operator == Operator.EQUAL && primitiveType == PrimitiveType.INT && right instanceof IntLiteral) {
+            return Optional.of(((IntLiteral) right).getValue());
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    public boolean isComparison() {
+        return operator.isComparison();
+    }
+
+    // comparisons branch to the false label when they fail, either on two ints or on the result of comparing two
+    // doubles, where NaN compares so that the comparison fails
+    private enum Operator {
+        ADD("scotch.data.num.(+)", "add", null, null, null),
+        SUBTRACT("scotch.data.num.(-)", "subtract", null, null, null),
+        MULTIPLY("scotch.data.num.(*)", "multiply", null, null, null),
+        EQUAL("scotch.data.eq.(==)", null, CodeBlock::if_icmpne, CodeBlock::dcmpl, CodeBlock::ifne),
+        NOT_EQUAL("scotch.data.eq.(/=)", null, CodeBlock::if_icmpeq, CodeBlock::dcmpl, CodeBlock::ifeq),
+        LESS_THAN("scotch.data.ord.(<)", null, CodeBlock::if_icmpge, CodeBlock::dcmpg, CodeBlock::ifge),
+        LESS_THAN_EQUALS("scotch.data.ord.(<=)", null, CodeBlock::if_icmpgt, CodeBlock::dcmpg, CodeBlock::ifgt),
+        GREATER_THAN("scotch.data.ord.(>)", null, CodeBlock::if_icmple, CodeBlock::dcmpl, CodeBlock::ifle),
+        GREATER_THAN_EQUALS("scotch.data.ord.(>=)", null, CodeBlock::if_icmplt, CodeBlock::dcmpl, CodeBlock::iflt);
+
+        private final Symbol                           symbol;
+        private final String                           method;
+        private final BiConsumer<CodeBlock, LabelNode> branch;
+        private final Consumer<CodeBlock>              doubleCompare;
+        private final BiConsumer<CodeBlock, LabelNode> doubleBranch;
+
+        Operator(String symbol, String method, BiConsumer<CodeBlock, LabelNode> branch, Consumer<CodeBlock> doubleCompare, BiConsumer<CodeBlock, LabelNode> doubleBranch) {
+            this.symbol = symbol(symbol);
+            this.method = method;
+            this.branch = branch;
+            this.doubleCompare = doubleCompare;
+            this.doubleBranch = doubleBranch;
+        }
+
+        public boolean isComparison() {
+            return branch != null;
+        }
+    }
+
+    private enum PrimitiveType {
+        INT("scotch.data.int.Int") {
+            @Override
+            public Consumer<CodeBlock> arithmetic(Operator operator) {
+                switch (operator) {
+                    case ADD: return CodeBlock::iadd;
+                    case SUBTRACT: return CodeBlock::isub;
+                    case MULTIPLY: return CodeBlock::imul;
+                    default: throw new IllegalArgumentException("Unsupported int operator " + operator);
+                }
+            }
+
+            @Override
+            public CodeBlock box() {
+                return new CodeBlock().invokestatic(p(IntThunk.class), "intValue", sig(IntThunk.class, int.class));
+            }
+
+            @Override
+            public CodeBlock operation(Operator operator) {
+                return new CodeBlock().invokestatic(p(IntThunk.class), operator.method, sig(IntThunk.class, Callable.class, Callable.class));
+            }
+
+            @Override
+            public CodeBlock load(Value value, BytecodeGenerator state) {
+                if (value instanceof IntLiteral) {
+                    return new CodeBlock().ldc(((IntLiteral) value).getValue());
+                } else {
+                    return value.generateBytecode(state)
+                        .invokestatic(p(RuntimeSupport.class), "unboxInt", sig(int.class, Callable.class));
+                }
+            }
+
+            @Override
+            public boolean supports(Operator operator) {
+                return true;
+            }
+        },
+        DOUBLE("scotch.data.double.Double") {
+            @Override
+            public Consumer<CodeBlock> arithmetic(Operator operator) {
+                switch (operator) {
+                    case ADD: return CodeBlock::dadd;
+                    case SUBTRACT: return CodeBlock::dsub;
+                    case MULTIPLY: return CodeBlock::dmul;
+                    default: throw new IllegalArgumentException("Unsupported double operator " + operator);
+                }
+            }
+
+            @Override
+            public CodeBlock box() {
+                return new CodeBlock().invokestatic(p(DoubleThunk.class), "doubleValue", sig(DoubleThunk.class, double.class));
+            }
+
+            @Override
+            public CodeBlock operation(Operator operator) {
+                return new CodeBlock().invokestatic(p(DoubleThunk.class), operator.method, sig(DoubleThunk.class, Callable.class, Callable.class));
+            }
+
+            @Override
+            public CodeBlock load(Value value, BytecodeGenerator state) {
+                if (value instanceof DoubleLiteral) {
+                    return new CodeBlock().ldc(((DoubleLiteral) value).getValue());
+                } else {
+                    return value.generateBytecode(state)
+                        .invokestatic(p(RuntimeSupport.class), "unboxDouble", sig(double.class, Callable.class));
+                }
+            }
+
+            @Override
+            public void branch(Operator operator, CodeBlock block, LabelNode whenFalse) {
+                operator.doubleCompare.accept(block);
+                operator.doubleBranch.accept(block, whenFalse);
+            }
+
+            @Override
+            public boolean supports(Operator operator) {
+                return true;
+            }
+        },
+        BOOL("scotch.data.bool.Bool") {
+            @Override
+            public Consumer<CodeBlock> arithmetic(Operator operator) {
+                throw new IllegalArgumentException("Unsupported bool operator " + operator);
+            }
+
+            @Override
+            public CodeBlock box() {
+                return new CodeBlock().invokestatic(p(RuntimeSupport.class), "box", sig(Callable.class, boolean.class));
+            }
+
+            @Override
+            public CodeBlock load(Value value, BytecodeGenerator state) {
+                if (value instanceof BoolLiteral) {
+                    return ((BoolLiteral) value).getValue() ? new CodeBlock().iconst_1() : new CodeBlock().iconst_0();
+                } else {
+                    return value.generateBytecode(state)
+                        .invokestatic(p(RuntimeSupport.class), "unboxBool", sig(boolean.class, Callable.class));
+                }
+            }
+
+            @Override
+            public boolean supports(Operator operator) {
+                return operator == Operator.EQUAL || operator == Operator.NOT_EQUAL;
+            }
+        };
+
+        private final Type type;
+
+        PrimitiveType(String type) {
+            this.type = sum(type);
+        }
+
+        public abstract Consumer<CodeBlock> arithmetic(Operator operator);
+
+        public abstract CodeBlock box();
+
+        public void branch(Operator operator, CodeBlock block, LabelNode whenFalse) {
+            operator.branch.accept(block, whenFalse);
+        }
+
+        public abstract CodeBlock load(Value value, BytecodeGenerator state);
+
+        public CodeBlock operation(Operator operator) {
+            throw new IllegalArgumentException("Unsupported " + this + " operation " + operator);
+        }
+
+        public boolean matches(Optional<Instance> instance) {
+            return instance.isPresent() && instance.get().getReference().getParameters().stream()
+                .allMatch(parameter -> parameter.matches(type));
+        }
+
+        public abstract boolean supports(Operator operator);
+    }
+}
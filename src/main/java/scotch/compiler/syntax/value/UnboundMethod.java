@@ -51,12 +51,13 @@ public class UnboundMethod extends Value {
 
     @Override
     public Value bindMethods(TypeChecker state) {
-        throw new UnsupportedOperationException();
+        return this; // left unbound only after reporting an error
     }
 
     @Override
     public Value bindTypes(TypeChecker state) {
-        return bind(state).bindTypes(state);
+        Value method = bind(state);
+        return method == this ? this : method.bindTypes(state);
     }
 
     @Override
@@ -133,6 +134,7 @@ public class UnboundMethod extends Value {
                 List<InstanceType> instances = listInstanceTypes(valueType);
                 return state.getRawValue(valueRef)
                     .map(rawValue -> rawValue.zip(type, state)
+                        .filter(map -> instances.stream().allMatch(instance -> map.containsKey(instance.getBinding())))
                         .map(map -> instances.stream()
                             .map(instance -> instance.withBinding(map.get(instance.getBinding())))
                             .collect(toList()))
@@ -1,11 +1,18 @@
 package scotch.compiler.syntax.value;
 
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
+import static scotch.compiler.error.ParseError.parseError;
+import static scotch.compiler.syntax.TypeError.typeError;
 import static scotch.compiler.syntax.value.WithArguments.withoutArguments;
 import static scotch.compiler.util.Either.left;
+import static scotch.symbol.type.Types.sum;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import com.google.common.collect.ImmutableList;
 import me.qmx.jitescript.CodeBlock;
 import scotch.compiler.steps.BytecodeGenerator;
 import scotch.compiler.steps.DependencyAccumulator;
@@ -13,8 +20,11 @@ import scotch.compiler.steps.NameAccumulator;
 import scotch.compiler.steps.OperatorAccumulator;
 import scotch.compiler.steps.PrecedenceParser;
 import scotch.compiler.steps.ScopedNameQualifier;
+import scotch.compiler.steps.StrictnessAnalyzer;
 import scotch.compiler.steps.TypeChecker;
 import scotch.symbol.Operator;
+import scotch.symbol.Symbol;
+import scotch.symbol.descriptor.DataTypeDescriptor;
 import scotch.symbol.type.SumType;
 import scotch.symbol.type.Type;
 import scotch.compiler.syntax.scope.Scope;
@@ -32,22 +42,22 @@ public abstract class Value {
 
     public abstract Value accumulateNames(NameAccumulator state);
 
+    public Value analyzeStrictness(StrictnessAnalyzer state) {
+        return this;
+    }
+
     public WithArguments withArguments() {
         return withoutArguments(this);
     }
 
     public Optional<Value> asInitializer(Initializer initializer, TypeChecker state) {
         Value checkedValue = checkTypes(state);
-        if (checkedValue.getType() instanceof SumType) {
-            return Optional.of(new CopyInitializer(
-                initializer.getSourceLocation(),
-                checkedValue,
-                initializer.getFields().stream()
-                    .map(field -> field.checkTypes(state))
-                    .collect(toList())));
-        } else {
-            throw new UnsupportedOperationException(); // TODO
-        }
+        return Optional.of(new CopyInitializer(
+            initializer.getSourceLocation(),
+            checkedValue.withType(getRecordType(checkedValue.getType(), initializer, state)),
+            initializer.getFields().stream()
+                .map(field -> field.checkTypes(state))
+                .collect(toList())));
     }
 
     public Optional<Pair<Identifier, Operator>> asOperator(Scope scope) {
@@ -75,6 +85,26 @@ public abstract class Value {
 
     public abstract CodeBlock generateBytecode(BytecodeGenerator state);
 
+    public CodeBlock generateCurriedBytecode(BytecodeGenerator state, Symbol symbol) {
+        throw new UnsupportedOperationException();
+    }
+
+    public CodeBlock generateDirectBytecode(BytecodeGenerator state) {
+        throw new UnsupportedOperationException();
+    }
+
+    public CodeBlock generateTailBytecode(BytecodeGenerator state) {
+        return generateBytecode(state);
+    }
+
+    public List<Argument> getArguments() {
+        return ImmutableList.of();
+    }
+
+    public Type getResultType() {
+        return getType();
+    }
+
     public abstract SourceLocation getSourceLocation();
 
     public abstract Type getType();
@@ -92,6 +122,31 @@ public abstract class Value {
         return "[" + getClass().getSimpleName() + "]";
     }
 
+    // a value whose type isn't known yet, such as a function argument, takes the only data type having the updated fields
+    private Type getRecordType(Type type, Initializer initializer, TypeChecker state) {
+        Type target = state.getTarget(type);
+        if (target instanceof SumType) {
+            return target;
+        }
+        Set<String> fieldNames = initializer.getFields().stream()
+            .map(InitializerField::getName)
+            .collect(toCollection(TreeSet::new));
+        Set<DataTypeDescriptor> dataTypes = state.scope().getRecordTypes(fieldNames);
+        if (dataTypes.size() == 1) {
+            DataTypeDescriptor dataType = dataTypes.iterator().next();
+            return sum(dataType.getSymbol(), dataType.getParameters()).genericCopy(state)
+                .unify(type, state)
+                .orElseGet(unification -> {
+                    state.error(typeError(unification, initializer.getSourceLocation()));
+                    return type;
+                });
+        } else {
+            state.error(parseError((dataTypes.isEmpty() ? "No data type has" : "More than one data type has")
+                + " the updated fields " + fieldNames, initializer.getSourceLocation()));
+            return type;
+        }
+    }
+
     public abstract Value qualifyNames(ScopedNameQualifier state);
 
     @Override
@@ -1,10 +1,15 @@
 package scotch.compiler.syntax.value;
 
+import static scotch.compiler.syntax.reference.DefinitionReference.valueRef;
+
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import com.google.common.collect.ImmutableList;
 import scotch.symbol.FieldSignature;
 import scotch.symbol.Symbol;
 import scotch.symbol.type.Type;
+import scotch.symbol.type.Types;
 import scotch.compiler.syntax.definition.DefinitionEntry;
 import scotch.compiler.syntax.definition.Definitions;
 import scotch.compiler.syntax.pattern.PatternCase;
@@ -17,7 +22,7 @@ import scotch.compiler.text.SourceLocation;
 public class Values {
 
     public static Apply apply(Value function, Value argument, Type type) {
-        return new Apply(function.getSourceLocation().extend(argument.getSourceLocation()), function, argument, type);
+        return new Apply(function.getSourceLocation().extend(argument.getSourceLocation()), function, argument, type, false);
     }
 
     public static Argument arg(SourceLocation sourceLocation, String name, Type type) {
@@ -40,6 +45,20 @@ public class Values {
         return new DataConstructor(sourceLocation, symbol, type, arguments);
     }
 
+    public static Value directCall(SourceLocation sourceLocation, Symbol symbol, List<Argument> arguments, Type resultType) {
+        List<Type> types = new ArrayList<>();
+        Type type = resultType;
+        for (int i = arguments.size() - 1; i >= 0; i--) {
+            types.add(0, type);
+            type = Types.fn(arguments.get(i).getType(), type);
+        }
+        Value result = new Method(sourceLocation, valueRef(symbol), ImmutableList.of(), type);
+        for (int i = 0; i < arguments.size(); i++) {
+            result = new Apply(sourceLocation, result, arguments.get(i), types.get(i), true);
+        }
+        return result;
+    }
+
     public static DefinitionEntry entry(Scope scope, FunctionValue function) {
         return new DefinitionEntry(scope, Definitions.scopeDef(function.getSourceLocation(), function.getSymbol()));
     }
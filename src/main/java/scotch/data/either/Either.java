@@ -13,6 +13,8 @@ import scotch.runtime.Applicable;
 import scotch.runtime.Callable;
 import scotch.runtime.RuntimeSupport;
 import scotch.symbol.DataConstructor;
+import scotch.symbol.DataField;
+import scotch.symbol.DataFieldType;
 import scotch.symbol.DataType;
 import scotch.symbol.TypeParameter;
 import scotch.symbol.TypeParameters;
@@ -68,13 +70,20 @@ public abstract class Either<A, B> {
 
     public abstract <C> Either<A, C> map(Applicable<B, C> function);
 
+    public abstract int tag();
+
     @Override
     public abstract String toString();
 
     @DataConstructor(ordinal = 0, memberName = "Left", dataType="Either")
     public static class Left<A, B> extends Either<A, B> {
 
-        private final Callable<A> value;
+        @DataFieldType(forMember = "value")
+        public static Type value$type() {
+            return var("a");
+        }
+
+        public final Callable<A> value;
 
         public Left(Callable<A> value) {
             this.value = value;
@@ -85,6 +94,11 @@ public abstract class Either<A, B> {
             return o == this || o instanceof Left && Objects.equals(value.call(), ((Left) o).value.call());
         }
 
+        @DataField(memberName = "value", ordinal = 0)
+        public Callable<A> getValue() {
+            return value;
+        }
+
         @Override
         public int hashCode() {
             return Objects.hash(value.call());
@@ -96,6 +110,11 @@ public abstract class Either<A, B> {
             return (Either<A, C>) this;
         }
 
+        @Override
+        public int tag() {
+            return 0;
+        }
+
         @Override
         public String toString() {
             return "Left(" + value.call() + ")";
@@ -105,7 +124,12 @@ public abstract class Either<A, B> {
     @DataConstructor(ordinal = 1, memberName = "Right", dataType = "Either")
     public static class Right<A, B> extends Either<A, B> {
 
-        private final Callable<B> value;
+        @DataFieldType(forMember = "value")
+        public static Type value$type() {
+            return var("b");
+        }
+
+        public final Callable<B> value;
 
         public Right(Callable<B> value) {
             this.value = value;
@@ -116,6 +140,11 @@ public abstract class Either<A, B> {
             return o == this || o instanceof Right && Objects.equals(value.call(), ((Right) o).value.call());
         }
 
+        @DataField(memberName = "value", ordinal = 0)
+        public Callable<B> getValue() {
+            return value;
+        }
+
         @Override
         public int hashCode() {
             return Objects.hash(value.call());
@@ -126,6 +155,11 @@ public abstract class Either<A, B> {
             return new Right<>(function.apply(value));
         }
 
+        @Override
+        public int tag() {
+            return 1;
+        }
+
         @Override
         public String toString() {
             return "Right(" + value.call() + ")";
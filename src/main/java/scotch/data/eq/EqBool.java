@@ -13,7 +13,7 @@ import scotch.symbol.type.Types;
 import scotch.runtime.Callable;
 
 @SuppressWarnings("unused")
-@TypeInstance(typeClass = "scotch.data.eq.Eq")
+@TypeInstance(typeClass = "scotch.data.eq.Eq", strict = true)
 public class EqBool implements Eq<Boolean> {
 
     private static final Callable<EqBool> INSTANCE = callable(EqBool::new);
@@ -25,7 +25,7 @@ public class EqBool implements Eq<Boolean> {
 
     @TypeParameters
     public static List<Type> parameters() {
-        return asList(Types.sum("scotch.data.int.Bool"));
+        return asList(Types.sum("scotch.data.bool.Bool"));
     }
 
     private EqBool() {
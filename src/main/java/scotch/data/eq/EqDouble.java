@@ -0,0 +1,39 @@
+package scotch.data.eq;
+
+import static java.util.Arrays.asList;
+import static scotch.runtime.RuntimeSupport.callable;
+import static scotch.runtime.RuntimeSupport.unboxDouble;
+import static scotch.symbol.type.Types.sum;
+
+import java.util.List;
+import scotch.runtime.Callable;
+import scotch.symbol.InstanceGetter;
+import scotch.symbol.TypeInstance;
+import scotch.symbol.TypeParameters;
+import scotch.symbol.type.Type;
+
+@SuppressWarnings("unused")
+@TypeInstance(typeClass = "scotch.data.eq.Eq", strict = true)
+public class EqDouble implements Eq<Double> {
+
+    private static final Callable<EqDouble> INSTANCE = callable(EqDouble::new);
+
+    @InstanceGetter
+    public static Callable<EqDouble> instance() {
+        return INSTANCE;
+    }
+
+    @TypeParameters
+    public static List<Type> parameters() {
+        return asList(sum("scotch.data.double.Double"));
+    }
+
+    private EqDouble() {
+        // intentionally empty
+    }
+
+    @Override
+    public Callable<Boolean> eq(Callable<Double> left, Callable<Double> right) {
+        return callable(() -> unboxDouble(left) == unboxDouble(right));
+    }
+}
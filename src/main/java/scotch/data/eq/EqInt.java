@@ -2,6 +2,7 @@ package scotch.data.eq;
 
 import static java.util.Arrays.asList;
 import static scotch.runtime.RuntimeSupport.callable;
+import static scotch.runtime.RuntimeSupport.unboxInt;
 
 import java.util.List;
 import scotch.data.int_.Int;
@@ -12,7 +13,7 @@ import scotch.symbol.TypeParameters;
 import scotch.symbol.type.Type;
 
 @SuppressWarnings("unused")
-@TypeInstance(typeClass = "scotch.data.eq.Eq")
+@TypeInstance(typeClass = "scotch.data.eq.Eq", strict = true)
 public class EqInt implements Eq<Integer> {
 
     private static final Callable<EqInt> INSTANCE = callable(EqInt::new);
@@ -33,6 +34,6 @@ public class EqInt implements Eq<Integer> {
 
     @Override
     public Callable<Boolean> eq(Callable<Integer> left, Callable<Integer> right) {
-        return callable(() -> left.call().equals(right.call()));
+        return callable(() -> unboxInt(left) == unboxInt(right));
     }
 }
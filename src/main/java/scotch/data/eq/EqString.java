@@ -12,7 +12,7 @@ import scotch.symbol.type.Type;
 import scotch.runtime.Callable;
 
 @SuppressWarnings("unused")
-@TypeInstance(typeClass = "scotch.data.eq.Eq")
+@TypeInstance(typeClass = "scotch.data.eq.Eq", strict = true)
 public class EqString implements Eq<String> {
 
     private static final Callable<EqString> INSTANCE = callable(EqString::new);
@@ -90,8 +90,9 @@ public abstract class ConsList<A> {
             return sum("scotch.data.list.[]", asList(var("a")));
         }
 
-        private final Callable<A> head;
-        private final Callable<ConsList<A>> tail;
+        // named after the fields of the constructor so that patterns can read them like those of generated data types
+        public final Callable<A>           _0;
+        public final Callable<ConsList<A>> _1;
 
         @Override
         public boolean equals(Object o) {
@@ -99,8 +100,8 @@ public abstract class ConsList<A> {
                 return true;
             } else if (o instanceof ConsCell) {
                 ConsCell other = (ConsCell) o;
-                return Objects.equals(head.call(), other.head.call())
-                    && Objects.equals(tail.call(), other.tail.call());
+                return Objects.equals(_0.call(), other._0.call())
+                    && Objects.equals(_1.call(), other._1.call());
             } else {
                 return false;
             }
@@ -108,24 +109,24 @@ public abstract class ConsList<A> {
 
         @DataField(ordinal = 0, memberName = "_0")
         public Callable<A> getHead() {
-            return head;
+            return _0;
         }
 
         @DataField(ordinal = 1, memberName = "_1")
         public Callable<ConsList<A>> getTail() {
-            return tail;
+            return _1;
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(head.call(), tail.call());
+            return Objects.hash(_0.call(), _1.call());
         }
 
         @Override
         protected List<A> toString_() {
             return new ArrayList<A>() {{
-                add(head.call());
-                addAll(tail.call().toString_());
+                add(_0.call());
+                addAll(_1.call().toString_());
             }};
         }
     }
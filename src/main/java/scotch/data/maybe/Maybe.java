@@ -73,6 +73,8 @@ public abstract class Maybe<A> {
 
     public abstract <B> Callable<Maybe<B>> map(Applicable<A, Maybe<B>> function);
 
+    public abstract int tag();
+
     public abstract String toString();
 
     @DataConstructor(ordinal = 0, memberName = "Nothing", dataType = "Maybe")
@@ -93,6 +95,11 @@ public abstract class Maybe<A> {
             return nothing();
         }
 
+        @Override
+        public int tag() {
+            return 0;
+        }
+
         @Override
         public String toString() {
             return "Nothing";
@@ -107,7 +114,7 @@ public abstract class Maybe<A> {
             return var("a");
         }
 
-        private final Callable<A> value;
+        public final Callable<A> value;
 
         private Just(Callable<A> value) {
             this.value = value;
@@ -133,6 +140,11 @@ public abstract class Maybe<A> {
             return flatCallable(() -> function.apply(value));
         }
 
+        @Override
+        public int tag() {
+            return 1;
+        }
+
         @Override
         public String toString() {
             return "Just " + value.call() + "";
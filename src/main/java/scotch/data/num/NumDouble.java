@@ -2,7 +2,10 @@ package scotch.data.num;
 
 import static java.util.Arrays.asList;
 import static scotch.symbol.type.Types.sum;
+import static scotch.runtime.DoubleThunk.doubleOperation;
+import static scotch.runtime.DoubleThunk.doubleThunk;
 import static scotch.runtime.RuntimeSupport.callable;
+import static scotch.runtime.RuntimeSupport.unboxInt;
 
 import java.util.List;
 import scotch.symbol.InstanceGetter;
@@ -11,9 +14,10 @@ import scotch.symbol.TypeInstance;
 import scotch.symbol.TypeParameters;
 import scotch.symbol.type.Types;
 import scotch.runtime.Callable;
+import scotch.runtime.DoubleThunk;
 
 @SuppressWarnings("unused")
-@TypeInstance(typeClass = "scotch.data.num.Num")
+@TypeInstance(typeClass = "scotch.data.num.Num", strict = true)
 public class NumDouble implements Num<Double> {
 
     private static final Callable<NumDouble> INSTANCE = callable(NumDouble::new);
@@ -30,28 +34,27 @@ public class NumDouble implements Num<Double> {
 
     @Override
     public Callable<Double> abs(Callable<Double> operand) {
-        return callable(() -> Math.abs(operand.call()));
+        return doubleOperation(Math::abs, operand);
     }
 
     @Override
     public Callable<Double> add(Callable<Double> left, Callable<Double> right) {
-        return callable(() -> left.call() + right.call());
+        return DoubleThunk.add(left, right);
     }
 
     @Override
     public Callable<Double> fromInteger(Callable<Integer> integer) {
-        return callable(() -> integer.call().doubleValue());
+        return doubleThunk(() -> unboxInt(integer));
     }
 
     @Override
     public Callable<Double> multiply(Callable<Double> left, Callable<Double> right) {
-        return callable(() -> left.call() * right.call());
+        return DoubleThunk.multiply(left, right);
     }
 
     @Override
     public Callable<Double> signum(Callable<Double> operand) {
-        return callable(() -> {
-            double value = operand.call();
+        return doubleOperation(value -> {
             if (value > 0) {
                 return 1d;
             } else if (value < 0) {
@@ -59,11 +62,11 @@ public class NumDouble implements Num<Double> {
             } else {
                 return 0d;
             }
-        });
+        }, operand);
     }
 
     @Override
     public Callable<Double> sub(Callable<Double> left, Callable<Double> right) {
-        return callable(() -> left.call() - right.call());
+        return DoubleThunk.subtract(left, right);
     }
 }
@@ -1,18 +1,20 @@
 package scotch.data.num;
 
 import static java.util.Arrays.asList;
+import static scotch.runtime.IntThunk.intOperation;
 import static scotch.runtime.RuntimeSupport.callable;
 
 import java.util.List;
 import scotch.data.int_.Int;
 import scotch.runtime.Callable;
+import scotch.runtime.IntThunk;
 import scotch.symbol.InstanceGetter;
 import scotch.symbol.TypeInstance;
 import scotch.symbol.TypeParameters;
 import scotch.symbol.type.Type;
 
 @SuppressWarnings("unused")
-@TypeInstance(typeClass = "scotch.data.num.Num")
+@TypeInstance(typeClass = "scotch.data.num.Num", strict = true)
 public class NumInt implements Num<Integer> {
 
     private static final Callable<NumInt> INSTANCE = callable(NumInt::new);
@@ -33,12 +35,12 @@ public class NumInt implements Num<Integer> {
 
     @Override
     public Callable<Integer> abs(Callable<Integer> operand) {
-        return callable(() -> Math.abs(operand.call()));
+        return intOperation(Math::abs, operand);
     }
 
     @Override
     public Callable<Integer> add(Callable<Integer> left, Callable<Integer> right) {
-        return callable(() -> left.call() + right.call());
+        return IntThunk.add(left, right);
     }
 
     @Override
@@ -48,25 +50,16 @@ public class NumInt implements Num<Integer> {
 
     @Override
     public Callable<Integer> multiply(Callable<Integer> left, Callable<Integer> right) {
-        return callable(() -> left.call() * right.call());
+        return IntThunk.multiply(left, right);
     }
 
     @Override
     public Callable<Integer> signum(Callable<Integer> operand) {
-        return callable(() -> {
-            int value = operand.call();
-            if (value > 0) {
-                return 1;
-            } else if (value < 0) {
-                return -1;
-            } else {
-                return 0;
-            }
-        });
+        return intOperation(Integer::signum, operand);
     }
 
     @Override
     public Callable<Integer> sub(Callable<Integer> left, Callable<Integer> right) {
-        return callable(() -> left.call() - right.call());
+        return IntThunk.subtract(left, right);
     }
 }
@@ -0,0 +1,36 @@
+package scotch.data.ord;
+
+import static java.util.Arrays.asList;
+import static scotch.runtime.RuntimeSupport.callable;
+import static scotch.runtime.RuntimeSupport.unboxDouble;
+import static scotch.symbol.type.Types.sum;
+
+import java.util.List;
+import scotch.data.eq.Eq;
+import scotch.runtime.Callable;
+import scotch.symbol.InstanceGetter;
+import scotch.symbol.TypeInstance;
+import scotch.symbol.TypeParameters;
+import scotch.symbol.type.Type;
+
+@SuppressWarnings("unused")
+@TypeInstance(typeClass = "scotch.data.ord.Ord", strict = true)
+public class OrdDouble implements Ord<Double> {
+
+    private static final Callable<OrdDouble> INSTANCE = callable(OrdDouble::new);
+
+    @InstanceGetter
+    public static Callable<OrdDouble> instance() {
+        return INSTANCE;
+    }
+
+    @TypeParameters
+    public static List<Type> parameters() {
+        return asList(sum("scotch.data.double.Double"));
+    }
+
+    @Override
+    public Callable<Boolean> lessThanEquals(Callable<Eq<Double>> eq, Callable<Double> left, Callable<Double> right) {
+        return callable(() -> unboxDouble(left) <= unboxDouble(right));
+    }
+}
@@ -2,6 +2,7 @@ package scotch.data.ord;
 
 import static java.util.Arrays.asList;
 import static scotch.runtime.RuntimeSupport.callable;
+import static scotch.runtime.RuntimeSupport.unboxInt;
 import static scotch.symbol.type.Types.sum;
 
 import java.util.List;
@@ -13,7 +14,7 @@ import scotch.symbol.TypeParameters;
 import scotch.symbol.type.Type;
 
 @SuppressWarnings("unused")
-@TypeInstance(typeClass = "scotch.data.ord.Ord")
+@TypeInstance(typeClass = "scotch.data.ord.Ord", strict = true)
 public class OrdInt implements Ord<Integer> {
 
     private static final Callable<OrdInt> INSTANCE = callable(OrdInt::new);
@@ -30,6 +31,6 @@ public class OrdInt implements Ord<Integer> {
 
     @Override
     public Callable<Boolean> lessThanEquals(Callable<Eq<Integer>> eq, Callable<Integer> left, Callable<Integer> right) {
-        return callable(() -> eq.call().eq(left, right).call() || left.call() < right.call());
+        return callable(() -> unboxInt(left) <= unboxInt(right));
     }
 }
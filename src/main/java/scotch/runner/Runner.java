@@ -2,7 +2,9 @@ package scotch.runner;
 
 import static java.lang.System.out;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static scotch.compiler.ClassLoaderResolver.resolver;
+import static scotch.compiler.CompilationCache.compilationCache;
 import static scotch.compiler.Compiler.compiler;
 import static scotch.symbol.Symbol.getPackagePath;
 import static scotch.symbol.Symbol.toJavaName;
@@ -11,17 +13,19 @@ import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
-import scotch.compiler.Compiler;
 import scotch.compiler.output.GeneratedClass;
 import scotch.compiler.error.CompileException;
 import scotch.compiler.ClassLoaderResolver;
 import scotch.runtime.Callable;
+import scotch.symbol.Symbol;
 
 @SuppressWarnings("unused")
 public class Runner {
@@ -32,8 +36,18 @@ public class Runner {
             Path path = Paths.get(getPackagePath(runner.getModule()) + ".scotch");
             try (Stream<String> stream = Files.lines(path.toAbsolutePath())) {
                 List<String> lines = stream.collect(toList());
-                Compiler compiler = compiler(resolver, path.toUri(), lines.toArray(new String[lines.size()]));
-                List<GeneratedClass> generatedClasses = compiler.generateBytecode();
+                String[] source = lines.toArray(new String[lines.size()]);
+                List<GeneratedClass> generatedClasses = runner.getCachePath()
+                    .map(cachePath -> compilationCache(cachePath)
+                        .withMemoizedConstants(runner.isMemoizeConstants())
+                        .withUnmemoizedConstants(runner.getUnmemoizedConstants())
+                        .withInlineCaches(runner.isInlineCaches())
+                        .generateBytecode(resolver, path.toUri(), source))
+                    .orElseGet(() -> compiler(resolver, path.toUri(), source)
+                        .withMemoizedConstants(runner.isMemoizeConstants())
+                        .withUnmemoizedConstants(runner.getUnmemoizedConstants())
+                        .withInlineCaches(runner.isInlineCaches())
+                        .generateBytecode());
                 resolver.defineAll(generatedClasses);
                 out.println("main = " + ((Callable) resolver
                     .loadClass(toJavaName(runner.getModule()) + ".$$Module")
@@ -51,6 +65,14 @@ public class Runner {
     private       String     module;
     @Parameter(names = { "-o", "--output" }, description = "[optional] The compiled class output path, for debugging purposes")
     private       String     outputPath;
+    @Parameter(names = { "-c", "--cache" }, description = "[optional] The compilation cache directory")
+    private       String     cachePath;
+    @Parameter(names = { "--no-memoize" }, description = "[optional] Re-evaluates top-level constants on every access instead of keeping their values")
+    private       boolean    noMemoize;
+    @Parameter(names = { "--no-memoize-constant" }, description = "[optional] Re-evaluates the named top-level constant on every access, may be repeated")
+    private       List<String> unmemoizedConstants = new ArrayList<>();
+    @Parameter(names = { "--inline-caches" }, description = "[optional] Applies functions through call sites caching the functions they see")
+    private       boolean    inlineCaches;
     @Parameter(names = { "-h", "--help" }, description = "[optional] Displays this help")
     private       boolean    help;
 
@@ -59,6 +81,10 @@ public class Runner {
         this.commander = new JCommander();
     }
 
+    public Optional<File> getCachePath() {
+        return Optional.ofNullable(cachePath).map(cachePath -> new File(cachePath).getAbsoluteFile());
+    }
+
     public String getModule() {
         return module;
     }
@@ -67,6 +93,18 @@ public class Runner {
         return Optional.ofNullable(outputPath).map(outputPath -> new File(outputPath).getAbsoluteFile());
     }
 
+    public Set<Symbol> getUnmemoizedConstants() {
+        return unmemoizedConstants.stream().map(Symbol::symbol).collect(toSet());
+    }
+
+    public boolean isInlineCaches() {
+        return inlineCaches;
+    }
+
+    public boolean isMemoizeConstants() {
+        return !noMemoize;
+    }
+
     public void printHelpOr(ThrowingRunnable runnable) throws Exception {
         parseArgs();
         if (isHelp()) {
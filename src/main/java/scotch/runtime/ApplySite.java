@@ -0,0 +1,80 @@
+package scotch.runtime;
+
+import static java.lang.invoke.MethodHandles.dropArguments;
+import static java.lang.invoke.MethodHandles.guardWithTest;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+
+/**
+ * A call site applying an {@link Applicable} to an argument through an inline cache keyed on the class of the
+ * {@link Applicable}. Each class seen at the site is chained in front of the previous ones as a guarded method handle
+ * typed to exactly that class, so the JIT can inline the lambda being applied. Once more than {@link #MAX_DEPTH}
+ * classes have been seen, the site gives up on caching and applies through the interface.
+ */
+public class ApplySite extends MutableCallSite {
+
+    /**
+     * The number of classes cached at a site before it is considered megamorphic.
+     */
+    public static final int MAX_DEPTH = 4;
+
+    private static final MethodHandle APPLY;
+    private static final MethodHandle CHECK_CLASS;
+    private static final MethodHandle FALLBACK;
+
+    static {
+        try {
+            Lookup lookup = lookup();
+            APPLY = lookup.findVirtual(Applicable.class, "apply", methodType(Callable.class, Callable.class));
+            CHECK_CLASS = lookup.findStatic(ApplySite.class, "checkClass", methodType(boolean.class, Class.class, Applicable.class));
+            FALLBACK = lookup.findVirtual(ApplySite.class, "fallback", methodType(Callable.class, Applicable.class, Callable.class));
+        } catch (ReflectiveOperationException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    /**
+     * Bootstraps an invokedynamic instruction applying an {@link Applicable} to a {@link Callable} argument.
+     *
+     * @param lookup The lookup of the calling class.
+     * @param name The name of the invoked method.
+     * @param type The type of the call site, taking the {@link Applicable} and its argument.
+     * @return The call site.
+     */
+    public static CallSite bootstrap(Lookup lookup, String name, MethodType type) {
+        return new ApplySite(type);
+    }
+
+    private static boolean checkClass(Class<?> expectedClass, Applicable receiver) {
+        return receiver.getClass() == expectedClass;
+    }
+
+    private int depth;
+
+    private ApplySite(MethodType type) {
+        super(type);
+        setTarget(FALLBACK.bindTo(this).asType(type));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Callable fallback(Applicable receiver, Callable argument) {
+        if (depth < MAX_DEPTH) {
+            Class<?> receiverClass = receiver.getClass();
+            MethodHandle test = dropArguments(CHECK_CLASS.bindTo(receiverClass), 1, Callable.class);
+            MethodHandle target = APPLY
+                .asType(methodType(Callable.class, receiverClass, Callable.class))
+                .asType(APPLY.type());
+            setTarget(guardWithTest(test, target, getTarget().asType(APPLY.type())).asType(type()));
+            depth++;
+        } else {
+            setTarget(APPLY.asType(type()));
+        }
+        return receiver.apply(argument);
+    }
+}
@@ -0,0 +1,290 @@
+package scotch.runtime;
+
+import static scotch.runtime.RuntimeSupport.unboxDouble;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A thunk specialized to doubles, so that arithmetic on evaluated values does not need to box them. It is blackholed
+ * like a {@link Thunk}, so it is evaluated by at most one thread and a value depending on itself fails with a
+ * {@link LoopException}, and its evaluation is nested under the same depth accounting.
+ */
+public abstract class DoubleThunk extends Suspension implements Callable<Double> {
+
+    /**
+     * Creates an already-evaluated thunk holding the given value.
+     *
+     * @param value The value.
+     * @return The thunk.
+     */
+    public static DoubleThunk doubleValue(double value) {
+        return new EvaluatedDoubleThunk(value);
+    }
+
+    /**
+     * Creates a thunk applying an operator to the values of two other thunks. A chain of these operations, such as a
+     * lazily accumulated sum, is evaluated by a loop which keeps the operations waiting for their operands on a stack
+     * allocated on the heap instead of calling into each operand, so its depth is not limited by the JVM stack.
+     *
+     * @param operator The operator.
+     * @param left The left operand.
+     * @param right The right operand.
+     * @return The thunk.
+     */
+    public static DoubleThunk doubleOperation(DoubleBinaryOperator operator, Callable<Double> left, Callable<Double> right) {
+        return new DoubleOperation(operator, left, right);
+    }
+
+    /**
+     * Creates a thunk applying an operator to the value of another thunk, evaluated like the operations created by
+     * {@link #doubleOperation(DoubleBinaryOperator, Callable, Callable)}.
+     *
+     * @param operator The operator.
+     * @param operand The operand.
+     * @return The thunk.
+     */
+    public static DoubleThunk doubleOperation(DoubleUnaryOperator operator, Callable<Double> operand) {
+        return new DoubleOperation((value, ignored) -> operator.applyAsDouble(value), operand, null);
+    }
+
+    /**
+     * Creates a thunk adding the values of two other thunks, evaluated like the operations created by
+     * {@link #doubleOperation(DoubleBinaryOperator, Callable, Callable)}.
+     *
+     * @param left The left operand.
+     * @param right The right operand.
+     * @return The thunk.
+     */
+    public static DoubleThunk add(Callable<Double> left, Callable<Double> right) {
+        return doubleOperation(Double::sum, left, right);
+    }
+
+    /**
+     * Creates a thunk multiplying the values of two other thunks, evaluated like the operations created by
+     * {@link #doubleOperation(DoubleBinaryOperator, Callable, Callable)}.
+     *
+     * @param left The left operand.
+     * @param right The right operand.
+     * @return The thunk.
+     */
+    public static DoubleThunk multiply(Callable<Double> left, Callable<Double> right) {
+        return doubleOperation((l, r) -> l * r, left, right);
+    }
+
+    /**
+     * Creates a thunk subtracting the value of one thunk from the value of another, evaluated like the operations
+     * created by {@link #doubleOperation(DoubleBinaryOperator, Callable, Callable)}.
+     *
+     * @param left The left operand.
+     * @param right The right operand.
+     * @return The thunk.
+     */
+    public static DoubleThunk subtract(Callable<Double> left, Callable<Double> right) {
+        return doubleOperation((l, r) -> l - r, left, right);
+    }
+
+    /**
+     * Creates a thunk which will execute the given supplier when first called.
+     *
+     * @param supplier The supplier giving the value.
+     * @return The thunk.
+     */
+    public static DoubleThunk doubleThunk(DoubleSupplier supplier) {
+        return new SuppliedDoubleThunk(supplier);
+    }
+
+    private double value;
+
+    protected DoubleThunk() {
+        super();
+    }
+
+    private DoubleThunk(Object state) {
+        super(state);
+    }
+
+    /**
+     * Evaluates the thunk, returning the unboxed value.
+     *
+     * @return The value.
+     */
+    public double callDouble() {
+        if (state != EVALUATED) {
+            Thunk.forceNested(this);
+        }
+        return value;
+    }
+
+    @Override
+    public Double call() {
+        return callDouble();
+    }
+
+    /**
+     * Evaluates the value.
+     *
+     * @return The evaluated value.
+     */
+    protected abstract double evaluate();
+
+    /**
+     * Releases anything held only for evaluation, called once the value has been published.
+     */
+    protected void release() {
+        // intentionally empty
+    }
+
+    @Override
+    Object normalize(Blackhole blackhole) {
+        double result;
+        try {
+            result = evaluate();
+        } catch (Throwable throwable) {
+            state = UNEVALUATED;
+            blackhole.release();
+            throw throwable;
+        }
+        publish(result);
+        blackhole.release();
+        return EVALUATED;
+    }
+
+    final void publish(double result) {
+        value = result;
+        state = EVALUATED;
+        release();
+    }
+
+    private static final class EvaluatedDoubleThunk extends DoubleThunk {
+
+        private final double value;
+
+        private EvaluatedDoubleThunk(double value) {
+            super(EVALUATED);
+            this.value = value;
+        }
+
+        @Override
+        public double callDouble() {
+            return value;
+        }
+
+        @Override
+        protected double evaluate() {
+            return value;
+        }
+    }
+
+    private static final class DoubleOperation extends DoubleThunk {
+
+        private final DoubleBinaryOperator operator;
+        private       Callable<Double>     left;
+        private       Callable<Double>     right;
+        private       double               leftValue;
+        private       double               rightValue;
+        private       int                  operands;
+
+        private DoubleOperation(DoubleBinaryOperator operator, Callable<Double> left, Callable<Double> right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        protected double evaluate() {
+            return operator.applyAsDouble(leftValue, rightValue);
+        }
+
+        /**
+         * Evaluates the operation and every unevaluated operation it depends on. Operations are claimed for the same
+         * blackhole and pushed on the stack until one has only evaluated operands, then published and popped with
+         * their value passed to the operation below them. If evaluation fails, every operation still on the stack is
+         * reset so that it can be evaluated again.
+         */
+        @Override
+        Object normalize(Blackhole blackhole) {
+            Deque<DoubleOperation> stack = new ArrayDeque<>();
+            stack.push(this);
+            try {
+                while (!stack.isEmpty()) {
+                    DoubleOperation operation = stack.peek();
+                    Callable<Double> operand = operation.nextOperand();
+                    if (operand == null) {
+                        double result = operation.evaluate();
+                        stack.pop();
+                        operation.publish(result);
+                        if (!stack.isEmpty()) {
+                            stack.peek().accept(result);
+                        }
+                    } else if (operand instanceof DoubleOperation && ((DoubleOperation) operand).claim(blackhole)) {
+                        stack.push((DoubleOperation) operand);
+                    } else {
+                        operation.accept(unboxDouble(operand));
+                    }
+                }
+            } catch (Throwable throwable) {
+                for (DoubleOperation operation : stack) {
+                    operation.operands = 0;
+                    operation.state = UNEVALUATED;
+                }
+                blackhole.release();
+                throw throwable;
+            }
+            blackhole.release();
+            return EVALUATED;
+        }
+
+        /**
+         * Drops the operands once the value has been published so the rest of the chain can be collected.
+         */
+        @Override
+        protected void release() {
+            left = null;
+            right = null;
+        }
+
+        private void accept(double value) {
+            if (operands++ == 0) {
+                leftValue = value;
+            } else {
+                rightValue = value;
+            }
+        }
+
+        private Callable<Double> nextOperand() {
+            if (operands == 0) {
+                return left;
+            } else if (operands == 1) {
+                return right;
+            } else {
+                return null;
+            }
+        }
+    }
+
+    private static final class SuppliedDoubleThunk extends DoubleThunk {
+
+        private DoubleSupplier supplier;
+
+        private SuppliedDoubleThunk(DoubleSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        protected double evaluate() {
+            return supplier.getAsDouble();
+        }
+
+        /**
+         * Drops the supplier once the value has been published so anything it captured can be collected.
+         */
+        @Override
+        protected void release() {
+            supplier = null;
+        }
+    }
+}
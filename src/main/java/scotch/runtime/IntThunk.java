@@ -0,0 +1,290 @@
+package scotch.runtime;
+
+import static scotch.runtime.RuntimeSupport.unboxInt;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A thunk specialized to ints, so that arithmetic on evaluated values does not need to box them. It is blackholed
+ * like a {@link Thunk}, so it is evaluated by at most one thread and a value depending on itself fails with a
+ * {@link LoopException}, and its evaluation is nested under the same depth accounting.
+ */
+public abstract class IntThunk extends Suspension implements Callable<Integer> {
+
+    /**
+     * Creates an already-evaluated thunk holding the given value.
+     *
+     * @param value The value.
+     * @return The thunk.
+     */
+    public static IntThunk intValue(int value) {
+        return new EvaluatedIntThunk(value);
+    }
+
+    /**
+     * Creates a thunk applying an operator to the values of two other thunks. A chain of these operations, such as a
+     * lazily accumulated sum, is evaluated by a loop which keeps the operations waiting for their operands on a stack
+     * allocated on the heap instead of calling into each operand, so its depth is not limited by the JVM stack.
+     *
+     * @param operator The operator.
+     * @param left The left operand.
+     * @param right The right operand.
+     * @return The thunk.
+     */
+    public static IntThunk intOperation(IntBinaryOperator operator, Callable<Integer> left, Callable<Integer> right) {
+        return new IntOperation(operator, left, right);
+    }
+
+    /**
+     * Creates a thunk applying an operator to the value of another thunk, evaluated like the operations created by
+     * {@link #intOperation(IntBinaryOperator, Callable, Callable)}.
+     *
+     * @param operator The operator.
+     * @param operand The operand.
+     * @return The thunk.
+     */
+    public static IntThunk intOperation(IntUnaryOperator operator, Callable<Integer> operand) {
+        return new IntOperation((value, ignored) -> operator.applyAsInt(value), operand, null);
+    }
+
+    /**
+     * Creates a thunk adding the values of two other thunks, evaluated like the operations created by
+     * {@link #intOperation(IntBinaryOperator, Callable, Callable)}.
+     *
+     * @param left The left operand.
+     * @param right The right operand.
+     * @return The thunk.
+     */
+    public static IntThunk add(Callable<Integer> left, Callable<Integer> right) {
+        return intOperation(Integer::sum, left, right);
+    }
+
+    /**
+     * Creates a thunk multiplying the values of two other thunks, evaluated like the operations created by
+     * {@link #intOperation(IntBinaryOperator, Callable, Callable)}.
+     *
+     * @param left The left operand.
+     * @param right The right operand.
+     * @return The thunk.
+     */
+    public static IntThunk multiply(Callable<Integer> left, Callable<Integer> right) {
+        return intOperation((l, r) -> l * r, left, right);
+    }
+
+    /**
+     * Creates a thunk subtracting the value of one thunk from the value of another, evaluated like the operations
+     * created by {@link #intOperation(IntBinaryOperator, Callable, Callable)}.
+     *
+     * @param left The left operand.
+     * @param right The right operand.
+     * @return The thunk.
+     */
+    public static IntThunk subtract(Callable<Integer> left, Callable<Integer> right) {
+        return intOperation((l, r) -> l - r, left, right);
+    }
+
+    /**
+     * Creates a thunk which will execute the given supplier when first called.
+     *
+     * @param supplier The supplier giving the value.
+     * @return The thunk.
+     */
+    public static IntThunk intThunk(IntSupplier supplier) {
+        return new SuppliedIntThunk(supplier);
+    }
+
+    private int value;
+
+    protected IntThunk() {
+        super();
+    }
+
+    private IntThunk(Object state) {
+        super(state);
+    }
+
+    /**
+     * Evaluates the thunk, returning the unboxed value.
+     *
+     * @return The value.
+     */
+    public int callInt() {
+        if (state != EVALUATED) {
+            Thunk.forceNested(this);
+        }
+        return value;
+    }
+
+    @Override
+    public Integer call() {
+        return callInt();
+    }
+
+    /**
+     * Evaluates the value.
+     *
+     * @return The evaluated value.
+     */
+    protected abstract int evaluate();
+
+    /**
+     * Releases anything held only for evaluation, called once the value has been published.
+     */
+    protected void release() {
+        // intentionally empty
+    }
+
+    @Override
+    Object normalize(Blackhole blackhole) {
+        int result;
+        try {
+            result = evaluate();
+        } catch (Throwable throwable) {
+            state = UNEVALUATED;
+            blackhole.release();
+            throw throwable;
+        }
+        publish(result);
+        blackhole.release();
+        return EVALUATED;
+    }
+
+    final void publish(int result) {
+        value = result;
+        state = EVALUATED;
+        release();
+    }
+
+    private static final class EvaluatedIntThunk extends IntThunk {
+
+        private final int value;
+
+        private EvaluatedIntThunk(int value) {
+            super(EVALUATED);
+            this.value = value;
+        }
+
+        @Override
+        public int callInt() {
+            return value;
+        }
+
+        @Override
+        protected int evaluate() {
+            return value;
+        }
+    }
+
+    private static final class IntOperation extends IntThunk {
+
+        private final IntBinaryOperator operator;
+        private       Callable<Integer> left;
+        private       Callable<Integer> right;
+        private       int               leftValue;
+        private       int               rightValue;
+        private       int               operands;
+
+        private IntOperation(IntBinaryOperator operator, Callable<Integer> left, Callable<Integer> right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        protected int evaluate() {
+            return operator.applyAsInt(leftValue, rightValue);
+        }
+
+        /**
+         * Evaluates the operation and every unevaluated operation it depends on. Operations are claimed for the same
+         * blackhole and pushed on the stack until one has only evaluated operands, then published and popped with
+         * their value passed to the operation below them. If evaluation fails, every operation still on the stack is
+         * reset so that it can be evaluated again.
+         */
+        @Override
+        Object normalize(Blackhole blackhole) {
+            Deque<IntOperation> stack = new ArrayDeque<>();
+            stack.push(this);
+            try {
+                while (!stack.isEmpty()) {
+                    IntOperation operation = stack.peek();
+                    Callable<Integer> operand = operation.nextOperand();
+                    if (operand == null) {
+                        int result = operation.evaluate();
+                        stack.pop();
+                        operation.publish(result);
+                        if (!stack.isEmpty()) {
+                            stack.peek().accept(result);
+                        }
+                    } else if (operand instanceof IntOperation && ((IntOperation) operand).claim(blackhole)) {
+                        stack.push((IntOperation) operand);
+                    } else {
+                        operation.accept(unboxInt(operand));
+                    }
+                }
+            } catch (Throwable throwable) {
+                for (IntOperation operation : stack) {
+                    operation.operands = 0;
+                    operation.state = UNEVALUATED;
+                }
+                blackhole.release();
+                throw throwable;
+            }
+            blackhole.release();
+            return EVALUATED;
+        }
+
+        /**
+         * Drops the operands once the value has been published so the rest of the chain can be collected.
+         */
+        @Override
+        protected void release() {
+            left = null;
+            right = null;
+        }
+
+        private void accept(int value) {
+            if (operands++ == 0) {
+                leftValue = value;
+            } else {
+                rightValue = value;
+            }
+        }
+
+        private Callable<Integer> nextOperand() {
+            if (operands == 0) {
+                return left;
+            } else if (operands == 1) {
+                return right;
+            } else {
+                return null;
+            }
+        }
+    }
+
+    private static final class SuppliedIntThunk extends IntThunk {
+
+        private IntSupplier supplier;
+
+        private SuppliedIntThunk(IntSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        protected int evaluate() {
+            return supplier.getAsInt();
+        }
+
+        /**
+         * Drops the supplier once the value has been published so anything it captured can be collected.
+         */
+        @Override
+        protected void release() {
+            supplier = null;
+        }
+    }
+}
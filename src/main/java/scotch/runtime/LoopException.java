@@ -0,0 +1,15 @@
+package scotch.runtime;
+
+/**
+ * Thrown when a {@link Thunk} is re-entered by the thread already evaluating it, meaning its value depends on
+ * itself and can never be produced.
+ */
+public class LoopException extends RuntimeException {
+
+    /**
+     * Creates a new loop exception.
+     */
+    public LoopException() {
+        super("<<loop>>");
+    }
+}
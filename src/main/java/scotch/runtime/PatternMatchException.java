@@ -0,0 +1,14 @@
+package scotch.runtime;
+
+/**
+ * Thrown when none of the cases of a pattern-matching function match its arguments.
+ */
+public class PatternMatchException extends RuntimeException {
+
+    /**
+     * Creates a new pattern match exception.
+     */
+    public PatternMatchException() {
+        super("Non-exhaustive patterns");
+    }
+}
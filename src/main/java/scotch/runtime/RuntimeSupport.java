@@ -1,5 +1,8 @@
 package scotch.runtime;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -8,6 +11,21 @@ import java.util.function.Supplier;
  */
 public final class RuntimeSupport {
 
+    private static final Callable<Boolean>   TRUE           = new BoxedCallable<>(true);
+    private static final Callable<Boolean>   FALSE          = new BoxedCallable<>(false);
+    private static final int                 INT_CACHE_LOW  = -128;
+    private static final int                 INT_CACHE_HIGH = 1024;
+    private static final Callable<Integer>[] INT_CACHE;
+
+    static {
+        @SuppressWarnings("unchecked")
+        Callable<Integer>[] cache = new Callable[INT_CACHE_HIGH - INT_CACHE_LOW + 1];
+        for (int i = 0; i < cache.length; i++) {
+            cache[i] = new BoxedCallable<>(INT_CACHE_LOW + i);
+        }
+        INT_CACHE = cache;
+    }
+
     /**
      * Shorthand for creating an {@link Applicable}.
      *
@@ -21,12 +39,14 @@ public final class RuntimeSupport {
     }
 
     /**
-     * Boxes a boolean into a {@link Callable}.
+     * Boxes a boolean into a {@link Callable}. Both values are shared.
      *
      * @param value The boolean to be boxed.
      * @return The boxed boolean.
      */
-    public static Callable<Boolean> box(boolean value) { return new BoxedCallable<>(value); }
+    public static Callable<Boolean> box(boolean value) {
+        return value ? TRUE : FALSE;
+    }
 
     /**
      * Boxes a char into a {@link Callable}.
@@ -47,24 +67,35 @@ public final class RuntimeSupport {
     }
 
     /**
-     * Boxes an int into a {@link Callable}.
+     * Boxes an int into a {@link Callable}. Small values are shared.
      *
      * @param value The int to be boxed.
      * @return The boxed int.
      */
     public static Callable<Integer> box(int value) {
-        return new BoxedCallable<>(value);
+        if (value >= INT_CACHE_LOW && value <= INT_CACHE_HIGH) {
+            return INT_CACHE[value - INT_CACHE_LOW];
+        } else {
+            return new BoxedCallable<>(value);
+        }
     }
 
     /**
-     * Boxes any Object value into a {@link Callable}.
+     * Boxes any Object value into a {@link Callable}. Booleans and small integers are shared.
      *
      * @param value The value to be boxed.
      * @param <A> The type of the value.
      * @return The boxed value.
      */
+    @SuppressWarnings("unchecked")
     public static <A> Callable<A> box(A value) {
-        return new BoxedCallable<>(value);
+        if (value instanceof Boolean) {
+            return (Callable<A>) box(((Boolean) value).booleanValue());
+        } else if (value instanceof Integer) {
+            return (Callable<A>) box(((Integer) value).intValue());
+        } else {
+            return new BoxedCallable<>(value);
+        }
     }
 
     /**
@@ -76,12 +107,49 @@ public final class RuntimeSupport {
      * @return The thunk.
      */
     public static <A> Callable<A> callable(Supplier<A> supplier) {
-        return new Thunk<A>() {
-            @Override
-            protected A evaluate() {
-                return supplier.get();
+        return new SuppliedThunk<>(supplier);
+    }
+
+    /**
+     * Compares a data value structurally against another object. Values of the same class are compared field by field,
+     * evaluating each field only when it is reached and descending into nested data values through an explicit stack
+     * rather than recursion. Values whose hash codes have both been computed and differ are rejected without looking
+     * at their fields.
+     *
+     * @param structure The data value.
+     * @param other The object to compare against.
+     * @return Whether the object is structurally equal to the data value.
+     */
+    public static boolean equal(Structure structure, Object other) {
+        Deque<Callable> pending = new ArrayDeque<>();
+        Object left = structure;
+        Object right = other;
+        while (true) {
+            if (left != right) {
+                if (left instanceof Structure && right != null && left.getClass() == right.getClass()) {
+                    Structure leftStructure = (Structure) left;
+                    Structure rightStructure = (Structure) right;
+                    int leftHash = leftStructure.cachedHash();
+                    int rightHash = rightStructure.cachedHash();
+                    if (leftHash != 0 && rightHash != 0 && leftHash != rightHash) {
+                        return false;
+                    }
+                    Callable[] leftFields = leftStructure.fields();
+                    Callable[] rightFields = rightStructure.fields();
+                    for (int i = leftFields.length - 1; i >= 0; i--) {
+                        pending.push(leftFields[i]);
+                        pending.push(rightFields[i]);
+                    }
+                } else if (!Objects.equals(left, right)) {
+                    return false;
+                }
+            }
+            if (pending.isEmpty()) {
+                return true;
             }
-        };
+            right = pending.pop().call();
+            left = pending.pop().call();
+        }
     }
 
     /**
@@ -92,12 +160,41 @@ public final class RuntimeSupport {
      * @return The thunk.
      */
     public static <A> Callable<A> flatCallable(Supplier<Callable<A>> supplier) {
-        return new Thunk<A>() {
-            @Override
-            protected A evaluate() {
-                return supplier.get().call();
+        return new SuppliedThunk<>(() -> supplier.get().call());
+    }
+
+    /**
+     * Computes the hash code of a data value from the hash codes of its fields, descending into nested data values
+     * through an explicit stack rather than recursion. The hash code of each data value visited is memoized.
+     *
+     * @param structure The data value.
+     * @return The hash code.
+     */
+    public static int hash(Structure structure) {
+        if (structure.cachedHash() != 0) {
+            return structure.cachedHash();
+        }
+        Deque<HashFrame> frames = new ArrayDeque<>();
+        frames.push(new HashFrame(structure));
+        while (true) {
+            HashFrame frame = frames.peek();
+            if (frame.index < frame.fields.length) {
+                Object field = frame.fields[frame.index].call();
+                if (field instanceof Structure && ((Structure) field).cachedHash() == 0) {
+                    frames.push(new HashFrame((Structure) field));
+                } else {
+                    frame.add(Objects.hashCode(field));
+                }
+            } else {
+                frames.pop();
+                frame.structure.cacheHash(frame.hash);
+                if (frames.isEmpty()) {
+                    return frame.hash;
+                } else {
+                    frames.peek().add(frame.hash);
+                }
             }
-        };
+        }
     }
 
     /**
@@ -111,6 +208,47 @@ public final class RuntimeSupport {
         return callable.call();
     }
 
+    /**
+     * Unboxes a char from a {@link Callable}.
+     *
+     * @param callable The callable to unbox.
+     * @return The char value.
+     */
+    @SuppressWarnings("unused")
+    public static char unboxChar(Callable<Character> callable) {
+        return callable.call();
+    }
+
+    /**
+     * Unboxes a double from a {@link Callable}, without boxing when it is a {@link DoubleThunk}.
+     *
+     * @param callable The callable to unbox.
+     * @return The double value.
+     */
+    @SuppressWarnings("unused")
+    public static double unboxDouble(Callable<Double> callable) {
+        if (callable instanceof DoubleThunk) {
+            return ((DoubleThunk) callable).callDouble();
+        } else {
+            return callable.call();
+        }
+    }
+
+    /**
+     * Unboxes an int from a {@link Callable}, without boxing when it is an {@link IntThunk}.
+     *
+     * @param callable The callable to unbox.
+     * @return The int value.
+     */
+    @SuppressWarnings("unused")
+    public static int unboxInt(Callable<Integer> callable) {
+        if (callable instanceof IntThunk) {
+            return ((IntThunk) callable).callInt();
+        } else {
+            return callable.call();
+        }
+    }
+
     private RuntimeSupport() {
         // intentionally empty
     }
@@ -138,4 +276,23 @@ public final class RuntimeSupport {
             }
         }
     }
+
+    private static final class HashFrame {
+
+        private final Structure  structure;
+        private final Callable[] fields;
+        private       int        index;
+        private       int        hash;
+
+        HashFrame(Structure structure) {
+            this.structure = structure;
+            this.fields = structure.fields();
+            this.hash = 1;
+        }
+
+        void add(int fieldHash) {
+            hash = 31 * hash + fieldHash;
+            index++;
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package scotch.runtime;
+
+/**
+ * A data value whose fields can be walked by {@link RuntimeSupport#equal(Structure, Object)} and
+ * {@link RuntimeSupport#hash(Structure)} without recursing through {@link Object#equals(Object)} and
+ * {@link Object#hashCode()}. Hash codes are memoized in the value once computed.
+ */
+public interface Structure {
+
+    /**
+     * Stores the computed hash code of this value.
+     *
+     * @param hash The hash code.
+     */
+    void cacheHash(int hash);
+
+    /**
+     * Gets the memoized hash code of this value.
+     *
+     * @return The hash code, or 0 if it has not been computed yet.
+     */
+    int cachedHash();
+
+    /**
+     * Gets the fields of this value in declaration order, without evaluating them.
+     *
+     * @return The fields.
+     */
+    Callable[] fields();
+}
@@ -9,7 +9,7 @@ import java.util.function.Supplier;
  */
 public class SuppliedThunk<A> extends Thunk<A> {
 
-    private final Supplier<A> supplier;
+    private Supplier<A> supplier;
 
     public SuppliedThunk(Supplier<A> supplier) {
         this.supplier = supplier;
@@ -19,4 +19,12 @@ public class SuppliedThunk<A> extends Thunk<A> {
     protected A evaluate() {
         return supplier.get();
     }
+
+    /**
+     * Drops the supplier once the value has been published so anything it captured can be collected.
+     */
+    @Override
+    protected void release() {
+        supplier = null;
+    }
 }
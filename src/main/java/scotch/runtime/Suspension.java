@@ -0,0 +1,141 @@
+package scotch.runtime;
+
+import static java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The evaluation state shared by {@link Thunk} and the primitive {@link IntThunk} and {@link DoubleThunk}, so that
+ * each is evaluated by at most one thread and reports a value depending on itself as a {@link LoopException}.
+ *
+ * <p>A suspension moves from unevaluated to a {@link Blackhole} held by the thread which won the race to evaluate
+ * it, and from there to its published state. Other threads park on the blackhole until it is released.</p>
+ */
+abstract class Suspension {
+
+    static final Object UNEVALUATED = new Object();
+    /**
+     * The state published by suspensions which keep their value in a primitive field.
+     */
+    static final Object EVALUATED   = new Object();
+
+    private static final AtomicReferenceFieldUpdater<Suspension, Object> STATE      = newUpdater(Suspension.class, Object.class, "state");
+    private static final int                                             SPIN_LIMIT = 64;
+
+    /**
+     * Either {@link #UNEVALUATED}, a {@link Blackhole} while the suspension is being evaluated, or its published
+     * state after it has been evaluated.
+     */
+    volatile Object state;
+
+    Suspension() {
+        this(UNEVALUATED);
+    }
+
+    Suspension(Object state) {
+        this.state = state;
+    }
+
+    /**
+     * Claims an unevaluated suspension for the given blackhole.
+     *
+     * @param blackhole The blackhole marking the evaluation.
+     * @return Whether the suspension was claimed.
+     */
+    final boolean claim(Blackhole blackhole) {
+        return STATE.compareAndSet(this, UNEVALUATED, blackhole);
+    }
+
+    /**
+     * Evaluates the suspension on behalf of the given owner, or waits for the thread already evaluating it.
+     *
+     * @param owner The thread, or the thread and its stack segments, forcing the suspension.
+     * @return The published state.
+     */
+    final Object force(Object owner) {
+        int spins = 0;
+        while (true) {
+            Object current = state;
+            if (current == UNEVALUATED) {
+                Blackhole blackhole = new Blackhole(owner);
+                if (claim(blackhole)) {
+                    return normalize(blackhole);
+                }
+            } else if (current instanceof Blackhole) {
+                if (((Blackhole) current).owner == owner) {
+                    throw new LoopException();
+                } else if (spins++ < SPIN_LIMIT) {
+                    Thread.yield();
+                } else {
+                    ((Blackhole) current).await(this);
+                }
+            } else {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Evaluates a claimed suspension, publishes its state and releases the blackhole. If evaluation fails the
+     * suspension is reset to {@link #UNEVALUATED} before the blackhole is released.
+     *
+     * @param blackhole The blackhole holding the suspension.
+     * @return The published state.
+     */
+    abstract Object normalize(Blackhole blackhole);
+
+    /**
+     * Marks a suspension as being evaluated by a particular thread, or by the stack segments created for it. Threads
+     * waiting for the value register themselves on the blackhole and park until it is released, which happens once
+     * the value (or the failure to produce it) has been published.
+     */
+    static final class Blackhole {
+
+        private static final AtomicReferenceFieldUpdater<Blackhole, Waiter> WAITERS  = newUpdater(Blackhole.class, Waiter.class, "waiters");
+        private static final Waiter                                         RELEASED = new Waiter(null);
+
+        private final    Object owner;
+        private volatile Waiter waiters;
+
+        Blackhole(Object owner) {
+            this.owner = owner;
+        }
+
+        void release() {
+            Waiter waiter = WAITERS.getAndSet(this, RELEASED);
+            while (waiter != null) {
+                LockSupport.unpark(waiter.thread);
+                waiter = waiter.next;
+            }
+        }
+
+        private void await(Suspension suspension) {
+            Waiter waiter = new Waiter(Thread.currentThread());
+            do {
+                waiter.next = waiters;
+                if (waiter.next == RELEASED) {
+                    return;
+                }
+            } while (!WAITERS.compareAndSet(this, waiter.next, waiter));
+            boolean interrupted = false;
+            while (suspension.state == this) {
+                LockSupport.park(this);
+                interrupted |= Thread.interrupted();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final Thread thread;
+        private       Waiter next;
+
+        private Waiter(Thread thread) {
+            this.thread = thread;
+        }
+    }
+}
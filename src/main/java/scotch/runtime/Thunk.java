@@ -1,18 +1,61 @@
 package scotch.runtime;
 
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
 /**
  * A thunk representing a suspended state of computation.
  *
  * <p>Read <a href="http://en.wikipedia.org/wiki/Thunk">here</a> for more.</p>
  *
+ * <p>A thunk moves from unevaluated to evaluated without taking a monitor. The thread which wins the race to
+ * evaluate it installs a {@link Blackhole}; other threads park on it until the value is published, while the owning
+ * thread re-entering the thunk indicates a value which depends on itself and fails with a {@link LoopException}.</p>
+ *
+ * <p>Forcing a thunk whose evaluation forces another thunk nests JVM stack frames, so a long chain of suspended
+ * computations (such as a lazily accumulated fold) would overflow the stack of the thread forcing it. Chains of
+ * arithmetic built by the {@code Num} instances for {@code Int} and {@code Double}, or by generated code deferring
+ * {@code +}, {@code -} and {@code *} on them, are made of operations (see
+ * {@link IntThunk#intOperation(java.util.function.IntBinaryOperator, Callable, Callable)}) which are evaluated by a
+ * loop keeping the operations waiting for their operands on a heap-allocated stack, so they never nest.</p>
+ *
+ * <p>Other chains run through generated code, which forces thunks by calling into them and uses the value on return.
+ * Suspending such a chain on the heap would mean compiling every function in continuation-passing style; unwinding to
+ * the outermost thunk and retrying instead throws away the frame which built the chain, and a tail-recursive loop
+ * returning a lazy accumulator then rebuilds it forever. Instead each thread counts how deeply it is nested in thunk
+ * evaluation, and once the depth reaches {@code scotch.runtime.maxEvaluationDepth} (512 by default, 0 to disable)
+ * the next thunk is evaluated on a new stack segment: a pooled thread with a stack of
+ * {@code scotch.runtime.segmentStackSize} bytes (64MB by default), which the forcing thread waits on. Segments may in
+ * turn spill into further segments, up to {@code scotch.runtime.maxSegmentMemory} bytes of segment stacks in use at
+ * once across all threads (256MB by default); past that, forcing fails with a {@link StackOverflowError} on the
+ * thread which started the evaluation, as it would have without segments. A segment evaluates on behalf of the thread
+ * which created it, so a thunk depending on itself is still reported as a loop rather than waiting on itself. The
+ * primitive {@link IntThunk} and {@link DoubleThunk} are blackholed the same way and evaluated under the same
+ * accounting, so chains mixing generated code and primitive arithmetic spill into segments too.</p>
+ *
+ * <p>Shallow evaluation never leaves the calling thread. Segment threads are pooled and kept for a minute once idle,
+ * because most of the cost of a fresh segment is committing the pages of its stack as it deepens.</p>
+ *
  * @param <A> The type of the value to be returned from the Thunk.
  */
-public abstract class Thunk<A> implements Callable<A> {
+public abstract class Thunk<A> extends Suspension implements Callable<A> {
 
-    /**
-     * The value after it has been evaluated to head-normal form.
-     */
-    private volatile A value;
+    private static final int                     MAX_DEPTH      = Integer.getInteger("scotch.runtime.maxEvaluationDepth", 512);
+    private static final long                    STACK_SIZE     = Long.getLong("scotch.runtime.segmentStackSize", 64L << 20);
+    private static final long                    SEGMENT_MEMORY = Long.getLong("scotch.runtime.maxSegmentMemory", 256L << 20);
+    private static final Semaphore               SEGMENT_SLOTS  = new Semaphore((int) Math.min(Integer.MAX_VALUE, SEGMENT_MEMORY / STACK_SIZE));
+    private static final ExecutorService         SEGMENTS       = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, SECONDS, new SynchronousQueue<>(), Thunk::segmentThread);
+    private static final ThreadLocal<Evaluation> EVALUATION     = ThreadLocal.withInitial(() -> new Evaluation(new Object(), MAX_DEPTH));
 
     /**
      * Evaluates the thunk down to head-normal form.
@@ -22,20 +65,23 @@ public abstract class Thunk<A> implements Callable<A> {
     @SuppressWarnings("unchecked")
     @Override
     public A call() {
-        if (value == null) {
-            synchronized (this) {
-                if (value == null) {
-                    value = evaluate();
-                    while (value instanceof Callable) {
-                        if (value instanceof Applicable) {
-                            break;
-                        }
-                        value = ((Callable<A>) value).call();
-                    }
-                }
-            }
+        Object current = state;
+        if (current == UNEVALUATED || current instanceof Blackhole) {
+            return (A) forceNested(this);
+        } else {
+            return (A) current;
         }
-        return value;
+    }
+
+    /**
+     * Forces a suspension, including the primitive {@link IntThunk} and {@link DoubleThunk}, under the depth
+     * accounting of the current thread, moving it onto a new stack segment if the thread is nested too deeply.
+     *
+     * @param suspension The suspension to force.
+     * @return The published state.
+     */
+    static Object forceNested(Suspension suspension) {
+        return EVALUATION.get().force(suspension);
     }
 
     /**
@@ -44,4 +90,154 @@ public abstract class Thunk<A> implements Callable<A> {
      * @return The evaluated value.
      */
     protected abstract A evaluate();
+
+    /**
+     * Releases anything held only for evaluation, called once the value has been published.
+     */
+    protected void release() {
+        // intentionally empty
+    }
+
+    private static Thread segmentThread(Runnable runnable) {
+        Thread thread = new Thread(null, runnable, "scotch-evaluation-segment", STACK_SIZE);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Evaluates a claimed thunk down to head-normal form. Unevaluated thunks returned along the way are claimed and
+     * evaluated in this loop rather than by calling into them, so a chain of indirections does not grow the stack.
+     * Every thunk in the chain is given the final value.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    final Object normalize(Blackhole blackhole) {
+        List<Thunk<A>> indirections = emptyList();
+        Object result;
+        try {
+            result = evaluate();
+            while (result instanceof Callable && !(result instanceof Applicable)) {
+                if (result instanceof Thunk && ((Thunk) result).claim(blackhole)) {
+                    Thunk<A> indirection = (Thunk<A>) result;
+                    if (indirections.isEmpty()) {
+                        indirections = new ArrayList<>();
+                    }
+                    indirections.add(indirection);
+                    result = indirection.evaluate();
+                } else {
+                    result = ((Callable<A>) result).call();
+                }
+            }
+        } catch (Throwable throwable) {
+            state = UNEVALUATED;
+            for (Thunk<A> indirection : indirections) {
+                indirection.state = UNEVALUATED;
+            }
+            blackhole.release();
+            throw throwable;
+        }
+        state = result;
+        release();
+        for (Thunk<A> indirection : indirections) {
+            indirection.state = result;
+            indirection.release();
+        }
+        blackhole.release();
+        return result;
+    }
+
+    /**
+     * Tracks how deeply the current thread is nested in thunk evaluation.
+     */
+    private static final class Evaluation {
+
+        private final Object owner;
+        private final int    maxDepth;
+        private       int    depth;
+
+        private Evaluation(Object owner, int maxDepth) {
+            this.owner = owner;
+            this.maxDepth = maxDepth;
+        }
+
+        private Object force(Suspension suspension) {
+            if (isExhausted()) {
+                return new Segment<>(owner, () -> forceNested(suspension)).evaluate();
+            } else {
+                depth++;
+                try {
+                    return suspension.force(owner);
+                } finally {
+                    depth--;
+                }
+            }
+        }
+
+        private boolean isExhausted() {
+            return maxDepth > 0 && depth >= maxDepth;
+        }
+    }
+
+    /**
+     * Evaluates a thunk on a fresh stack on behalf of the thread which has run out of room on its own.
+     */
+    private static final class Segment<A> implements Runnable {
+
+        private final Object      owner;
+        private final Supplier<A> evaluation;
+        private       A           value;
+        private       Throwable   failure;
+
+        private Segment(Object owner, Supplier<A> evaluation) {
+            this.owner = owner;
+            this.evaluation = evaluation;
+        }
+
+        @Override
+        public void run() {
+            EVALUATION.set(new Evaluation(owner, (int) Math.min(Integer.MAX_VALUE, MAX_DEPTH * (STACK_SIZE >> 20))));
+            try {
+                value = evaluation.get();
+            } catch (Throwable throwable) {
+                failure = throwable;
+            } finally {
+                EVALUATION.remove();
+            }
+        }
+
+        private A evaluate() {
+            if (!SEGMENT_SLOTS.tryAcquire()) {
+                throw new StackOverflowError("Thunk evaluation needs more than the " + SEGMENT_MEMORY
+                    + " bytes of stack segments allowed by scotch.runtime.maxSegmentMemory");
+            }
+            boolean interrupted = false;
+            try {
+                Future<?> future = SEGMENTS.submit(this);
+                while (true) {
+                    try {
+                        future.get();
+                        break;
+                    } catch (InterruptedException exception) {
+                        interrupted = true;
+                    } catch (ExecutionException exception) {
+                        throw new IllegalStateException(exception);
+                    }
+                }
+            } finally {
+                SEGMENT_SLOTS.release();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new RuntimeException(failure);
+            } else {
+                return value;
+            }
+        }
+    }
 }
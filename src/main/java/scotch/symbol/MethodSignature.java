@@ -53,7 +53,7 @@ public class MethodSignature {
     private final String     methodName;
     private final String     signature;
 
-    private MethodSignature(MethodType methodType, String className, String methodName, String signature) {
+    MethodSignature(MethodType methodType, String className, String methodName, String signature) {
         this.methodType = methodType;
         this.className = className;
         this.methodName = methodName;
@@ -79,6 +79,18 @@ public class MethodSignature {
         return className;
     }
 
+    public String getMethodName() {
+        return methodName;
+    }
+
+    MethodType getMethodType() {
+        return methodType;
+    }
+
+    public String getSignature() {
+        return signature;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(methodType, className, methodName, signature);
@@ -93,7 +105,7 @@ public class MethodSignature {
         return className + ":" + methodName + ":" + signature;
     }
 
-    private enum MethodType {
+    enum MethodType {
         STATIC {
             @Override
             public CodeBlock generate(MethodSignature signature) {
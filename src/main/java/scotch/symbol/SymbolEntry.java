@@ -247,6 +247,22 @@ public abstract class SymbolEntry {
             return symbol;
         }
 
+        public ImmutableEntryBuilder withDataConstructor(DataConstructorDescriptor dataConstructor) {
+            dataConstructor(dataConstructor.getOrdinal(), dataConstructor.getDataType())
+                .withClassName(dataConstructor.getClassName())
+                .withFields(dataConstructor.getFields());
+            return this;
+        }
+
+        public ImmutableEntryBuilder withDataType(DataTypeDescriptor dataType) {
+            dataType()
+                .withParameters(dataType.getParameters())
+                .withNewtype(dataType.isNewtype())
+                .withTagged(dataType.isTagged())
+                .withConstructors(dataType.getConstructors());
+            return this;
+        }
+
         public ImmutableEntryBuilder withMemberOf(Symbol memberOf) {
             optionalMemberOf = Optional.of(memberOf);
             return this;
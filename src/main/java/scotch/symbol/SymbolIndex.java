@@ -0,0 +1,457 @@
+package scotch.symbol;
+
+import static scotch.symbol.Operator.operator;
+import static scotch.symbol.Symbol.getPackagePath;
+import static scotch.symbol.Symbol.qualified;
+import static scotch.symbol.Symbol.unqualified;
+import static scotch.symbol.SymbolEntry.immutableEntry;
+import static scotch.symbol.descriptor.DataFieldDescriptor.field;
+import static scotch.symbol.descriptor.TypeClassDescriptor.typeClass;
+import static scotch.symbol.descriptor.TypeInstanceDescriptor.typeInstance;
+import static scotch.symbol.descriptor.TypeParameterDescriptor.typeParam;
+import static scotch.symbol.type.Types.ctor;
+import static scotch.symbol.type.Types.fn;
+import static scotch.symbol.type.Types.instance;
+import static scotch.symbol.type.Types.sum;
+import static scotch.symbol.type.Types.var;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import scotch.symbol.MethodSignature.MethodType;
+import scotch.symbol.Symbol.QualifiedSymbol;
+import scotch.symbol.Value.Fixity;
+import scotch.symbol.descriptor.DataConstructorDescriptor;
+import scotch.symbol.descriptor.DataFieldDescriptor;
+import scotch.symbol.descriptor.DataTypeDescriptor;
+import scotch.symbol.descriptor.TypeClassDescriptor;
+import scotch.symbol.descriptor.TypeInstanceDescriptor;
+import scotch.symbol.descriptor.TypeParameterDescriptor;
+import scotch.symbol.exception.SymbolIndexError;
+import scotch.symbol.type.ConstructorType;
+import scotch.symbol.type.FunctionType;
+import scotch.symbol.type.InstanceType;
+import scotch.symbol.type.SumType;
+import scotch.symbol.type.Type;
+import scotch.symbol.type.VariableType;
+
+// The symbols and type instances exported by a module, stored as a resource next to the module's classes so that
+// resolving them does not require loading and reflecting over the classes. Strings are pooled at the head of the
+// resource and referenced by index everywhere else.
+public class SymbolIndex {
+
+    public static final String FILE_NAME = "$$Symbols.idx";
+
+    private static final int MAGIC   = 0x5C07C41D;
+    private static final int VERSION = 5;
+
+    private static final byte SUM_TYPE         = 0;
+    private static final byte FUNCTION_TYPE    = 1;
+    private static final byte VARIABLE_TYPE    = 2;
+    private static final byte CONSTRUCTOR_TYPE = 3;
+    private static final byte INSTANCE_TYPE    = 4;
+
+    public static String getResourceName(String moduleName) {
+        return getPackagePath(moduleName) + "/" + FILE_NAME;
+    }
+
+    public static SymbolIndex read(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(inputStream);
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new SymbolIndexError("Unrecognized symbol index format");
+        }
+        return new Reader(input).read();
+    }
+
+    public static SymbolIndex symbolIndex(String moduleName, Collection<SymbolEntry> entries, Collection<TypeInstanceDescriptor> typeInstances) {
+        return new SymbolIndex(moduleName, entries, typeInstances);
+    }
+
+    private final String                      moduleName;
+    private final List<SymbolEntry>           entries;
+    private final Set<TypeInstanceDescriptor> typeInstances;
+
+    private SymbolIndex(String moduleName, Collection<SymbolEntry> entries, Collection<TypeInstanceDescriptor> typeInstances) {
+        this.moduleName = moduleName;
+        this.entries = ImmutableList.copyOf(entries);
+        this.typeInstances = ImmutableSet.copyOf(typeInstances);
+    }
+
+    public List<SymbolEntry> getEntries() {
+        return entries;
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public String getResourceName() {
+        return getResourceName(moduleName);
+    }
+
+    public Set<TypeInstanceDescriptor> getTypeInstances() {
+        return typeInstances;
+    }
+
+    public byte[] toBytes() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            write(bytes);
+            return bytes.toByteArray();
+        } catch (IOException exception) {
+            throw new SymbolIndexError(exception);
+        }
+    }
+
+    public void write(OutputStream outputStream) throws IOException {
+        Writer writer = new Writer();
+        writer.write(this);
+        DataOutputStream output = new DataOutputStream(outputStream);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(writer.strings.size());
+        for (String string : writer.strings.keySet()) {
+            output.writeUTF(string);
+        }
+        writer.body.writeTo(output);
+        output.flush();
+    }
+
+    private static final class Reader {
+
+        private final DataInput input;
+        private final String[]  strings;
+
+        private Reader(DataInput input) throws IOException {
+            this.input = input;
+            this.strings = new String[input.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = input.readUTF();
+            }
+        }
+
+        public SymbolIndex read() throws IOException {
+            String moduleName = readString();
+            List<SymbolEntry> entries = new ArrayList<>();
+            int entryCount = input.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                entries.add(readEntry());
+            }
+            List<TypeInstanceDescriptor> typeInstances = new ArrayList<>();
+            int instanceCount = input.readInt();
+            for (int i = 0; i < instanceCount; i++) {
+                typeInstances.add(readTypeInstance());
+            }
+            return symbolIndex(moduleName, entries, typeInstances);
+        }
+
+        private DataConstructorDescriptor readDataConstructor() throws IOException {
+            DataConstructorDescriptor.Builder builder = DataConstructorDescriptor.builder(input.readInt(), readSymbol(), readSymbol())
+                .withClassName(readString());
+            int fieldCount = input.readInt();
+            for (int i = 0; i < fieldCount; i++) {
+                builder.addField(field(input.readInt(), readString(), readType(), input.readBoolean()));
+            }
+            return builder.build();
+        }
+
+        private DataTypeDescriptor readDataType() throws IOException {
+            DataTypeDescriptor.Builder builder = DataTypeDescriptor.builder(readSymbol())
+                .withParameters(readTypes())
+                .withNewtype(input.readBoolean())
+                .withTagged(input.readBoolean());
+            int constructorCount = input.readInt();
+            for (int i = 0; i < constructorCount; i++) {
+                builder.addConstructor(readDataConstructor());
+            }
+            return builder.build();
+        }
+
+        private SymbolEntry readEntry() throws IOException {
+            SymbolEntry.ImmutableEntryBuilder builder = immutableEntry(readSymbol());
+            if (input.readBoolean()) {
+                builder.withValueType(readType());
+            }
+            if (input.readBoolean()) {
+                builder.withValueMethod(readMethodSignature());
+            }
+            if (input.readBoolean()) {
+                builder.withOperator(operator(Fixity.valueOf(readString()), input.readInt()));
+            }
+            if (input.readBoolean()) {
+                builder.withType(readType());
+            }
+            if (input.readBoolean()) {
+                builder.withTypeClass(typeClass(readSymbol(), readTypes(), readSymbols()));
+            }
+            if (input.readBoolean()) {
+                builder.withMemberOf(readSymbol());
+            }
+            if (input.readBoolean()) {
+                builder.withDataType(readDataType());
+            }
+            if (input.readBoolean()) {
+                builder.withDataConstructor(readDataConstructor());
+            }
+            return builder.build();
+        }
+
+        private MethodSignature readMethodSignature() throws IOException {
+            return new MethodSignature(MethodType.valueOf(readString()), readString(), readString(), readString());
+        }
+
+        private String readString() throws IOException {
+            return strings[input.readInt()];
+        }
+
+        private Symbol readSymbol() throws IOException {
+            boolean isQualified = input.readBoolean();
+            String moduleName = isQualified ? readString() : null;
+            List<String> memberNames = new ArrayList<>();
+            int memberCount = input.readInt();
+            for (int i = 0; i < memberCount; i++) {
+                memberNames.add(readString());
+            }
+            if (isQualified) {
+                return qualified(moduleName, memberNames);
+            } else {
+                return unqualified(memberNames);
+            }
+        }
+
+        private Set<Symbol> readSymbols() throws IOException {
+            Set<Symbol> symbols = new HashSet<>();
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                symbols.add(readSymbol());
+            }
+            return symbols;
+        }
+
+        private Type readType() throws IOException {
+            byte tag = input.readByte();
+            switch (tag) {
+                case SUM_TYPE:
+                    return sum(readSymbol(), readTypes());
+                case FUNCTION_TYPE:
+                    return fn(readType(), readType());
+                case VARIABLE_TYPE:
+                    return var(readString(), readSymbols());
+                case CONSTRUCTOR_TYPE:
+                    return ctor(readType(), readType());
+                case INSTANCE_TYPE:
+                    return instance(readSymbol(), readType());
+                default:
+                    throw new SymbolIndexError("Unrecognized type tag " + tag);
+            }
+        }
+
+        private TypeInstanceDescriptor readTypeInstance() throws IOException {
+            String moduleName = readString();
+            Symbol typeClass = readSymbol();
+            List<TypeParameterDescriptor> parameters = new ArrayList<>();
+            int parameterCount = input.readInt();
+            for (int i = 0; i < parameterCount; i++) {
+                Symbol symbol = readSymbol();
+                List<Set<Symbol>> argumentContexts = new ArrayList<>();
+                int argumentCount = input.readInt();
+                for (int j = 0; j < argumentCount; j++) {
+                    argumentContexts.add(readSymbols());
+                }
+                parameters.add(typeParam(symbol, argumentContexts));
+            }
+            return typeInstance(moduleName, typeClass, parameters, readMethodSignature(), input.readBoolean());
+        }
+
+        private List<Type> readTypes() throws IOException {
+            List<Type> types = new ArrayList<>();
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                types.add(readType());
+            }
+            return types;
+        }
+    }
+
+    private static final class Writer {
+
+        private final Map<String, Integer>  strings;
+        private final ByteArrayOutputStream body;
+        private final DataOutput            output;
+
+        private Writer() {
+            this.strings = new LinkedHashMap<>();
+            this.body = new ByteArrayOutputStream();
+            this.output = new DataOutputStream(body);
+        }
+
+        public void write(SymbolIndex index) throws IOException {
+            writeString(index.moduleName);
+            output.writeInt(index.entries.size());
+            for (SymbolEntry entry : index.entries) {
+                writeEntry(entry);
+            }
+            output.writeInt(index.typeInstances.size());
+            for (TypeInstanceDescriptor typeInstance : index.typeInstances) {
+                writeTypeInstance(typeInstance);
+            }
+        }
+
+        private <T> void writeOptional(Optional<T> optional, Writing<T> writing) throws IOException {
+            output.writeBoolean(optional.isPresent());
+            if (optional.isPresent()) {
+                writing.write(optional.get());
+            }
+        }
+
+        private void writeDataConstructor(DataConstructorDescriptor dataConstructor) throws IOException {
+            output.writeInt(dataConstructor.getOrdinal());
+            writeSymbol(dataConstructor.getDataType());
+            writeSymbol(dataConstructor.getSymbol());
+            writeString(dataConstructor.getClassName());
+            output.writeInt(dataConstructor.getFields().size());
+            for (DataFieldDescriptor field : dataConstructor.getFields()) {
+                output.writeInt(field.getOrdinal());
+                writeString(field.getName());
+                writeType(field.getType());
+                output.writeBoolean(field.isStrict());
+            }
+        }
+
+        private void writeDataType(DataTypeDescriptor dataType) throws IOException {
+            writeSymbol(dataType.getSymbol());
+            writeTypes(dataType.getParameters());
+            output.writeBoolean(dataType.isNewtype());
+            output.writeBoolean(dataType.isTagged());
+            output.writeInt(dataType.getConstructors().size());
+            for (DataConstructorDescriptor constructor : dataType.getConstructors()) {
+                writeDataConstructor(constructor);
+            }
+        }
+
+        private void writeEntry(SymbolEntry entry) throws IOException {
+            writeSymbol(entry.getSymbol());
+            writeOptional(entry.getValue(), this::writeType);
+            writeOptional(entry.getValueMethod(), this::writeMethodSignature);
+            writeOptional(entry.getOperator(), operator -> {
+                writeString(operator.getFixity().name());
+                output.writeInt(operator.getPrecedence());
+            });
+            writeOptional(entry.getType(), this::writeType);
+            writeOptional(entry.getTypeClass(), this::writeTypeClass);
+            writeOptional(entry.getMemberOf(), this::writeSymbol);
+            writeOptional(entry.getDataType(), this::writeDataType);
+            writeOptional(entry.getDataConstructor(), this::writeDataConstructor);
+        }
+
+        private void writeMethodSignature(MethodSignature methodSignature) throws IOException {
+            writeString(methodSignature.getMethodType().name());
+            writeString(methodSignature.getClassName());
+            writeString(methodSignature.getMethodName());
+            writeString(methodSignature.getSignature());
+        }
+
+        private void writeString(String string) throws IOException {
+            Integer index = strings.get(string);
+            if (index == null) {
+                index = strings.size();
+                strings.put(string, index);
+            }
+            output.writeInt(index);
+        }
+
+        private void writeSymbol(Symbol symbol) throws IOException {
+            boolean isQualified = symbol instanceof QualifiedSymbol;
+            output.writeBoolean(isQualified);
+            if (isQualified) {
+                writeString(((QualifiedSymbol) symbol).getModuleName());
+            }
+            output.writeInt(symbol.getMemberNames().size());
+            for (String memberName : symbol.getMemberNames()) {
+                writeString(memberName);
+            }
+        }
+
+        private void writeSymbols(Collection<Symbol> symbols) throws IOException {
+            output.writeInt(symbols.size());
+            for (Symbol symbol : symbols) {
+                writeSymbol(symbol);
+            }
+        }
+
+        private void writeType(Type type) throws IOException {
+            if (type instanceof SumType) {
+                output.writeByte(SUM_TYPE);
+                writeSymbol(((SumType) type).getSymbol());
+                writeTypes(((SumType) type).getParameters());
+            } else if (type instanceof FunctionType) {
+                output.writeByte(FUNCTION_TYPE);
+                writeType(((FunctionType) type).getArgument());
+                writeType(((FunctionType) type).getResult());
+            } else if (type instanceof VariableType) {
+                output.writeByte(VARIABLE_TYPE);
+                writeString(((VariableType) type).getName());
+                writeSymbols(type.getContext());
+            } else if (type instanceof ConstructorType) {
+                output.writeByte(CONSTRUCTOR_TYPE);
+                writeType(((ConstructorType) type).getHead());
+                writeType(((ConstructorType) type).getTail());
+            } else if (type instanceof InstanceType) {
+                output.writeByte(INSTANCE_TYPE);
+                writeSymbol(((InstanceType) type).getSymbol());
+                writeType(((InstanceType) type).getBinding());
+            } else {
+                throw new SymbolIndexError("Can't index type " + type);
+            }
+        }
+
+        private void writeTypeClass(TypeClassDescriptor typeClass) throws IOException {
+            writeSymbol(typeClass.getSymbol());
+            writeTypes(typeClass.getParameters());
+            writeSymbols(typeClass.getMembers());
+        }
+
+        private void writeTypeInstance(TypeInstanceDescriptor typeInstance) throws IOException {
+            writeString(typeInstance.getModuleName());
+            writeSymbol(typeInstance.getTypeClass());
+            output.writeInt(typeInstance.getParameters().size());
+            for (TypeParameterDescriptor parameter : typeInstance.getParameters()) {
+                writeSymbol(parameter.getSymbol());
+                output.writeInt(parameter.getArgumentContexts().size());
+                for (Set<Symbol> context : parameter.getArgumentContexts()) {
+                    writeSymbols(context);
+                }
+            }
+            writeMethodSignature(typeInstance.getInstanceGetter());
+            output.writeBoolean(typeInstance.isStrict());
+        }
+
+        private void writeTypes(List<Type> types) throws IOException {
+            output.writeInt(types.size());
+            for (Type type : types) {
+                writeType(type);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writing<T> {
+
+        void write(T value) throws IOException;
+    }
+}
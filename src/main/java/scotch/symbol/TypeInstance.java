@@ -12,5 +12,7 @@ import java.lang.annotation.Target;
 @Retention(RUNTIME)
 public @interface TypeInstance {
 
+    boolean strict() default false;
+
     String typeClass();
 }
@@ -5,6 +5,7 @@ import static java.util.stream.Collectors.joining;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import com.google.common.collect.ImmutableList;
 import lombok.EqualsAndHashCode;
 import scotch.symbol.Symbol;
@@ -19,14 +20,16 @@ public class DataConstructorDescriptor implements Comparable<DataConstructorDesc
     private final int                       ordinal;
     private final Symbol                    dataType;
     private final Symbol                    symbol;
+    private final String                    className;
     private final List<DataFieldDescriptor> fields;
 
-    private DataConstructorDescriptor(int ordinal, Symbol dataType, Symbol symbol, List<DataFieldDescriptor> fields) {
+    private DataConstructorDescriptor(int ordinal, Symbol dataType, Symbol symbol, String className, List<DataFieldDescriptor> fields) {
         List<DataFieldDescriptor> sortedFields = new ArrayList<>(fields);
         sort(sortedFields);
         this.ordinal = ordinal;
         this.dataType = dataType;
         this.symbol = symbol;
+        this.className = className;
         this.fields = ImmutableList.copyOf(sortedFields);
     }
 
@@ -35,6 +38,12 @@ public class DataConstructorDescriptor implements Comparable<DataConstructorDesc
         return ordinal - o.ordinal;
     }
 
+    // the class of the constructor's values, which for constructors declared in Java need not be named after the
+    // constructor
+    public String getClassName() {
+        return className;
+    }
+
     public Symbol getDataType() {
         return dataType;
     }
@@ -43,6 +52,10 @@ public class DataConstructorDescriptor implements Comparable<DataConstructorDesc
         return fields;
     }
 
+    public int getOrdinal() {
+        return ordinal;
+    }
+
     public Symbol getSymbol() {
         return symbol;
     }
@@ -58,12 +71,14 @@ public class DataConstructorDescriptor implements Comparable<DataConstructorDesc
         private final int                       ordinal;
         private final Symbol                    dataType;
         private final Symbol                    symbol;
+        private       Optional<String>          className;
         private       List<DataFieldDescriptor> fields;
 
         private Builder(int ordinal, Symbol dataType, Symbol symbol) {
             this.ordinal = ordinal;
             this.dataType = dataType;
             this.symbol = symbol;
+            this.className = Optional.empty();
             this.fields = new ArrayList<>();
         }
 
@@ -78,10 +93,16 @@ public class DataConstructorDescriptor implements Comparable<DataConstructorDesc
                 ordinal,
                 dataType,
                 symbol,
+                className.orElseGet(() -> symbol.getClassNameAsChildOf(dataType)),
                 fields
             );
         }
 
+        public Builder withClassName(String className) {
+            this.className = Optional.of(className);
+            return this;
+        }
+
         public Builder withFields(List<DataFieldDescriptor> fields) {
             fields.forEach(this::addField);
             return this;
@@ -1,21 +1,53 @@
 package scotch.symbol.descriptor;
 
+import static me.qmx.jitescript.util.CodegenUtils.ci;
+import static me.qmx.jitescript.util.CodegenUtils.p;
+import static me.qmx.jitescript.util.CodegenUtils.sig;
+
+import java.util.Map;
 import java.util.Objects;
+import com.google.common.collect.ImmutableMap;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import me.qmx.jitescript.CodeBlock;
+import scotch.runtime.Applicable;
+import scotch.runtime.Callable;
+import scotch.runtime.RuntimeSupport;
+import scotch.symbol.Symbol;
+import scotch.symbol.type.FunctionType;
+import scotch.symbol.type.SumType;
 import scotch.symbol.type.Type;
 
 @AllArgsConstructor
 @Getter
 public class DataFieldDescriptor implements Comparable<DataFieldDescriptor> {
 
+    // strict fields of these types are stored unpacked as primitives and boxed again only when read
+    private static final Map<String, Class<?>> unpackedTypes = ImmutableMap.of(
+        "scotch.data.int.Int", int.class,
+        "scotch.data.double.Double", double.class,
+        "scotch.data.bool.Bool", boolean.class,
+        "scotch.data.char.Char", char.class
+    );
+    private static final Map<Class<?>, String> unboxMethods  = ImmutableMap.of(
+        int.class, "unboxInt",
+        double.class, "unboxDouble",
+        boolean.class, "unboxBool",
+        char.class, "unboxChar"
+    );
+
     public static DataFieldDescriptor field(int ordinal, String name, Type type) {
-        return new DataFieldDescriptor(ordinal, name, type);
+        return field(ordinal, name, type, false);
+    }
+
+    public static DataFieldDescriptor field(int ordinal, String name, Type type, boolean strict) {
+        return new DataFieldDescriptor(ordinal, name, type, strict);
     }
 
-    private final int    ordinal;
-    private final String name;
-    private final Type   type;
+    private final int     ordinal;
+    private final String  name;
+    private final Type    type;
+    private final boolean strict;
 
     @Override
     public int compareTo(DataFieldDescriptor o) {
@@ -30,23 +62,65 @@ public class DataFieldDescriptor implements Comparable<DataFieldDescriptor> {
             DataFieldDescriptor other = (DataFieldDescriptor) o;
             return Objects.equals(ordinal, other.ordinal)
                 && Objects.equals(name, other.name)
-                && Objects.equals(type, other.type);
+                && Objects.equals(type, other.type)
+                && strict == other.strict;
         } else {
             return false;
         }
     }
 
+    public Class<?> getJavaType() {
+        return type instanceof FunctionType ? Applicable.class : Callable.class;
+    }
+
+    // the type of the Java field holding the value
+    public Class<?> getStorageType() {
+        if (strict && type instanceof SumType) {
+            return unpackedTypes.getOrDefault(((SumType) type).getSymbol().getCanonicalName(), getJavaType());
+        } else {
+            return getJavaType();
+        }
+    }
+
+    // reads the field from the constructor on the stack, boxing an unpacked value
+    public CodeBlock getValue(String className) {
+        return new CodeBlock() {{
+            getfield(className, Symbol.toJavaName(name), ci(getStorageType()));
+            if (isUnpacked()) {
+                invokestatic(p(RuntimeSupport.class), "box", sig(Callable.class, getStorageType()));
+            }
+        }};
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(ordinal, name, type);
+        return Objects.hash(ordinal, name, type, strict);
+    }
+
+    public boolean isUnpacked() {
+        return getStorageType().isPrimitive();
+    }
+
+    // writes the value on the stack into the field of the constructor below it, forcing a strict value first
+    public CodeBlock putValue(String className) {
+        return new CodeBlock() {{
+            if (isUnpacked()) {
+                invokestatic(p(RuntimeSupport.class), unboxMethods.get(getStorageType()), sig(getStorageType(), Callable.class));
+            } else if (strict) {
+                dup();
+                invokeinterface(p(Callable.class), "call", sig(Object.class));
+                pop();
+            }
+            putfield(className, Symbol.toJavaName(name), ci(getStorageType()));
+        }};
     }
 
     @Override
     public String toString() {
-        return name + " :: " + type;
+        return name + " :: " + (strict ? "!" : "") + type;
     }
 
     public DataFieldDescriptor withType(Type type) {
-        return new DataFieldDescriptor(ordinal, name, type);
+        return new DataFieldDescriptor(ordinal, name, type, strict);
     }
 }
@@ -21,14 +21,18 @@ public class DataTypeDescriptor {
     private final Symbol                                 symbol;
     private final List<Type>                             parameters;
     private final Map<Symbol, DataConstructorDescriptor> constructors;
+    private final boolean                                newtype;
+    private final boolean                                tagged;
 
-    private DataTypeDescriptor(Symbol symbol, List<Type> parameters, List<DataConstructorDescriptor> constructors) {
+    private DataTypeDescriptor(Symbol symbol, List<Type> parameters, List<DataConstructorDescriptor> constructors, boolean newtype, boolean tagged) {
         List<DataConstructorDescriptor> sortedConstructors = new ArrayList<>(constructors);
         sort(sortedConstructors);
         this.symbol = symbol;
         this.parameters = new ArrayList<>(parameters);
         this.constructors = new LinkedHashMap<>();
         sortedConstructors.forEach(constructor -> this.constructors.put(constructor.getSymbol(), constructor));
+        this.newtype = newtype;
+        this.tagged = tagged;
     }
 
     @Override
@@ -39,7 +43,9 @@ public class DataTypeDescriptor {
             DataTypeDescriptor other = (DataTypeDescriptor) o;
             return Objects.equals(symbol, other.symbol)
                 && Objects.equals(parameters, other.parameters)
-                && Objects.equals(constructors, other.constructors);
+                && Objects.equals(constructors, other.constructors)
+                && newtype == other.newtype
+                && tagged == other.tagged;
         } else {
             return false;
         }
@@ -49,6 +55,10 @@ public class DataTypeDescriptor {
         return Optional.ofNullable(constructors.get(symbol));
     }
 
+    public List<DataConstructorDescriptor> getConstructors() {
+        return new ArrayList<>(constructors.values());
+    }
+
     public List<Type> getParameters() {
         return parameters;
     }
@@ -59,12 +69,22 @@ public class DataTypeDescriptor {
 
     @Override
     public int hashCode() {
-        return Objects.hash(symbol, parameters, constructors);
+        return Objects.hash(symbol, parameters, constructors, newtype, tagged);
+    }
+
+    // a newtype is erased at runtime to the value of its single field
+    public boolean isNewtype() {
+        return newtype;
+    }
+
+    // whether the data type's class declares a tag() method returning the ordinal of the constructor of a value
+    public boolean isTagged() {
+        return tagged;
     }
 
     @Override
     public String toString() {
-        return symbol.getSimpleName()
+        return (newtype ? "newtype " : "") + symbol.getSimpleName()
             + (parameters.isEmpty() ? "" : " " + parameters.stream().map(Object::toString).collect(joining(", ")))
             + " = " + constructors.values().stream().map(Object::toString).collect(joining(" | "));
     }
@@ -75,12 +95,16 @@ public class DataTypeDescriptor {
         private       Optional<String>                className;
         private       List<Type>                      parameters;
         private       List<DataConstructorDescriptor> constructors;
+        private       boolean                         newtype;
+        private       boolean                         tagged;
 
         private Builder(Symbol symbol) {
             this.symbol = symbol;
             this.className = Optional.empty();
             this.parameters = new ArrayList<>();
             this.constructors = new ArrayList<>();
+            this.newtype = false;
+            this.tagged = false;
         }
 
         public Builder addConstructor(DataConstructorDescriptor constructor) {
@@ -94,7 +118,7 @@ public class DataTypeDescriptor {
         }
 
         public DataTypeDescriptor build() {
-            return new DataTypeDescriptor(symbol, parameters, constructors);
+            return new DataTypeDescriptor(symbol, parameters, constructors, newtype, tagged);
         }
 
         public Builder withClassName(String className) {
@@ -107,6 +131,16 @@ public class DataTypeDescriptor {
             return this;
         }
 
+        public Builder withNewtype(boolean newtype) {
+            this.newtype = newtype;
+            return this;
+        }
+
+        public Builder withTagged(boolean tagged) {
+            this.tagged = tagged;
+            return this;
+        }
+
         public Builder withParameters(List<Type> parameters) {
             parameters.forEach(this::addParameter);
             return this;
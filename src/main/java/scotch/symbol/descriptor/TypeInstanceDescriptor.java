@@ -10,22 +10,25 @@ import lombok.ToString;
 import me.qmx.jitescript.CodeBlock;
 import scotch.symbol.MethodSignature;
 import scotch.symbol.Symbol;
-import scotch.symbol.TypeParameter;
 import scotch.symbol.type.Type;
 
-@EqualsAndHashCode
+@EqualsAndHashCode(exclude = "strict")
 @ToString
 public class TypeInstanceDescriptor {
 
     public static TypeInstanceDescriptor typeInstance(String moduleName, Symbol typeClass, List arguments, MethodSignature instanceGetter) {
-        return new TypeInstanceDescriptor(moduleName, typeClass, parameterize(arguments), instanceGetter);
+        return typeInstance(moduleName, typeClass, arguments, instanceGetter, false);
+    }
+
+    public static TypeInstanceDescriptor typeInstance(String moduleName, Symbol typeClass, List arguments, MethodSignature instanceGetter, boolean strict) {
+        return new TypeInstanceDescriptor(moduleName, typeClass, parameterize(arguments), instanceGetter, strict);
     }
 
     @SuppressWarnings("unchecked")
     private static List<TypeParameterDescriptor> parameterize(List arguments) {
         if (arguments.size() == 0) {
             return ImmutableList.of();
-        } else if (arguments.get(0) instanceof TypeParameter) {
+        } else if (arguments.get(0) instanceof TypeParameterDescriptor) {
             return arguments;
         } else if (arguments.get(0) instanceof Type) {
             return ((List<Type>) arguments).stream()
@@ -40,12 +43,22 @@ public class TypeInstanceDescriptor {
     @Getter private final Symbol                        typeClass;
     @Getter private final List<TypeParameterDescriptor> parameters;
     private final         MethodSignature               instanceGetter;
+    private final         boolean                       strict;
 
-    private TypeInstanceDescriptor(String moduleName, Symbol typeClass, List<TypeParameterDescriptor> parameters, MethodSignature instanceGetter) {
+    private TypeInstanceDescriptor(String moduleName, Symbol typeClass, List<TypeParameterDescriptor> parameters, MethodSignature instanceGetter, boolean strict) {
         this.moduleName = moduleName;
         this.typeClass = typeClass;
         this.parameters = ImmutableList.copyOf(parameters);
         this.instanceGetter = instanceGetter;
+        this.strict = strict;
+    }
+
+    public MethodSignature getInstanceGetter() {
+        return instanceGetter;
+    }
+
+    public boolean isStrict() {
+        return strict;
     }
 
     public CodeBlock reference() {
@@ -0,0 +1,12 @@
+package scotch.symbol.exception;
+
+public class SymbolIndexError extends Error {
+
+    public SymbolIndexError(String message) {
+        super(message);
+    }
+
+    public SymbolIndexError(Throwable cause) {
+        super(cause);
+    }
+}
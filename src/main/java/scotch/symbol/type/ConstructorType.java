@@ -39,6 +39,10 @@ public class ConstructorType extends Type {
         }};
     }
 
+    public Type getHead() {
+        return head;
+    }
+
     @Override
     public Class<?> getJavaType() {
         throw new UnsupportedOperationException(); // TODO
@@ -54,6 +58,10 @@ public class ConstructorType extends Type {
         throw new UnsupportedOperationException(); // TODO
     }
 
+    public Type getTail() {
+        return tail;
+    }
+
     @Override
     public Type qualifyNames(NameQualifier qualifier) {
         throw new UnsupportedOperationException(); // TODO
@@ -1,6 +1,7 @@
 package scotch.compiler;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyEnumeration;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -14,24 +15,42 @@ import static scotch.symbol.type.Types.fn;
 import static scotch.symbol.type.Types.sum;
 import static scotch.symbol.type.Types.var;
 import static scotch.compiler.util.TestUtil.constructor;
-import static scotch.compiler.util.TestUtil.dataType;
 import static scotch.compiler.util.TestUtil.intType;
 import static scotch.compiler.util.TestUtil.typeClass;
 import static scotch.compiler.util.TestUtil.typeInstance;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import com.google.common.io.ByteStreams;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import scotch.symbol.MethodSignature;
 import scotch.symbol.SymbolEntry;
+import scotch.symbol.descriptor.DataTypeDescriptor;
 import scotch.symbol.descriptor.TypeInstanceDescriptor;
 import scotch.symbol.type.Type;
 import scotch.data.num.NumInt;
 
 public class ClassLoaderResolverTest {
 
-    private ClassLoaderResolver resolver;
+    @Rule
+    public final TemporaryFolder     folder = new TemporaryFolder();
+    private      ClassLoaderResolver resolver;
 
     @Before
     public void setUp() {
@@ -85,21 +104,89 @@ public class ClassLoaderResolverTest {
 
     @Test
     public void shouldResolveDataType() {
-        assertThat(resolver.getEntry(symbol("scotch.data.maybe.Maybe")).get().getDataType(), is(Optional.of(dataType(
-            "scotch.data.maybe.Maybe",
-            asList(var("a")),
-            asList(
-                constructor(
-                    0, "scotch.data.maybe.Maybe",
-                    "scotch.data.maybe.Nothing"
-                ),
-                constructor(
-                    1, "scotch.data.maybe.Maybe",
-                    "scotch.data.maybe.Just",
-                    asList(field(0, "value", var("a")))
-                )
-            )
+        assertThat(resolver.getEntry(symbol("scotch.data.maybe.Maybe")).get().getDataType(), is(Optional.of(
+            DataTypeDescriptor.builder(symbol("scotch.data.maybe.Maybe"))
+                .withParameters(asList(var("a")))
+                .withTagged(true)
+                .withConstructors(asList(
+                    constructor(
+                        0, "scotch.data.maybe.Maybe",
+                        "scotch.data.maybe.Nothing"
+                    ),
+                    constructor(
+                        1, "scotch.data.maybe.Maybe",
+                        "scotch.data.maybe.Just",
+                        asList(field(0, "value", var("a")))
+                    )
+                ))
+                .build()
+        )));
+    }
+
+    @Test
+    public void shouldResolveSymbolsFromJar() throws IOException {
+        File jar = folder.newFile("num.jar");
+        try (JarOutputStream jarStream = new JarOutputStream(new FileOutputStream(jar))) {
+            jarStream.putNextEntry(new JarEntry("scotch/data/num/"));
+            jarStream.closeEntry();
+            for (String className : asList("Num", "NumDouble", "NumInt")) {
+                jarStream.putNextEntry(new JarEntry("scotch/data/num/" + className + ".class"));
+                ByteStreams.copy(getClass().getClassLoader().getResourceAsStream("scotch/data/num/" + className + ".class"), jarStream);
+                jarStream.closeEntry();
+            }
+        }
+        ClassLoader parent = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                return name.startsWith("scotch/data/num") ? emptyEnumeration() : super.getResources(name);
+            }
+        };
+        resolver = new ClassLoaderResolver(Optional.empty(), new URL[] { jar.toURI().toURL() }, parent);
+
+        assertThat(resolver.getEntry(symbol("scotch.data.num.(+)")).get().getValue(), is(Optional.of(fn(
+            var("a", asList("scotch.data.num.Num")),
+            fn(var("a", asList("scotch.data.num.Num")), var("a", asList("scotch.data.num.Num")))
         ))));
+        assertThat(resolver.getTypeInstancesByModule("scotch.data.num"), hasSize(2));
+    }
+
+    @Test
+    public void shouldResolveSymbolsConcurrently() throws Exception {
+        List<String> symbols = asList(
+            "scotch.data.num.(+)",
+            "scotch.data.eq.(==)",
+            "scotch.data.ord.(<)",
+            "scotch.data.maybe.Just",
+            "scotch.data.either.Right",
+            "scotch.data.list.(:)",
+            "scotch.control.monad.(>>=)",
+            "scotch.data.function.($)"
+        );
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                String name = symbols.get(i % symbols.size());
+                results.add(executor.submit(() -> resolver.getEntry(symbol(name)).isPresent()
+                    && !resolver.getTypeInstancesByModule("scotch.data.eq").isEmpty()));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(), is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldResolveClassesDefinedAfterModuleWasSearched() {
+        assertThat(resolver.getEntry(symbol("scotch.test.double")).isPresent(), is(false));
+        resolver.defineAll(Compiler.compiler(resolver, URI.create("test://resolver"),
+            "module scotch.test",
+            "import scotch.data.num",
+            "double x = x + x"
+        ).generateBytecode());
+        assertThat(resolver.getEntry(symbol("scotch.test.double")).isPresent(), is(true));
     }
 
     @Test
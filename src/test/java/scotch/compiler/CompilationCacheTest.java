@@ -0,0 +1,77 @@
+package scotch.compiler;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static scotch.compiler.CompilationCache.compilationCache;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import scotch.compiler.error.CompileException;
+import scotch.compiler.output.GeneratedClass;
+import scotch.runtime.Callable;
+
+public class CompilationCacheTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    private      File            directory;
+
+    @Before
+    public void setUp() {
+        directory = new File(folder.getRoot(), "cache");
+    }
+
+    @Test
+    public void shouldReuseCachedClasses_whenSourceIsUnchanged() {
+        List<GeneratedClass> compiled = compile("module scotch.test", "import scotch.data.num", "run = 1 + 2");
+        List<GeneratedClass> cached = compile("module scotch.test", "import scotch.data.num", "run = 1 + 2");
+        assertThat(directory.list().length, is(1));
+        assertThat(cached.size(), is(compiled.size()));
+        for (int i = 0; i < compiled.size(); i++) {
+            assertThat(cached.get(i).getClassName(), is(compiled.get(i).getClassName()));
+            assertThat(Arrays.equals(cached.get(i).getBytes(), compiled.get(i).getBytes()), is(true));
+        }
+    }
+
+    @Test
+    public void shouldResolveSymbolsOfCachedModule_whenCompilingDependentModule() throws ReflectiveOperationException {
+        compile("module scotch.a", "import scotch.data.num", "double x = x + x");
+        ClassLoaderResolver resolver = new ClassLoaderResolver(Optional.empty(), getClass().getClassLoader());
+        resolver.defineAll(compile(resolver, "module scotch.a", "import scotch.data.num", "double x = x + x"));
+        resolver.defineAll(compile(resolver, "module scotch.b", "import scotch.a", "run = double 21"));
+        assertThat(directory.list().length, is(2));
+        assertThat(((Callable<?>) resolver.loadClass("scotch.b.$$Module").getMethod("run").invoke(null)).call(), is(42));
+    }
+
+    @Test
+    public void shouldCompileAgain_whenSourceChanges() {
+        compile("module scotch.test", "import scotch.data.num", "run = 1 + 2");
+        compile("module scotch.test", "import scotch.data.num", "run = 1 + 3");
+        assertThat(directory.list().length, is(2));
+    }
+
+    @Test
+    public void shouldNotCache_whenSourceHasErrors() {
+        try {
+            compile("module scotch.test", "run = (");
+        } catch (CompileException exception) {
+            // expected
+        }
+        assertThat(directory.exists(), is(false));
+    }
+
+    private List<GeneratedClass> compile(String... lines) {
+        return compile(new ClassLoaderResolver(Optional.empty(), getClass().getClassLoader()), lines);
+    }
+
+    private List<GeneratedClass> compile(ClassLoaderResolver resolver, String... lines) {
+        return compilationCache(directory).generateBytecode(resolver, URI.create("test://" + getClass().getSimpleName()), lines);
+    }
+}
@@ -0,0 +1,161 @@
+package scotch.compiler;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static scotch.compiler.ProjectCompiler.projectCompiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import scotch.compiler.error.CompileException;
+import scotch.runtime.Callable;
+
+public class ProjectCompilerTest {
+
+    @Rule
+    public final TemporaryFolder     folder = new TemporaryFolder();
+    private      ClassLoaderResolver resolver;
+
+    @Before
+    public void setUp() {
+        resolver = new ClassLoaderResolver(Optional.empty(), getClass().getClassLoader());
+    }
+
+    @Test
+    public void shouldCompileModulesAfterTheirImports() throws Exception {
+        source("scotch/test/main.scotch",
+            "module scotch.test.main",
+            "import scotch.test.left",
+            "import scotch.test.right",
+            "",
+            "run = addLeft (addRight 1)"
+        );
+        source("scotch/test/left.scotch",
+            "module scotch.test.left",
+            "import scotch.data.num",
+            "import scotch.test.base",
+            "",
+            "addLeft x = x + base"
+        );
+        source("scotch/test/right.scotch",
+            "module scotch.test.right",
+            "import scotch.data.num",
+            "import scotch.test.base",
+            "",
+            "addRight x = x * base"
+        );
+        source("scotch/test/base.scotch",
+            "module scotch.test.base",
+            "",
+            "base = 3"
+        );
+        projectCompiler(resolver, asList(folder.getRoot())).generateBytecode();
+        assertThat(run("scotch.test.main"), is(6));
+    }
+
+    @Test
+    public void shouldApplyCompilerOptionsToEveryModule() throws Exception {
+        source("scotch/test/main.scotch",
+            "module scotch.test.main",
+            "import scotch.data.int",
+            "import scotch.data.list",
+            "import scotch.test.base",
+            "",
+            "run = [base]"
+        );
+        source("scotch/test/base.scotch",
+            "module scotch.test.base",
+            "",
+            "base = 3"
+        );
+        projectCompiler(resolver, asList(folder.getRoot())).withMemoizedConstants(false).generateBytecode();
+        assertThat(run("scotch.test.main"), not(sameInstance(run("scotch.test.main"))));
+    }
+
+    @Test
+    public void shouldCompileDependentsOfCachedModules() throws Exception {
+        source("scotch/test/main.scotch",
+            "module scotch.test.main",
+            "import scotch.data.num",
+            "import scotch.test.base",
+            "",
+            "run = double base"
+        );
+        source("scotch/test/base.scotch",
+            "module scotch.test.base",
+            "import scotch.data.num",
+            "",
+            "base = 3",
+            "double x = x + x"
+        );
+        File cache = folder.newFolder("cache");
+        projectCompiler(resolver, asList(new File(folder.getRoot(), "scotch"))).withCompilationCache(cache).generateBytecode();
+        resolver = new ClassLoaderResolver(Optional.empty(), getClass().getClassLoader());
+        projectCompiler(resolver, asList(new File(folder.getRoot(), "scotch"))).withCompilationCache(cache).generateBytecode();
+        assertThat(cache.list().length, is(2));
+        assertThat(run("scotch.test.main"), is(6));
+    }
+
+    @Test
+    public void shouldReportCyclicImports() throws Exception {
+        source("scotch/test/a.scotch",
+            "module scotch.test.a",
+            "import scotch.test.b",
+            "",
+            "a = b"
+        );
+        source("scotch/test/b.scotch",
+            "module scotch.test.b",
+            "import scotch.test.a",
+            "",
+            "b = a"
+        );
+        try {
+            projectCompiler(resolver, asList(folder.getRoot())).generateBytecode();
+            fail("Expected cyclic imports to fail compilation");
+        } catch (CompileException exception) {
+            assertThat(exception.getMessage(), containsString("Cyclic module imports"));
+        }
+    }
+
+    @Test
+    public void shouldReportErrorsFromIndependentModules() throws Exception {
+        source("scotch/test/a.scotch",
+            "module scotch.test.a",
+            "",
+            "a = undefinedA"
+        );
+        source("scotch/test/b.scotch",
+            "module scotch.test.b",
+            "",
+            "b = undefinedB"
+        );
+        try {
+            projectCompiler(resolver, asList(folder.getRoot())).generateBytecode();
+            fail("Expected undefined symbols to fail compilation");
+        } catch (CompileException exception) {
+            assertThat(exception.getErrors().size(), is(2));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <A> A run(String moduleName) throws Exception {
+        return ((Callable<A>) resolver.loadClass(moduleName + ".$$Module").getMethod("run").invoke(null)).call();
+    }
+
+    private void source(String path, String... lines) throws IOException {
+        File file = new File(folder.getRoot(), path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), asList(lines));
+    }
+}
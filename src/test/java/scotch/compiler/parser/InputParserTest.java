@@ -448,6 +448,33 @@ public class InputParserTest extends IsolatedCompilerTest {
                 asList(fieldDef(0, "_0", var("a")))))));
     }
 
+    @Test
+    public void shouldParseInternedDataDeclaration() {
+        compile(
+            "module scotch.test",
+            "interned data Maybe a = Nothing | Just a"
+        );
+        assertThat(((DataTypeDefinition) graph.getDefinition(dataRef("scotch.test.Maybe")).get()).isInterned(), is(true));
+    }
+
+    @Test
+    public void shouldParseNewtypeDeclaration() {
+        compile(
+            "module scotch.test",
+            "newtype Age = Age { years :: Int }"
+        );
+        assertThat(((DataTypeDefinition) graph.getDefinition(dataRef("scotch.test.Age")).get()).isNewtype(), is(true));
+    }
+
+    @Test
+    public void shouldThrowException_whenNewtypeHasMoreThanOneField() {
+        expectParseException("Newtype must have exactly one constructor with one lazy field");
+        compile(
+            "module scotch.test",
+            "newtype Point = Point { x :: Int, y :: Int }"
+        );
+    }
+
     @Test
     public void shouldParseDataDeclarationWithNamedField() {
         compile(
@@ -139,6 +139,7 @@ public class AccumulateDependenciesTest extends IsolatedCompilerTest {
         shouldNotHaveErrors();
         shouldNotHaveDependencies("scotch.test.(main#a)");
         shouldHaveDependencies("scotch.test.(main#f)", asList("scotch.test.(main#a)"));
+        shouldHaveDependencies("scotch.test.main", asList("scotch.test.(main#f)", "scotch.test.(main#a)"));
     }
 
     private void shouldHaveDependencies(String name, List<String> dependencies) {
@@ -1,15 +1,23 @@
 package scotch.compiler.steps;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static scotch.data.either.Either.left;
 import static scotch.data.maybe.Maybe.just;
 import static scotch.data.tuple.TupleValues.tuple2;
 import static scotch.data.tuple.TupleValues.tuple3;
+import static scotch.symbol.Symbol.symbol;
 
 import java.io.File;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
+import com.google.common.collect.ImmutableSet;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -17,12 +25,12 @@ import org.junit.rules.TestName;
 import scotch.compiler.ClassLoaderResolver;
 import scotch.compiler.Compiler;
 import scotch.compiler.error.CompileException;
-import scotch.compiler.util.TestUtil;
 import scotch.data.either.Either.Left;
 import scotch.data.maybe.Maybe;
 import scotch.data.tuple.Tuple2;
 import scotch.data.tuple.Tuple3;
 import scotch.runtime.Callable;
+import scotch.runtime.Structure;
 
 public class BytecodeGeneratorTest {
 
@@ -71,6 +79,67 @@ public class BytecodeGeneratorTest {
         assertThat(result, is(4.4));
     }
 
+    @Test
+    public void shouldCompileDoubleArithmetic() {
+        double result = exec(
+            "module scotch.test",
+            "import scotch.data.num",
+            "run = 2.5 * 2.0 - 1.0"
+        );
+        assertThat(result, is(4.0));
+    }
+
+    @Test
+    public void shouldCompileIntComparisonInConditional() {
+        String result = exec(
+            "module scotch.test",
+            "import scotch.data.eq",
+            "import scotch.data.ord",
+            "run = if 3 <= 4 then \"Waffles\" else \"Bananas\""
+        );
+        assertThat(result, is("Waffles"));
+    }
+
+    @Test
+    public void shouldCompileDoubleComparisons() {
+        int result = exec(
+            "module scotch.test",
+            "import scotch.data.bool",
+            "import scotch.data.eq",
+            "import scotch.data.num",
+            "import scotch.data.ord",
+            "",
+            "clamp x = if x < 1.0 then 1 else if x >= 2.5 then 3 else 2",
+            "run = clamp 0.5 + clamp 1.5 * 10 + clamp 2.5 * 100 + (if 2.0 == 2.0 && 1.5 /= 2.0 then 1000 else 0)"
+        );
+        assertThat(result, is(1321));
+    }
+
+    @Test
+    public void shouldCompileBoolEquality() {
+        boolean result = exec(
+            "module scotch.test",
+            "import scotch.data.eq",
+            "run = True == False"
+        );
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void shouldCompileSaturatedAndPartialCallsToSameFunction() {
+        int result = exec(
+            "module scotch.test",
+            "import scotch.data.num",
+            "",
+            "add3 a b c = a + b + c",
+            "twice f x = f (f x)",
+            "square :: (Num a) => a -> a",
+            "square x = x * x",
+            "run = twice (add3 1 2) (square (add3 1 1 2))"
+        );
+        assertThat(result, is(22));
+    }
+
     @Test(expected = CompileException.class)
     public void shouldFailCompilation_whenThereAreErrors() {
         exec(
@@ -93,6 +162,17 @@ public class BytecodeGeneratorTest {
         assertThat(result, is(6));
     }
 
+    @Test
+    public void shouldCaptureOnlyVariablesUsedByLambda() {
+        int result = exec(
+            "module scotch.test",
+            "import scotch.data.num",
+            "fn a b c = \\x -> (\\y -> c + y) x * a",
+            "run = fn 2 10 3 4"
+        );
+        assertThat(result, is(14));
+    }
+
     @Test
     public void shouldPassAnonymousFunctionAsArgument() {
         int result = exec(
@@ -117,6 +197,36 @@ public class BytecodeGeneratorTest {
         assertThat(result, is(8));
     }
 
+    @Test
+    public void shouldApplyLetBoundPatternFunctionToArgument() {
+        int result = exec(
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "k t = let",
+            "    inner 1 = 5",
+            "    inner x = x * 2",
+            "  inner t",
+            "run = k 4 + k 1"
+        );
+        assertThat(result, is(13));
+    }
+
+    @Test(expected = CompileException.class)
+    public void shouldFailCompilation_whenLetBoundFunctionReadsEnclosingArgument() {
+        exec(
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "k t = let",
+            "    inner x = x * t",
+            "  inner t + inner 1",
+            "run = k 4 + k 1"
+        );
+    }
+
     @Test
     public void shouldCompileConditional() {
         String result = exec(
@@ -351,6 +461,31 @@ public class BytecodeGeneratorTest {
         assertThat(result, is("5"));
     }
 
+    @Test
+    public void shouldCompareAndHashDeepValuesIteratively() throws ReflectiveOperationException {
+        Class<?> module = loadModule(true,
+            "module scotch.test",
+            "import scotch.data.eq",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "data Chain = Link { value :: Int, next :: Chain } | End",
+            "",
+            "build n acc = if n == 0 then acc else build (n - 1) (Link n acc)",
+            "left = build 100000 End",
+            "right = build 100000 End",
+            "shorter = build 99999 End"
+        );
+        Object left = ((Callable) module.getMethod("left").invoke(null)).call();
+        Object right = ((Callable) module.getMethod("right").invoke(null)).call();
+        Object shorter = ((Callable) module.getMethod("shorter").invoke(null)).call();
+        assertThat(left, not(sameInstance(right)));
+        assertThat(left.equals(right), is(true));
+        assertThat(left.equals(shorter), is(false));
+        assertThat(left.hashCode(), is(right.hashCode()));
+        assertThat(((Structure) left).cachedHash(), is(left.hashCode()));
+    }
+
     @Test
     public void shouldCreatePickleWithEnumConstants() {
         Object pickle = exec(
@@ -414,6 +549,137 @@ public class BytecodeGeneratorTest {
         assertThat(value, is(3));
     }
 
+    @Test
+    public void shouldMatchOnDataConstructors() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "data Shape = Circle Int | Rectangle { width :: Int, height :: Int } | Dot",
+            "area (Circle r) = 3 * r * r",
+            "area (Rectangle w h) = w * h",
+            "area Dot = 0",
+            "run = area (Rectangle 2 5) + area (Circle 1) + area Dot"
+        );
+        assertThat(value, is(13));
+    }
+
+    @Test
+    public void shouldFallThroughToNextCase_whenNestedConstructorPatternFails() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.maybe",
+            "import scotch.data.num",
+            "",
+            "data Pair p = Pair p p",
+            "firstJust (Pair (Just x) _) = x",
+            "firstJust (Pair Nothing (Just y)) = y",
+            "firstJust _ = 0",
+            "run = firstJust (Pair Nothing (Just 2)) + firstJust (Pair (Just 3) Nothing) + firstJust (Pair Nothing Nothing)"
+        );
+        assertThat(value, is(5));
+    }
+
+    @Test
+    public void shouldMatchConstructorsOfJavaDataType() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.either",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "unwrap (Left x) = x",
+            "unwrap (Right y) = y + 1",
+            "run = unwrap (Left 1) + unwrap (Right 2)"
+        );
+        assertThat(value, is(4));
+    }
+
+    @Test
+    public void shouldMatchConstructorsOfJavaDataTypeWithoutTag() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "import scotch.data.ord",
+            "",
+            "rank LessThan = 1",
+            "rank EqualTo = 2",
+            "rank GreaterThan = 3",
+            "run = rank (compare 1 2) + rank (compare 2 2) * 10 + rank (compare 3 2) * 100"
+        );
+        assertThat(value, is(321));
+    }
+
+    @Test
+    public void shouldMatchListConstructors() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.list",
+            "import scotch.data.num",
+            "",
+            "pairs [] = 0",
+            "pairs (x:[]) = x",
+            "pairs (x:(y:rest)) = x * y + pairs rest",
+            "run = pairs [1, 2, 3, 4, 5] * 100 + pairs []"
+        );
+        assertThat(value, is(1900));
+    }
+
+    @Test
+    public void shouldDispatchOnLiterals_whenLaterColumnFails() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "route 1 0 = 10",
+            "route 1 n = 11",
+            "route 2 0 = 20",
+            "route 3 n = 30 + n",
+            "route 2 n = 21",
+            "route m n = 99",
+            "run = route 1 0 + route 1 5 + route 2 0 + route 3 4 + route 2 9 + route 8 8"
+        );
+        assertThat(value, is(195));
+    }
+
+    @Test
+    public void shouldTestCasesInOrder_whenNoColumnCanBeSwitchedOn() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "import scotch.data.string",
+            "",
+            "route \"a\" 1 = 1",
+            "route \"b\" n = 20 + n",
+            "route \"a\" n = 300",
+            "route s n = 4000",
+            "run = route \"a\" 1 + route \"b\" 2 + route \"a\" 2 + route \"c\" 1"
+        );
+        assertThat(value, is(4323));
+    }
+
+    @Test
+    public void shouldMatchLiteralNestedInConstructor() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.maybe",
+            "import scotch.data.num",
+            "",
+            "pick (Just 0) = 1",
+            "pick (Just x) = x",
+            "pick Nothing = 7",
+            "run = pick (Just 0) + pick (Just 5) + pick Nothing"
+        );
+        assertThat(value, is(13));
+    }
+
     @Test
     public void shouldNegateNumber() {
         int value = exec(
@@ -425,17 +691,314 @@ public class BytecodeGeneratorTest {
         assertThat(value, is(-4));
     }
 
+    @Test
+    public void shouldLoopOnSelfTailCallThroughPatternCase() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.eq",
+            "import scotch.data.num",
+            "",
+            "sum 0 acc = acc",
+            "sum n acc = sum (n - 1) (acc + 1)",
+            "run = sum 1000000 0"
+        );
+        assertThat(value, is(1000000));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldNotForceArgument_whenOnlyTestedByFirstCase() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.eq",
+            "import scotch.data.num",
+            "",
+            "f 0 1 = 1",
+            "f n m = n",
+            "loop x = loop x",
+            "run = f 5 (loop 1)"
+        );
+        assertThat(value, is(5));
+    }
+
+    @Test
+    public void shouldLoopOnSelfTailCallThroughConditional() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.eq",
+            "import scotch.data.num",
+            "",
+            "count n acc = if n == 0 then acc else count (n - 1) (acc + 2)",
+            "run = count 1000000 0"
+        );
+        assertThat(value, is(2000000));
+    }
+
+    @Test
+    public void shouldLoopOnSelfTailCall_whenAccumulatorIsNotLastArgument() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.eq",
+            "import scotch.data.num",
+            "",
+            "count acc n = if n == 0 then acc else count (acc + 2) (n - 1)",
+            "run = count 0 1000000"
+        );
+        assertThat(value, is(2000000));
+    }
+
+    @Test
+    public void shouldEvaluateLazyArithmeticChainDeeperThanStackSegmentsAllow() {
+        int value = exec(
+            "module scotch.test",
+            "import scotch.data.eq",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "data Box = Box Int",
+            "",
+            "build n acc = if n == 0 then Box acc else build (n - 1) (acc + 2)",
+            "unbox (Box x) = x",
+            "run = unbox (build 1000000 0)"
+        );
+        assertThat(value, is(2000000));
+    }
+
+    @Test
+    public void shouldEvaluateConstantOnce() throws ReflectiveOperationException {
+        Method run = loadModule(true,
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.list",
+            "",
+            "run = [1, 2, 3]"
+        ).getMethod("run");
+        Object value = ((Callable) run.invoke(null)).call();
+        assertThat(((Callable) run.invoke(null)).call(), sameInstance(value));
+    }
+
+    @Test
+    public void shouldReevaluateConstant_whenMemoizationIsDisabled() throws ReflectiveOperationException {
+        Method run = loadModule(false,
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.list",
+            "",
+            "run = [1, 2, 3]"
+        ).getMethod("run");
+        Object value = ((Callable) run.invoke(null)).call();
+        assertThat(((Callable) run.invoke(null)).call(), not(sameInstance(value)));
+    }
+
+    @Test
+    public void shouldReevaluateOnlyUnmemoizedConstants() throws ReflectiveOperationException {
+        Class<?> module = loadModule(compiler -> compiler.withUnmemoizedConstants(ImmutableSet.of(symbol("scotch.test.run"))),
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.list",
+            "",
+            "run = [1, 2, 3]",
+            "kept = [4, 5, 6]"
+        );
+        Method run = module.getMethod("run");
+        Method kept = module.getMethod("kept");
+        Object value = ((Callable) run.invoke(null)).call();
+        assertThat(((Callable) run.invoke(null)).call(), not(sameInstance(value)));
+        Object keptValue = ((Callable) kept.invoke(null)).call();
+        assertThat(((Callable) kept.invoke(null)).call(), sameInstance(keptValue));
+    }
+
+    @Test
+    public void shouldSpecializePolymorphicFunctionAtKnownInstance() throws ReflectiveOperationException {
+        Class<?> module = loadModule(true,
+            "module scotch.test",
+            "import scotch.data.num",
+            "",
+            "square x = x * x",
+            "sumSquares a b = square a + square b",
+            "run = sumSquares 3 4"
+        );
+        assertThat(((Callable) module.getMethod("run").invoke(null)).call(), is(25));
+        assertThat(module.getMethod("sumSquares$specialized$0", Callable.class, Callable.class), notNullValue());
+        assertThat(module.getMethod("square$specialized$1", Callable.class), notNullValue());
+    }
+
+    @Test
+    public void shouldLoadInstanceFromStaticFinalField() throws ReflectiveOperationException {
+        Class<?> module = loadModule(true,
+            "module scotch.test",
+            "import scotch.data.num",
+            "",
+            "twice f x = f (f x)",
+            "square x = x * x",
+            "run = twice square 3.0"
+        );
+        assertThat(((Callable) module.getMethod("run").invoke(null)).call(), is(81.0));
+        int modifiers = module.getDeclaredField("instance$0").getModifiers();
+        assertThat(Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers), is(true));
+    }
+
+    @Test
+    public void shouldApplyFunctionsThroughInlineCaches() throws ReflectiveOperationException {
+        Class<?> module = loadModule(compiler -> compiler.withInlineCaches(true),
+            "module scotch.test",
+            "import scotch.data.num",
+            "",
+            "twice f x = f (f x)",
+            "run = twice (\\x -> x + 1) 1",
+            "    + twice (\\x -> x * 2) 1",
+            "    + twice (\\x -> x - 1) 10",
+            "    + twice (\\x -> x + 3) 0",
+            "    + twice (\\x -> x * 3) 1",
+            "    + twice (\\x -> x + 5) 0"
+        );
+        assertThat(((Callable) module.getMethod("run").invoke(null)).call(), is(40));
+    }
+
+    @Test
+    public void shouldShareHoistedLiteralBetweenUses() throws ReflectiveOperationException {
+        Class<?> module = loadModule(false,
+            "module scotch.test",
+            "",
+            "first = \"scotch\"",
+            "second = \"scotch\"",
+            "run = second"
+        );
+        assertThat(((Callable) module.getMethod("first").invoke(null)).call(), is("scotch"));
+        assertThat(module.getMethod("first").invoke(null), sameInstance(module.getMethod("run").invoke(null)));
+    }
+
+    @Test
+    public void shouldEraseNewtypes() throws ReflectiveOperationException {
+        Class<?> module = loadModule(true,
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "newtype Age = Age { years :: Int }",
+            "newtype Wrapper = Wrapper Age",
+            "data Person = Person { name :: Int, age :: Age }",
+            "",
+            "older (Age n) = Age (n + 1)",
+            "unwrap (Wrapper (Age n)) = n",
+            "yearsOf (Person _ (Age n)) = n",
+            "birth = Age 30",
+            "later = birth { years = 40 }",
+            "run = unwrap (Wrapper (older birth)) + yearsOf (Person 1 later)"
+        );
+        assertThat(((Callable) module.getMethod("run").invoke(null)).call(), is(71));
+        assertThat(((Callable) module.getMethod("birth").invoke(null)).call(), is(30));
+    }
+
+    @Test
+    public void shouldShareInternedDataValues() throws ReflectiveOperationException {
+        Class<?> module = loadModule(true,
+            "module scotch.test",
+            "import scotch.data.int",
+            "",
+            "interned data Term = Leaf { value :: Int } | Node { left :: Term, right :: Term }",
+            "data Box = Box { contents :: Int }",
+            "",
+            "one = Node (Leaf 1) (Leaf 2)",
+            "two = Node (Leaf 1) (Leaf 2)",
+            "moved = one { left = Leaf 1 }",
+            "box = Box 1",
+            "otherBox = Box 1"
+        );
+        Object one = ((Callable) module.getMethod("one").invoke(null)).call();
+        assertThat(((Callable) module.getMethod("two").invoke(null)).call(), sameInstance(one));
+        assertThat(((Callable) module.getMethod("moved").invoke(null)).call(), sameInstance(one));
+        Object box = ((Callable) module.getMethod("box").invoke(null)).call();
+        Object otherBox = ((Callable) module.getMethod("otherBox").invoke(null)).call();
+        assertThat(otherBox, not(sameInstance(box)));
+        assertThat(otherBox, is(box));
+    }
+
+    @Test
+    public void shouldStoreStrictPrimitiveFieldsUnpacked() throws ReflectiveOperationException {
+        Class<?> module = loadModule(true,
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "data Point { x :: !Int, y :: !Int, scale :: Int }",
+            "data Pair = Pair Int !Int",
+            "",
+            "origin = Point { x = 3, y = 4, scale = 1 }",
+            "moved = origin { y = 40 }",
+            "sumPoint (Point a b _) = a + b",
+            "secondOf (Pair _ b) = b",
+            "run = sumPoint origin + sumPoint moved + secondOf (Pair 5 6)"
+        );
+        assertThat(((Callable) module.getMethod("run").invoke(null)).call(), is(56));
+        Class<?> point = module.getClassLoader().loadClass("scotch.test.Point$Point");
+        assertThat(point.getField("x").getType().getName(), is("int"));
+        assertThat(point.getField("scale").getType().getName(), is(Callable.class.getName()));
+        assertThat(module.getClassLoader().loadClass("scotch.test.Pair$Pair").getField("_1").getType().getName(), is("int"));
+    }
+
+    @Test
+    public void shouldUpdateRecordFieldsPositionally() {
+        int result = exec(
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "data Shape = Circle { size :: Int } | Rect { size :: Int, height :: Int }",
+            "",
+            "rect = Rect { size = 2, height = 3 }",
+            "circle = Circle { size = 4 }",
+            "area (Circle s) = s * 100",
+            "area (Rect w h) = w * h",
+            "wide = rect { size = 10 }",
+            "tall = wide { height = 5 }",
+            "grown = circle { size = 7 }",
+            "unchanged = circle { height = 9 }",
+            "run = area tall + area grown + area unchanged"
+        );
+        assertThat(result, is(1150));
+    }
+
+    @Test
+    public void shouldUpdateRecordFieldsOfFunctionArgument() {
+        int result = exec(
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "data Shape = Circle { tag :: Int, size :: Int } | Rect { tag :: Int, size :: Int, height :: Int }",
+            "",
+            "tagOf (Circle t _) = t",
+            "tagOf (Rect t _ _) = t",
+            "sizeOf (Circle _ s) = s",
+            "sizeOf (Rect _ s _) = s",
+            "bump :: Shape -> Shape",
+            "bump s = s { tag = tagOf s + 1 }",
+            "grow s = s { size = 10 }",
+            "run = tagOf (bump (Circle 1 2)) + tagOf (bump (Rect 3 4 5)) + sizeOf (grow (Rect 6 7 8))"
+        );
+        assertThat(result, is(16));
+    }
+
     @SuppressWarnings("unchecked")
     private <A> A exec(String... lines) {
         try {
-            ClassLoaderResolver resolver = new ClassLoaderResolver(
-                Optional.of(new File("build/generated-test-classes/" + testName.getMethodName())),
-                Compiler.class.getClassLoader()
-            );
-            resolver.defineAll(TestUtil.generateBytecode(testName.getMethodName(), resolver, lines));
-            return ((Callable<A>) resolver.loadClass("scotch.test.$$Module").getMethod("run").invoke(null)).call();
+            return ((Callable<A>) loadModule(true, lines).getMethod("run").invoke(null)).call();
         } catch (ReflectiveOperationException exception) {
             throw new RuntimeException(exception);
         }
     }
+
+    private Class<?> loadModule(boolean memoizeConstants, String... lines) throws ClassNotFoundException {
+        return loadModule(compiler -> compiler.withMemoizedConstants(memoizeConstants), lines);
+    }
+
+    private Class<?> loadModule(UnaryOperator<Compiler> options, String... lines) throws ClassNotFoundException {
+        ClassLoaderResolver resolver = new ClassLoaderResolver(
+            Optional.of(new File("build/generated-test-classes/" + testName.getMethodName())),
+            Compiler.class.getClassLoader()
+        );
+        resolver.defineAll(options.apply(Compiler.compiler(resolver, URI.create("test://" + testName.getMethodName()), lines))
+            .generateBytecode());
+        return resolver.loadClass("scotch.test.$$Module");
+    }
 }
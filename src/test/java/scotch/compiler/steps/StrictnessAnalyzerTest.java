@@ -0,0 +1,138 @@
+package scotch.compiler.steps;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Optional;
+import java.util.function.Function;
+import org.junit.Test;
+import scotch.compiler.ClassLoaderResolver;
+import scotch.compiler.Compiler;
+import scotch.compiler.CompilerTest;
+import scotch.compiler.syntax.definition.DefinitionGraph;
+import scotch.compiler.syntax.value.Apply;
+import scotch.compiler.syntax.value.PatternMatcher;
+
+public class StrictnessAnalyzerTest extends CompilerTest<ClassLoaderResolver> {
+
+    @Test
+    public void shouldEvaluateArgumentEagerly_whenFunctionForcesIt() {
+        compile(
+            "module scotch.test",
+            "import scotch.data.int",
+            "import scotch.data.num",
+            "",
+            "double :: Int -> Int",
+            "double x = x + x",
+            "run = double (1 + 2)"
+        );
+        shouldNotHaveErrors();
+        Apply body = (Apply) getValueDefinition("scotch.test.run").getBody();
+        assertThat(body.isStrict(), is(false));
+        assertThat(((Apply) body.getArgument()).isStrict(), is(true));
+    }
+
+    @Test
+    public void shouldNotEvaluateArgumentEagerly_whenFunctionIgnoresIt() {
+        compile(
+            "module scotch.test",
+            "import scotch.data.num",
+            "",
+            "const x y = x",
+            "run = const 1 (2 + 3)"
+        );
+        shouldNotHaveErrors();
+        Apply body = (Apply) getValueDefinition("scotch.test.run").getBody();
+        assertThat(((Apply) body.getArgument()).isStrict(), is(false));
+        assertThat(((Apply) body.getFunction()).isStrict(), is(true));
+    }
+
+    @Test
+    public void shouldEvaluateArgumentEagerly_whenScrutinizedByPattern() {
+        compile(
+            "module scotch.test",
+            "import scotch.data.eq",
+            "import scotch.data.num",
+            "",
+            "isZero 0 = True",
+            "isZero n = False",
+            "run = isZero (1 - 1)"
+        );
+        shouldNotHaveErrors();
+        Apply body = (Apply) getValueDefinition("scotch.test.run").getBody();
+        assertThat(((Apply) body.getArgument()).isStrict(), is(true));
+    }
+
+    @Test
+    public void shouldEvaluateAccumulatorEagerly_whenEveryBranchForcesIt() {
+        compile(
+            "module scotch.test",
+            "import scotch.data.eq",
+            "import scotch.data.num",
+            "",
+            "sum 0 acc = acc",
+            "sum n acc = sum (n - 1) (acc + n)"
+        );
+        shouldNotHaveErrors();
+        PatternMatcher body = (PatternMatcher) getValueDefinition("scotch.test.sum").getBody();
+        Apply recursion = (Apply) body.getPatternCases().get(1).getBody();
+        assertThat(((Apply) recursion.getArgument()).isStrict(), is(true));
+    }
+
+    @Test
+    public void shouldEvaluateAccumulatorEagerly_whenNotLastArgument() {
+        compile(
+            "module scotch.test",
+            "import scotch.data.eq",
+            "import scotch.data.num",
+            "",
+            "sum acc 0 = acc",
+            "sum acc n = sum (acc + n) (n - 1)"
+        );
+        shouldNotHaveErrors();
+        PatternMatcher body = (PatternMatcher) getValueDefinition("scotch.test.sum").getBody();
+        Apply recursion = (Apply) body.getPatternCases().get(1).getBody();
+        assertThat(((Apply) ((Apply) recursion.getFunction()).getArgument()).isStrict(), is(true));
+        assertThat(((Apply) recursion.getArgument()).isStrict(), is(true));
+    }
+
+    @Test
+    public void shouldNotEvaluateArgumentEagerly_whenOnlyFirstCaseTestsIt() {
+        compile(
+            "module scotch.test",
+            "import scotch.data.eq",
+            "import scotch.data.num",
+            "",
+            "f 0 1 = 1",
+            "f n m = n",
+            "run = f 5 (2 + 3)"
+        );
+        shouldNotHaveErrors();
+        Apply body = (Apply) getValueDefinition("scotch.test.run").getBody();
+        assertThat(((Apply) body.getArgument()).isStrict(), is(false));
+    }
+
+    @Test
+    public void shouldNotEvaluateArgumentEagerly_whenApplicationIsPartial() {
+        compile(
+            "module scotch.test",
+            "import scotch.data.num",
+            "",
+            "add x y = x + y",
+            "run = add (1 + 2)"
+        );
+        shouldNotHaveErrors();
+        Apply body = (Apply) getValueDefinition("scotch.test.run").getBody();
+        assertThat(((Apply) body.getArgument()).isStrict(), is(false));
+    }
+
+    @Override
+    protected Function<Compiler, DefinitionGraph> compile() {
+        return Compiler::analyzeStrictness;
+    }
+
+    @Override
+    protected ClassLoaderResolver initResolver() {
+        return new ClassLoaderResolver(Optional.empty(), getClass().getClassLoader());
+    }
+}
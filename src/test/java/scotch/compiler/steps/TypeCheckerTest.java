@@ -3,6 +3,7 @@ package scotch.compiler.steps;
 import static java.util.Arrays.asList;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
+import static scotch.compiler.error.ParseError.parseError;
 import static scotch.compiler.syntax.StubResolver.defaultBind;
 import static scotch.compiler.syntax.StubResolver.defaultDollarSign;
 import static scotch.compiler.syntax.StubResolver.defaultEither;
@@ -21,6 +22,7 @@ import static scotch.compiler.syntax.StubResolver.defaultPlus;
 import static scotch.compiler.syntax.StubResolver.defaultRight;
 import static scotch.compiler.syntax.StubResolver.defaultString;
 import static scotch.compiler.syntax.TypeError.typeError;
+import static scotch.compiler.syntax.value.CapturedArgumentError.capturedArgument;
 import static scotch.compiler.syntax.value.Values.apply;
 import static scotch.compiler.text.SourceLocation.source;
 import static scotch.compiler.text.SourcePoint.point;
@@ -36,6 +38,7 @@ import static scotch.compiler.util.TestUtil.matcher;
 import static scotch.compiler.util.TestUtil.method;
 import static scotch.compiler.util.TestUtil.pattern;
 import static scotch.compiler.util.TestUtil.scopeRef;
+import static scotch.symbol.Symbol.unqualified;
 import static scotch.symbol.descriptor.TypeParameterDescriptor.typeParam;
 import static scotch.symbol.type.Types.fn;
 import static scotch.symbol.type.Types.instance;
@@ -489,11 +492,12 @@ public class TypeCheckerTest extends IsolatedCompilerTest {
             "    a g = g + g",
             "  f 2"
         );
-        Type num = t(17, asList("scotch.data.num.Num"));
+        Type fNum = t(13, asList("scotch.data.num.Num"));
+        Type aNum = t(17, asList("scotch.data.num.Num"));
         shouldNotHaveErrors();
-        shouldHaveValue("scotch.test.main", t(10));
-        shouldHaveValue("scotch.test.(main#f)", fn(intType(), intType()));
-        shouldHaveValue("scotch.test.(main#a)", fn(num, num));
+        shouldHaveValue("scotch.test.main", intType());
+        shouldHaveValue("scotch.test.(main#f)", fn(fNum, fNum));
+        shouldHaveValue("scotch.test.(main#a)", fn(aNum, aNum));
     }
 
     @Test
@@ -547,6 +551,34 @@ public class TypeCheckerTest extends IsolatedCompilerTest {
         shouldHaveValue("scotch.test.run", sum("scotch.data.either.Either", stringType, t(3)));
     }
 
+    @Test
+    public void shouldReportConstructorPatternWithoutDeclaredFields() {
+        compile(
+            "module scotch.test",
+            "import scotch.data.either",
+            "fromLeft (Left x) = x"
+        );
+        shouldHaveErrors(parseError(
+            "Constructor 'scotch.data.either.Left' does not declare the fields matched by the pattern",
+            source("test://shouldReportConstructorPatternWithoutDeclaredFields", point(55, 3, 11), point(59, 3, 15))
+        ));
+    }
+
+    @Test
+    public void shouldReportLetBoundDefinitionReadingEnclosingArgument() {
+        compile(
+            "module scotch.test",
+            "import scotch.data.int",
+            "k t = let",
+            "    inner x = t",
+            "  inner 0"
+        );
+        shouldHaveErrors(capturedArgument(
+            unqualified("t"),
+            source("test://shouldReportLetBoundDefinitionReadingEnclosingArgument", point(66, 4, 15), point(67, 4, 16))
+        ));
+    }
+
     @Test
     public void bindShouldGiveEitherOfStringAndSomething() {
         compile(
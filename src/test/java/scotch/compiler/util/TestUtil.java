@@ -3,17 +3,13 @@ package scotch.compiler.util;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
-import static scotch.compiler.Compiler.compiler;
 import static scotch.compiler.syntax.reference.DefinitionReference.moduleRef;
 import static scotch.compiler.text.SourceLocation.NULL_SOURCE;
 import static scotch.symbol.Symbol.symbol;
 import static scotch.symbol.type.Types.sum;
 
-import java.net.URI;
 import java.util.List;
 import java.util.Optional;
-import scotch.compiler.ClassLoaderResolver;
-import scotch.compiler.output.GeneratedClass;
 import scotch.compiler.scanner.Scanner;
 import scotch.compiler.scanner.Token;
 import scotch.compiler.scanner.Token.TokenKind;
@@ -190,10 +186,6 @@ public class TestUtil {
         return Values.fn(NULL_SOURCE, symbol(name), arguments, body);
     }
 
-    public static List<GeneratedClass> generateBytecode(String methodName, ClassLoaderResolver resolver, String... lines) {
-        return compiler(resolver, URI.create("test://" + methodName), lines).generateBytecode();
-    }
-
     public static Identifier id(String name, Type type) {
         return Values.id(NULL_SOURCE, symbol(name), type);
     }
@@ -0,0 +1,183 @@
+package scotch.runtime;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static scotch.runtime.IntThunk.intThunk;
+import static scotch.runtime.IntThunk.intValue;
+import static scotch.runtime.RuntimeSupport.callable;
+import static scotch.runtime.RuntimeSupport.unboxInt;
+
+import java.lang.Thread.State;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import scotch.data.num.NumInt;
+
+public class ThunkTest {
+
+    @Test
+    public void shouldEvaluateDeepChainOfDependentThunks() {
+        Callable<Integer> chain = callable(() -> 0);
+        for (int i = 0; i < 100000; i++) {
+            Callable<Integer> previous = chain;
+            chain = callable(() -> previous.call() + 1);
+        }
+        assertThat(chain.call(), is(100000));
+    }
+
+    @Test
+    public void shouldEvaluateDeepChainOfPrimitiveArithmetic() {
+        NumInt num = (NumInt) NumInt.instance().call();
+        Callable<Integer> chain = intValue(0);
+        for (int i = 0; i < 200000; i++) {
+            chain = num.add(chain, intValue(1));
+        }
+        assertThat(unboxInt(chain), is(200000));
+    }
+
+    @Test
+    public void shouldEvaluateChainOfPrimitiveArithmeticDeeperThanSegmentsAllow() {
+        NumInt num = (NumInt) NumInt.instance().call();
+        Callable<Integer> chain = intValue(0);
+        for (int i = 0; i < 1000000; i++) {
+            chain = num.add(chain, intValue(1));
+        }
+        assertThat(unboxInt(chain), is(1000000));
+    }
+
+    @Test
+    public void shouldEvaluateChainOfPrimitiveArithmeticAgain_whenOperandFails() {
+        NumInt num = (NumInt) NumInt.instance().call();
+        AtomicInteger attempts = new AtomicInteger();
+        Callable<Integer> chain = intThunk(() -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new IllegalStateException("first attempt");
+            } else {
+                return 0;
+            }
+        });
+        for (int i = 0; i < 1000; i++) {
+            chain = num.add(chain, intValue(1));
+        }
+        try {
+            unboxInt(chain);
+            fail("Expected the operand to fail");
+        } catch (IllegalStateException exception) {
+            assertThat(exception.getMessage(), is("first attempt"));
+        }
+        assertThat(unboxInt(chain), is(1000));
+    }
+
+    @Test(expected = StackOverflowError.class)
+    public void shouldThrowStackOverflowError_whenChainNeedsMoreSegmentMemoryThanAllowed() {
+        Callable<Integer> chain = callable(() -> 0);
+        for (int i = 0; i < 500000; i++) {
+            Callable<Integer> previous = chain;
+            chain = callable(() -> previous.call() + 1);
+        }
+        chain.call();
+    }
+
+    @Test
+    public void shouldEvaluateDeepChainOfIndirections() {
+        Callable<String> chain = callable(() -> "done");
+        for (int i = 0; i < 1000000; i++) {
+            chain = indirection(chain);
+        }
+        assertThat(chain.call(), is("done"));
+    }
+
+    @Test(expected = LoopException.class)
+    public void shouldThrowLoopException_whenThunkDependsOnItself() {
+        AtomicReference<Callable<Integer>> self = new AtomicReference<>();
+        self.set(callable(() -> self.get().call() + 1));
+        self.get().call();
+    }
+
+    @Test(expected = LoopException.class)
+    public void shouldThrowLoopException_whenCycleSpansStackSegments() {
+        AtomicReference<Callable<Integer>> first = new AtomicReference<>();
+        Callable<Integer> chain = callable(() -> first.get().call());
+        for (int i = 0; i < 2000; i++) {
+            Callable<Integer> previous = chain;
+            chain = callable(() -> previous.call() + 1);
+        }
+        first.set(chain);
+        chain.call();
+    }
+
+    @Test(expected = LoopException.class, timeout = 10000)
+    public void shouldThrowLoopException_whenPrimitiveThunkDependsOnItself() {
+        AtomicReference<IntThunk> self = new AtomicReference<>();
+        self.set(intThunk(() -> self.get().callInt() + 1));
+        self.get().callInt();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldEvaluatePrimitiveThunkOnce_whenForcedConcurrently() throws InterruptedException {
+        AtomicInteger evaluations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        IntThunk thunk = intThunk(() -> {
+            evaluations.incrementAndGet();
+            started.countDown();
+            awaitUninterruptibly(finished);
+            return 42;
+        });
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        Thread owner = new Thread(() -> first.set(thunk.callInt()));
+        owner.start();
+        started.await();
+        Thread waiter = new Thread(() -> second.set(thunk.callInt()));
+        waiter.start();
+        while (waiter.getState() != State.WAITING) {
+            Thread.sleep(1);
+        }
+        finished.countDown();
+        owner.join();
+        waiter.join();
+        assertThat(evaluations.get(), is(1));
+        assertThat(first.get(), is(42));
+        assertThat(second.get(), is(42));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldParkWaitingThreadUntilValueIsPublished() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        Callable<Integer> thunk = callable(() -> {
+            started.countDown();
+            awaitUninterruptibly(finished);
+            return 42;
+        });
+        Thread owner = new Thread(thunk::call);
+        owner.start();
+        started.await();
+        AtomicReference<Integer> result = new AtomicReference<>();
+        Thread waiter = new Thread(() -> result.set(thunk.call()));
+        waiter.start();
+        while (waiter.getState() != State.WAITING) {
+            Thread.sleep(1);
+        }
+        finished.countDown();
+        waiter.join();
+        owner.join();
+        assertThat(result.get(), is(42));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A> Callable<A> indirection(Callable<A> callable) {
+        return new SuppliedThunk<>(() -> (A) callable);
+    }
+}
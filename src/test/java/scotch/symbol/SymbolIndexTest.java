@@ -0,0 +1,41 @@
+package scotch.symbol;
+
+import static java.util.stream.Collectors.toMap;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import org.junit.Test;
+import scotch.compiler.ClassLoaderResolver;
+
+public class SymbolIndexTest {
+
+    @Test
+    public void shouldRoundTripScannedModules() throws Exception {
+        for (String moduleName : new String[] { "scotch.data.eq", "scotch.data.num", "scotch.data.maybe", "scotch.control.monad" }) {
+            shouldRoundTrip(new ClassLoaderResolver(Optional.empty(), getClass().getClassLoader()).index(moduleName));
+        }
+    }
+
+    private void shouldRoundTrip(SymbolIndex index) throws Exception {
+        SymbolIndex copy = SymbolIndex.read(new ByteArrayInputStream(index.toBytes()));
+        Map<Symbol, SymbolEntry> entries = copy.getEntries().stream().collect(toMap(SymbolEntry::getSymbol, Function.identity()));
+        assertThat(copy.getModuleName(), is(index.getModuleName()));
+        assertThat(entries.size(), is(index.getEntries().size()));
+        for (SymbolEntry entry : index.getEntries()) {
+            SymbolEntry copiedEntry = entries.get(entry.getSymbol());
+            assertThat(copiedEntry.getValue(), is(entry.getValue()));
+            assertThat(copiedEntry.getValueMethod(), is(entry.getValueMethod()));
+            assertThat(copiedEntry.getOperator(), is(entry.getOperator()));
+            assertThat(copiedEntry.getType(), is(entry.getType()));
+            assertThat(copiedEntry.getTypeClass(), is(entry.getTypeClass()));
+            assertThat(copiedEntry.getMemberOf(), is(entry.getMemberOf()));
+            assertThat(copiedEntry.getDataType(), is(entry.getDataType()));
+            assertThat(copiedEntry.getDataConstructor(), is(entry.getDataConstructor()));
+        }
+        assertThat(copy.getTypeInstances(), is(index.getTypeInstances()));
+    }
+}